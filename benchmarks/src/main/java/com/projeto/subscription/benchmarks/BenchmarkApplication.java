@@ -0,0 +1,59 @@
+package com.projeto.subscription.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.projeto.subscription.SubscriptionApplication;
+
+// Sobe a aplicação real (H2 em memória) para benchmarks que precisam de JPA/Hibernate ou da pilha HTTP
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(List<Class<?>> extraSources, String... properties) {
+        return start(WebApplicationType.NONE, extraSources, properties);
+    }
+
+    // Sobe também o Tomcat, em porta aleatória (local.server.port)
+    static ConfigurableApplicationContext startWeb(List<Class<?>> extraSources, String... properties) {
+        List<String> withPort = new ArrayList<>(List.of(properties));
+        withPort.add("server.port=0");
+        return start(WebApplicationType.SERVLET, extraSources, withPort.toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webType, List<Class<?>> extraSources,
+            String... properties) {
+        List<Class<?>> sources = new ArrayList<>();
+        sources.add(SubscriptionApplication.class);
+        sources.addAll(extraSources);
+
+        List<String> args = new ArrayList<>(List.of("--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--api.metering.wal.directory=" + temporaryDirectory("metering-wal")));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+
+        // Argumentos de linha de comando para terem precedência sobre o application.properties da aplicação
+        return new SpringApplicationBuilder(sources.toArray(Class<?>[]::new))
+                .web(webType)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static Path temporaryDirectory(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
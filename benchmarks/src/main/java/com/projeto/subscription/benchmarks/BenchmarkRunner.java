@@ -0,0 +1,65 @@
+package com.projeto.subscription.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Ponto de entrada do benchmarks.jar: aceita as mesmas opções do JMH, mas, se nenhum -rff for informado,
+// grava o resultado em JSON em results/<versão da aplicação>.json para comparar entre releases.
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions;
+        try {
+            cmdOptions = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            Main.main(args);
+            return;
+        }
+
+        boolean informational = cmdOptions.shouldHelp() || cmdOptions.shouldList()
+                || cmdOptions.shouldListWithParams() || cmdOptions.shouldListProfilers()
+                || cmdOptions.shouldListResultFormats();
+        if (informational || cmdOptions.getResult().hasValue()) {
+            Main.main(args);
+            return;
+        }
+
+        Path results = Path.of("results", applicationVersion() + ".json");
+        Files.createDirectories(results.getParent());
+
+        try {
+            new Runner(new OptionsBuilder()
+                    .parent(cmdOptions)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(results.toString())
+                    .build()).run();
+        } catch (RunnerException e) {
+            System.err.println("Falha ao executar os benchmarks: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static String applicationVersion() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = BenchmarkRunner.class.getResourceAsStream("/benchmark.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        return properties.getProperty("subscription.version", "unknown");
+    }
+}
@@ -0,0 +1,79 @@
+package com.projeto.subscription.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.projeto.subscription.modules.identity.dto.UserResponseDTO;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.plan.dto.PlanResponseDTO;
+import com.projeto.subscription.modules.plan.model.Plan;
+import com.projeto.subscription.shared.pagination.CursorPageDTO;
+import com.projeto.subscription.shared.pagination.KeysetPagination;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+// Conversão entidade -> DTO de uma página, como feita por UserService.list e PlanService.list (sem JPA)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({ "50", "200" })
+    public int pageSize;
+
+    private KeysetPagination pagination;
+    private List<User> users;
+    private List<Plan> plans;
+
+    @Setup
+    public void setup() {
+        pagination = new KeysetPagination(50, 200);
+        users = new ArrayList<>();
+        plans = new ArrayList<>();
+
+        // Uma linha a mais, como o fetchLimit da paginação por keyset
+        for (int i = 0; i <= pageSize; i++) {
+            users.add(User.builder()
+                    .id(UUID.randomUUID())
+                    .name("Usuário " + i)
+                    .email("user" + i + "@example.com")
+                    .role(UserRole.CLIENT)
+                    .build());
+            plans.add(Plan.builder()
+                    .id(UUID.randomUUID())
+                    .name("Plano " + i)
+                    .description("Descrição do plano " + i)
+                    .price(BigDecimal.valueOf(i))
+                    .billingCycle(BillingCycle.MONTHLY)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public CursorPageDTO<UserResponseDTO> userPage() {
+        return pagination.page(users, pageSize, User::getId, UserResponseDTO::from);
+    }
+
+    @Benchmark
+    public CursorPageDTO<PlanResponseDTO> planPage() {
+        return pagination.page(plans, pageSize, Plan::getId, PlanResponseDTO::from);
+    }
+}
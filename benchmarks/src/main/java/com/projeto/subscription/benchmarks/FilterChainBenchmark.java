@@ -0,0 +1,121 @@
+package com.projeto.subscription.benchmarks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.service.PrincipalCache;
+import com.projeto.subscription.modules.identity.service.TokenRevocationService;
+import com.projeto.subscription.modules.tenant.model.Tenant;
+import com.projeto.subscription.modules.tenant.service.TenantRegistry;
+import com.projeto.subscription.shared.config.JwtAuthenticationFilter;
+import com.projeto.subscription.shared.config.TokenService;
+import com.projeto.subscription.shared.exception.ErrorResponseWriter;
+import com.projeto.subscription.shared.metrics.FilterMetrics;
+import com.projeto.subscription.shared.metrics.TenantTagLimiter;
+import com.projeto.subscription.shared.sharding.ShardOperations;
+import com.projeto.subscription.shared.tenant_context.TenantFilter;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Custo por requisição de TenantFilter -> JwtAuthenticationFilter até chegar ao servlet, com request simulado
+// (o X-Tenant-ID é validado no TenantRegistry em memória).
+// Inclui a criação do MockHttpServletRequest, que entra igualmente nos dois cenários.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterChainBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    @Param({ "true", "false" })
+    public boolean tokenCache;
+
+    private TenantFilter tenantFilter;
+    private JwtAuthenticationFilter jwtFilter;
+    private HttpServlet endpoint;
+    private String authorization;
+    private String tenantHeader;
+
+    @Setup
+    public void setup() {
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .name("Benchmark")
+                .email("chain@example.com")
+                .role(UserRole.CLIENT)
+                .build();
+        Tenant tenant = Tenant.builder()
+                .id(UUID.randomUUID())
+                .name("Benchmark")
+                .slug("benchmark")
+                .build();
+        user.setTenantId(tenant.getId());
+
+        TenantRegistry tenantRegistry = new TenantRegistry(Stubs.tenantRepositoryWith(tenant));
+        tenantRegistry.refresh();
+        ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter(new ObjectMapper());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FilterMetrics filterMetrics = new FilterMetrics(meterRegistry, new TenantTagLimiter(meterRegistry, 20, 10_000));
+        TokenService tokenService = new TokenService(SECRET, tokenCache, 10_000, Duration.ofMinutes(15));
+        PrincipalCache principalCache = new PrincipalCache(Stubs.userRepositoryReturning(user), meterRegistry,
+                10_000, Duration.ofMinutes(5));
+        TokenRevocationService revocations = new TokenRevocationService(Stubs.emptyRevokedTokenRepository(),
+                ShardOperations.singleDatabase(), 100_000, 0.001, Duration.ofSeconds(30));
+
+        tenantFilter = new TenantFilter(tenantRegistry, errorResponseWriter, filterMetrics);
+        jwtFilter = new JwtAuthenticationFilter(tokenService, principalCache, revocations, tenantRegistry,
+                errorResponseWriter, filterMetrics);
+        // Servlet final vazio: só o custo dos filtros é medido
+        endpoint = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+            }
+        };
+        authorization = "Bearer " + tokenService.generateToken(user);
+        tenantHeader = user.getTenantId().toString();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/plans");
+        request.addHeader("Authorization", authorization);
+        request.addHeader("X-Tenant-ID", tenantHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            new MockFilterChain(endpoint, tenantFilter, jwtFilter).doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
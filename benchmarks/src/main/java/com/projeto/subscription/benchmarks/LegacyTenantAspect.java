@@ -1,18 +1,20 @@
-package com.projeto.subscription.shared.tenant_context;
+package com.projeto.subscription.benchmarks;
 
-import jakarta.persistence.EntityManager;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.hibernate.Session;
-import org.springframework.stereotype.Component;
 
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+import jakarta.persistence.EntityManager;
+
+// Cópia do antigo TenantAspect (advice @Before em todo método de *Repository), mantida só como referência de benchmark
 @Aspect
-@Component
-public class TenantAspect {
+public class LegacyTenantAspect {
 
     private final EntityManager entityManager;
 
-    public TenantAspect(EntityManager entityManager) {
+    public LegacyTenantAspect(EntityManager entityManager) {
         this.entityManager = entityManager;
     }
 
@@ -24,4 +26,4 @@ public class TenantAspect {
                     .setParameter("tenantId", TenantContext.getCurrentTenant());
         }
     }
-}
\ No newline at end of file
+}
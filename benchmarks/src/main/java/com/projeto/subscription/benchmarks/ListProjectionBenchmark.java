@@ -0,0 +1,136 @@
+package com.projeto.subscription.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.modules.identity.dto.UserResponseDTO;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.plan.dto.PlanResponseDTO;
+import com.projeto.subscription.modules.plan.model.Plan;
+import com.projeto.subscription.modules.plan.repository.PlanRepository;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+import jakarta.persistence.EntityManager;
+
+// Página das listagens carregando entidades gerenciadas e convertendo (caminho antigo) vs. projeção JPQL direto
+// no DTO. Rode com -prof gc para comparar a alocação por operação (gc.alloc.rate.norm).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListProjectionBenchmark {
+
+    @Param({ "50" })
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private EntityManager entityManager;
+    private UserRepository userRepository;
+    private PlanRepository planRepository;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start(List.of());
+        userRepository = context.getBean(UserRepository.class);
+        planRepository = context.getBean(PlanRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        UUID tenantId = UUID.randomUUID();
+        TenantContext.setCurrentTenant(tenantId);
+
+        List<User> users = new ArrayList<>();
+        List<Plan> plans = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            User user = User.builder()
+                    .name("Usuário " + i)
+                    .email("user" + i + "@example.com")
+                    .password("$2a$10$abcdefghijklmnopqrstuuN6C0Qj3PIZz9kq9e2lZ1b7PEiQ3M0eu")
+                    .role(UserRole.CLIENT)
+                    .build();
+            user.setTenantId(tenantId);
+            users.add(user);
+
+            Plan plan = Plan.builder()
+                    .name("Plano " + i)
+                    .description("Descrição do plano " + i)
+                    .price(BigDecimal.valueOf(i))
+                    .billingCycle(BillingCycle.MONTHLY)
+                    .active(true)
+                    .build();
+            plan.setTenantId(tenantId);
+            plans.add(plan);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepository.saveAll(users);
+            planRepository.saveAll(plans);
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        TenantContext.clear();
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserResponseDTO> usersViaEntities() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select u from User u order by u.id", User.class)
+                .setMaxResults(pageSize + 1)
+                .getResultList()
+                .stream()
+                .map(UserResponseDTO::from)
+                .toList());
+    }
+
+    @Benchmark
+    public List<UserResponseDTO> usersViaProjection() {
+        return readOnlyTransaction.execute(status -> userRepository.findPage(Limit.of(pageSize + 1)));
+    }
+
+    @Benchmark
+    public List<PlanResponseDTO> plansViaEntities() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select p from Plan p order by p.id", Plan.class)
+                .setMaxResults(pageSize + 1)
+                .getResultList()
+                .stream()
+                .map(PlanResponseDTO::from)
+                .toList());
+    }
+
+    @Benchmark
+    public List<PlanResponseDTO> plansViaProjection() {
+        return readOnlyTransaction.execute(status -> planRepository.findPage(Limit.of(pageSize + 1)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.projeto.subscription.benchmarks;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.projeto.subscription.modules.identity.dto.AuthRequestDTO;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.service.AuthService;
+import com.projeto.subscription.modules.identity.service.LoginAttemptThrottle;
+import com.projeto.subscription.modules.identity.service.PasswordVerifier;
+import com.projeto.subscription.modules.identity.service.RefreshTokenService;
+import com.projeto.subscription.modules.identity.service.TokenRevocationService;
+import com.projeto.subscription.modules.tenant.service.TenantRegistry;
+import com.projeto.subscription.shared.config.TokenService;
+import com.projeto.subscription.shared.exception.TooManyRequestsException;
+import com.projeto.subscription.shared.sharding.ShardOperations;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Rajada sintética de logins: 64 threads concorrentes contra o pool limitado de BCrypt.
+// SampleTime reporta p50/p90/p99 da latência; os contadores auxiliares separam logins aceitos de 429.
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class LoginBurstBenchmark {
+
+    private static final String EMAIL = "burst@example.com";
+    private static final String PASSWORD = "correct-horse";
+
+    @Param({ "10" })
+    public int bcryptCost;
+
+    @Param({ "2", "4" })
+    public int hashingThreads;
+
+    private PasswordVerifier passwordVerifier;
+    private AuthService authService;
+
+    @Setup
+    public void setup() {
+        var encoder = new BCryptPasswordEncoder(bcryptCost);
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .name("Burst")
+                .email(EMAIL)
+                .password(encoder.encode(PASSWORD))
+                .role(UserRole.CLIENT)
+                .build();
+
+        passwordVerifier = new PasswordVerifier(encoder, new SimpleMeterRegistry(), hashingThreads, 32,
+                Duration.ofSeconds(1));
+        authService = new AuthService(Stubs.userRepositoryReturning(user), passwordVerifier,
+                new LoginAttemptThrottle(Integer.MAX_VALUE, Duration.ofMinutes(1), 1_000),
+                new TokenService("benchmark-secret-key-that-is-long-enough-for-hs256", false, 0,
+                        Duration.ofMinutes(15)),
+                new RefreshTokenService(Stubs.refreshTokenRepositoryAccepting(), ShardOperations.singleDatabase(),
+                        Duration.ofDays(14)),
+                new TokenRevocationService(Stubs.emptyRevokedTokenRepository(), ShardOperations.singleDatabase(), 1_000,
+                        0.001, Duration.ofSeconds(30)),
+                new TenantRegistry(Stubs.tenantRepositoryWith()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordVerifier.shutdown();
+    }
+
+    @Benchmark
+    public Object login(Outcomes outcomes) {
+        try {
+            var response = authService.login(new AuthRequestDTO(EMAIL, PASSWORD));
+            outcomes.accepted++;
+            return response;
+        } catch (TooManyRequestsException e) {
+            outcomes.rejected++;
+            return e;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long accepted;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            accepted = 0;
+            rejected = 0;
+        }
+    }
+}
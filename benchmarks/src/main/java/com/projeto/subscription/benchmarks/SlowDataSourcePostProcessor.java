@@ -0,0 +1,83 @@
+package com.projeto.subscription.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Simula um banco remoto: cada execução de statement espera benchmark.db-latency antes de ir ao H2.
+// Sem isso o H2 em memória responde em microssegundos e não há bloqueio de I/O para as threads virtuais liberarem.
+public class SlowDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private Duration latency = Duration.ZERO;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        latency = environment.getProperty("benchmark.db-latency", Duration.class, Duration.ZERO);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !latency.isZero()) {
+            return new SlowDataSource(dataSource, latency);
+        }
+        return bean;
+    }
+
+    private static final class SlowDataSource extends DelegatingDataSource {
+
+        private final Duration latency;
+
+        SlowDataSource(DataSource target, Duration latency) {
+            super(target);
+            this.latency = latency;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private Connection wrap(Connection connection) {
+            return (Connection) wrap(Connection.class, connection);
+        }
+
+        private Object wrap(Class<?> type, Object target) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (target instanceof Statement && method.getName().startsWith("execute")) {
+                    Thread.sleep(latency);
+                }
+                Object result = invoke(target, method, args);
+                if (result instanceof Statement && type == Connection.class) {
+                    return wrap(method.getReturnType(), result);
+                }
+                return result;
+            };
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type }, handler);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
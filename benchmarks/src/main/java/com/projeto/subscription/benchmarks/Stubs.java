@@ -0,0 +1,69 @@
+package com.projeto.subscription.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.RefreshTokenRepository;
+import com.projeto.subscription.modules.identity.repository.RevokedTokenRepository;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.tenant.model.Tenant;
+import com.projeto.subscription.modules.tenant.repository.TenantRepository;
+
+// Dublês sem banco para benchmarks que não devem medir JPA
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static UserRepository userRepositoryReturning(User user) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] { UserRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByEmail", "findByTenantIdAndEmail" -> Optional.of(user);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "UserRepositoryStub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // Aceita qualquer save e não encontra nada: o login emite refresh tokens sem tocar em banco
+    static RefreshTokenRepository refreshTokenRepositoryAccepting() {
+        return (RefreshTokenRepository) Proxy.newProxyInstance(RefreshTokenRepository.class.getClassLoader(),
+                new Class<?>[] { RefreshTokenRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "RefreshTokenRepositoryStub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static RevokedTokenRepository emptyRevokedTokenRepository() {
+        return (RevokedTokenRepository) Proxy.newProxyInstance(RevokedTokenRepository.class.getClassLoader(),
+                new Class<?>[] { RevokedTokenRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findActiveIds" -> List.of();
+                    case "existsByIdAndExpiresAtAfter" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "RevokedTokenRepositoryStub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static TenantRepository tenantRepositoryWith(Tenant... tenants) {
+        return (TenantRepository) Proxy.newProxyInstance(TenantRepository.class.getClassLoader(),
+                new Class<?>[] { TenantRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> List.of(tenants);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TenantRepositoryStub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
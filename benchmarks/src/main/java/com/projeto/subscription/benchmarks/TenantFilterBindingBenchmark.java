@@ -0,0 +1,119 @@
+package com.projeto.subscription.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.modules.plan.model.Plan;
+import com.projeto.subscription.modules.plan.repository.PlanRepository;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+
+// Custo do tenantFilter por chamada de repositório:
+// - perCallAspect: antigo advice @Before (unwrap da Session + enableFilter a cada chamada)
+// - perTransaction: TenantJpaDialect, que liga o filtro uma vez no início da transação
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TenantFilterBindingBenchmark {
+
+    @Param({ "perTransaction", "perCallAspect" })
+    public String binding;
+
+    private ConfigurableApplicationContext context;
+    private PlanRepository planRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private UUID planId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Class<?>> extraSources = "perCallAspect".equals(binding) ? List.of(LegacyTenantAspect.class) : List.of();
+        context = BenchmarkApplication.start(extraSources);
+        planRepository = context.getBean(PlanRepository.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        UUID tenantId = UUID.randomUUID();
+        TenantContext.setCurrentTenant(tenantId);
+
+        Plan plan = Plan.builder()
+                .name("Benchmark")
+                .description("Plano de benchmark")
+                .price(BigDecimal.TEN)
+                .billingCycle(BillingCycle.MONTHLY)
+                .active(true)
+                .build();
+        plan.setTenantId(tenantId);
+        planId = new TransactionTemplate(transactionManager).execute(status -> planRepository.save(plan)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TenantContext.clear();
+        context.close();
+    }
+
+    // Chamada de repositório dentro de uma transação já aberta: mede só o overhead por chamada
+    @Benchmark
+    public Optional<Plan> repositoryCallInOpenTransaction(OpenTransaction transaction) {
+        return planRepository.findById(planId);
+    }
+
+    // Transação curta com dez chamadas, o padrão típico de um método de service
+    @Benchmark
+    public Object transactionWithTenCalls() {
+        return readOnlyTransaction.execute(status -> {
+            Object last = null;
+            for (int i = 0; i < 10; i++) {
+                last = planRepository.findById(planId);
+            }
+            return last;
+        });
+    }
+
+    @State(Scope.Thread)
+    public static class OpenTransaction {
+
+        private PlatformTransactionManager transactionManager;
+        private TransactionStatus status;
+
+        @Setup(Level.Iteration)
+        public void begin(TenantFilterBindingBenchmark benchmark) {
+            transactionManager = benchmark.context.getBean(PlatformTransactionManager.class);
+            DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+            definition.setReadOnly(true);
+            status = transactionManager.getTransaction(definition);
+        }
+
+        @TearDown(Level.Iteration)
+        public void commit() {
+            transactionManager.commit(status);
+        }
+    }
+}
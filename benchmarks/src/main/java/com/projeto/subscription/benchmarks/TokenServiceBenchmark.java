@@ -0,0 +1,71 @@
+package com.projeto.subscription.benchmarks;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.shared.config.TokenService;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+import io.jsonwebtoken.Claims;
+
+// Emissão do JWT e verificação completa (HMAC + JSON) comparada com o acerto no cache de claims verificadas
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private TokenService coldService;
+    private TokenService cachedService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        coldService = new TokenService(SECRET, false, 0, Duration.ofMinutes(15));
+        cachedService = new TokenService(SECRET, true, 10_000, Duration.ofMinutes(15));
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .name("Benchmark")
+                .email("benchmark@example.com")
+                .role(UserRole.CLIENT)
+                .build();
+        user.setTenantId(UUID.randomUUID());
+
+        token = cachedService.generateToken(user);
+        cachedService.getClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return coldService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims coldParse() {
+        return coldService.getClaims(token);
+    }
+
+    @Benchmark
+    public Claims cacheHit() {
+        return cachedService.getClaims(token);
+    }
+}
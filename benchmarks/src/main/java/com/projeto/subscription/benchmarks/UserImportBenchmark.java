@@ -0,0 +1,134 @@
+package com.projeto.subscription.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.subscription.modules.identity.dto.UserImportResultDTO;
+import com.projeto.subscription.modules.identity.dto.UserRequestDTO;
+import com.projeto.subscription.modules.identity.service.UserImportService;
+import com.projeto.subscription.modules.identity.service.UserService;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+// Cadastro de um lote de usuários num tenant novo: um UserService.create por linha (o que um cliente fazia com um
+// POST /users por usuário: uma transação, um hash e um insert por vez) vs. UserImportService com o mesmo lote em
+// NDJSON (hashes no pool, lotes de api.users.import.chunk-size com batch JDBC). Com bcryptCost=4 sobra o custo de
+// transação e insert; com 10 (o da aplicação) domina o BCrypt, e o ganho cresce com os núcleos do pool de hashing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserImportBenchmark {
+
+    @Param({ "200" })
+    public int rows;
+
+    @Param({ "4", "10" })
+    public int bcryptCost;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserImportService userImportService;
+    private ObjectMapper objectMapper;
+
+    private List<UserRequestDTO> batch;
+    private byte[] ndjson;
+    private int batches;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start(List.of(BCryptCostPostProcessor.class),
+                "benchmark.bcrypt-cost=" + bcryptCost, "api.outbox.dispatcher.enabled=false");
+        userService = context.getBean(UserService.class);
+        userImportService = context.getBean(UserImportService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    // Tenant e e-mails novos a cada chamada: nenhuma linha esbarra em e-mail já cadastrado
+    @Setup(Level.Invocation)
+    public void nextBatch() throws IOException {
+        TenantContext.setCurrentTenant(UUID.randomUUID());
+        batches++;
+        batch = new ArrayList<>(rows);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            UserRequestDTO user = new UserRequestDTO("Usuário " + i, "lote" + batches + "-" + i + "@example.com",
+                    "senha-" + i, UserRole.CLIENT);
+            batch.add(user);
+            body.append(objectMapper.writeValueAsString(user)).append('\n');
+        }
+        ndjson = body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        TenantContext.clear();
+        context.close();
+    }
+
+    @Benchmark
+    public int oneRequestPerUser() {
+        int created = 0;
+        for (UserRequestDTO user : batch) {
+            userService.create(user);
+            created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public UserImportResultDTO bulkImport() throws IOException {
+        UserImportResultDTO result = userImportService.importUsers(new ByteArrayInputStream(ndjson));
+        if (result.created() != rows) {
+            throw new IllegalStateException("Importação incompleta: " + result);
+        }
+        return result;
+    }
+
+    // Troca o PasswordEncoder da aplicação por um BCrypt com benchmark.bcrypt-cost, para as duas variantes
+    public static class BCryptCostPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+        private Integer cost;
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            cost = environment.getProperty("benchmark.bcrypt-cost", Integer.class);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof PasswordEncoder && cost != null) {
+                return new BCryptPasswordEncoder(cost);
+            }
+            return bean;
+        }
+    }
+}
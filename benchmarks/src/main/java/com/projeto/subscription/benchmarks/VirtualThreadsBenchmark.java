@@ -0,0 +1,107 @@
+package com.projeto.subscription.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.tenant.model.Tenant;
+import com.projeto.subscription.modules.tenant.repository.TenantRepository;
+import com.projeto.subscription.modules.tenant.service.TenantRegistry;
+import com.projeto.subscription.shared.config.TokenService;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+// Vazão de GET /users com 256 clientes concorrentes e 20ms de latência simulada por statement SQL.
+// Com threads de plataforma o Tomcat fica limitado a 50 workers bloqueados no banco; com threads virtuais o
+// limite passa a ser o pool do Hikari (100 conexões).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean virtualThreads;
+
+    @Param({ "20ms" })
+    public String dbLatency;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest listUsers;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.startWeb(List.of(SlowDataSourcePostProcessor.class),
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=50",
+                "spring.datasource.hikari.maximum-pool-size=100",
+                "benchmark.db-latency=" + dbLatency);
+
+        User user = User.builder()
+                .name("Benchmark")
+                .email("virtual@example.com")
+                .password("-")
+                .role(UserRole.ADMIN)
+                .build();
+        Tenant tenant = context.getBean(TenantRepository.class).save(Tenant.builder()
+                .name("Benchmark")
+                .slug("benchmark")
+                .build());
+        context.getBean(TenantRegistry.class).register(tenant);
+        user.setTenantId(tenant.getId());
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> userRepository.save(user));
+
+        String token = context.getBean(TokenService.class).generateToken(user);
+        String port = context.getEnvironment().getProperty("local.server.port");
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        listUsers = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users?size=10"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int listUsers() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(listUsers, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /users respondeu " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
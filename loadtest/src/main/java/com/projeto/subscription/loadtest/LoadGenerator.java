@@ -0,0 +1,110 @@
+package com.projeto.subscription.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+// Modelo aberto: as requisições saem numa taxa fixa, independente de quanto o servidor demora para responder.
+// A latência é medida a partir do instante em que a requisição deveria ter saído (não de quando saiu), então
+// atrasos do próprio gerador ou fila no servidor aparecem nos percentis em vez de sumirem (coordinated omission).
+final class LoadGenerator {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<Seeder.TenantFixture> tenants;
+    private final LoadTestOptions options;
+    private final Operation[] schedule;
+
+    private final Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> dropped = new EnumMap<>(Operation.class);
+
+    LoadGenerator(HttpClient client, String baseUrl, List<Seeder.TenantFixture> tenants, LoadTestOptions options) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.tenants = tenants;
+        this.options = options;
+        this.schedule = weightedSchedule(options.mix());
+
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+            dropped.put(operation, new LongAdder());
+        }
+    }
+
+    LoadReport run() throws InterruptedException {
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        for (long i = 0;; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            boolean measured = intended >= measureFrom;
+
+            // Sem vaga, a requisição é descartada e contada: bloquear aqui atrasaria as seguintes e fecharia o modelo
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.get(operation).increment();
+                }
+                continue;
+            }
+
+            Seeder.TenantFixture tenant = tenants.get(ThreadLocalRandom.current().nextInt(tenants.size()));
+            client.sendAsync(operation.request(baseUrl, tenant), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        inFlight.release();
+                        if (!measured) {
+                            return;
+                        }
+                        latencies.get(operation).recordValue(System.nanoTime() - intended);
+                        if (failure != null || response.statusCode() >= 400) {
+                            errors.get(operation).increment();
+                        }
+                    });
+        }
+
+        // Espera as respostas pendentes antes de fechar os histogramas
+        inFlight.tryAcquire(options.maxInFlight(), 60, TimeUnit.SECONDS);
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        Map<Operation, Long> droppedCounts = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, latencies.get(operation).getIntervalHistogram());
+            errorCounts.put(operation, errors.get(operation).sum());
+            droppedCounts.put(operation, dropped.get(operation).sum());
+        }
+        return new LoadReport(options, Duration.ofNanos(end - measureFrom), histograms, errorCounts, droppedCounts);
+    }
+
+    // Tabela com cada operação repetida pelo seu peso: sortear um índice sorteia a operação na proporção da mistura
+    private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+        return mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+    }
+}
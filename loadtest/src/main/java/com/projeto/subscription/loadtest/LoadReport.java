@@ -0,0 +1,90 @@
+package com.projeto.subscription.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Resultado da janela medida (sem o aquecimento): vazão e p50/p95/p99/max por operação e no total
+final class LoadReport {
+
+    private final LoadTestOptions options;
+    private final Duration measured;
+    private final Map<String, OperationStats> operations = new LinkedHashMap<>();
+    private final OperationStats total;
+
+    LoadReport(LoadTestOptions options, Duration measured, Map<Operation, Histogram> histograms,
+            Map<Operation, Long> errors, Map<Operation, Long> dropped) {
+        this.options = options;
+        this.measured = measured;
+
+        Histogram all = new Histogram(3);
+        long totalErrors = 0;
+        long totalDropped = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0 && dropped.get(operation) == 0) {
+                continue;
+            }
+            all.add(histogram);
+            totalErrors += errors.get(operation);
+            totalDropped += dropped.get(operation);
+            operations.put(operation.displayName(),
+                    OperationStats.of(histogram, errors.get(operation), dropped.get(operation), measured));
+        }
+        this.total = OperationStats.of(all, totalErrors, totalDropped, measured);
+    }
+
+    void print() {
+        System.out.printf("%nTaxa alvo: %d req/s | janela medida: %ds | tenants: %d%n", options.rate(),
+                measured.toSeconds(), options.tenants());
+        System.out.printf("%-12s %9s %9s %8s %8s %9s %9s %9s %9s%n", "operação", "requests", "req/s", "erros",
+                "descart.", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        operations.forEach(this::printRow);
+        printRow("total", total);
+    }
+
+    void write(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("timestamp", Instant.now().toString());
+        json.put("targetRate", options.rate());
+        json.put("measuredSeconds", measured.toSeconds());
+        json.put("tenants", options.tenants());
+        json.put("usersPerTenant", options.usersPerTenant());
+        json.put("plansPerTenant", options.plansPerTenant());
+        json.put("mix", options.mix());
+        json.put("applicationProperties", options.applicationProperties());
+        json.put("operations", operations);
+        json.put("total", total);
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+
+    private void printRow(String name, OperationStats stats) {
+        System.out.printf("%-12s %9d %9.1f %8d %8d %9.2f %9.2f %9.2f %9.2f%n", name, stats.requests(),
+                stats.throughput(), stats.errors(), stats.dropped(), stats.p50Millis(), stats.p95Millis(),
+                stats.p99Millis(), stats.maxMillis());
+    }
+
+    record OperationStats(long requests, double throughput, long errors, long dropped, double p50Millis,
+            double p95Millis, double p99Millis, double maxMillis) {
+
+        static OperationStats of(Histogram histogram, long errors, long dropped, Duration measured) {
+            long requests = histogram.getTotalCount();
+            return new OperationStats(requests, requests / (measured.toNanos() / 1e9), errors, dropped,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
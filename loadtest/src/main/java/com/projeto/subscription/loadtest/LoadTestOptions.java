@@ -0,0 +1,83 @@
+package com.projeto.subscription.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+// Opções no formato --chave=valor. O que não for opção do teste de carga é repassado como propriedade para a
+// aplicação embarcada (ex.: --spring.threads.virtual.enabled=true).
+record LoadTestOptions(
+        String target,
+        int tenants,
+        int usersPerTenant,
+        int plansPerTenant,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        Map<Operation, Integer> mix,
+        String output,
+        List<String> applicationProperties) {
+
+    static LoadTestOptions parse(String[] args) {
+        String target = null;
+        int tenants = 5;
+        int usersPerTenant = 50;
+        int plansPerTenant = 20;
+        int rate = 200;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        int maxInFlight = 1000;
+        Map<Operation, Integer> mix = defaultMix();
+        String output = null;
+        List<String> applicationProperties = new ArrayList<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Opção inválida: " + arg + " (use --chave=valor)");
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "target" -> target = value;
+                case "tenants" -> tenants = Integer.parseInt(value);
+                case "users-per-tenant" -> usersPerTenant = Integer.parseInt(value);
+                case "plans-per-tenant" -> plansPerTenant = Integer.parseInt(value);
+                case "rate" -> rate = Integer.parseInt(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "mix" -> mix = parseMix(value);
+                case "output" -> output = value;
+                default -> applicationProperties.add(key + "=" + value);
+            }
+        }
+
+        return new LoadTestOptions(target, tenants, usersPerTenant, plansPerTenant, rate, warmup, duration,
+                maxInFlight, mix, output, applicationProperties);
+    }
+
+    // Mistura padrão: leitura domina, com uma fração de logins (BCrypt) e de escritas
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.LOGIN, 5);
+        mix.put(Operation.LIST_PLANS, 60);
+        mix.put(Operation.LIST_USERS, 25);
+        mix.put(Operation.CREATE_PLAN, 10);
+        return mix;
+    }
+
+    // Formato: login=5,list-plans=60,list-users=25,create-plan=10 (pesos relativos)
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
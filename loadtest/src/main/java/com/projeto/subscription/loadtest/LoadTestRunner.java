@@ -0,0 +1,89 @@
+package com.projeto.subscription.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.projeto.subscription.SubscriptionApplication;
+
+// Ponto de entrada do loadtest.jar. Sem --target, sobe a SubscriptionApplication real em porta aleatória com H2 em
+// memória; com --target=http://host:porta, mira uma instância já em execução. Popula os dados, aplica a carga e
+// grava o relatório em results/<versão da aplicação>.json (ou em --output).
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.target();
+        if (baseUrl == null) {
+            context = startApplication(options.applicationProperties());
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+
+            System.out.printf("Populando %d tenants em %s...%n", options.tenants(), baseUrl);
+            List<Seeder.TenantFixture> tenants = new Seeder(client, baseUrl)
+                    .seed(options.tenants(), options.usersPerTenant(), options.plansPerTenant());
+
+            System.out.printf("Aplicando %d req/s por %ds (+%ds de aquecimento)...%n", options.rate(),
+                    options.duration().toSeconds(), options.warmup().toSeconds());
+            LoadReport report = new LoadGenerator(client, baseUrl, tenants, options).run();
+
+            report.print();
+            Path output = options.output() != null
+                    ? Path.of(options.output())
+                    : Path.of("results", applicationVersion() + ".json");
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            report.write(output);
+            System.out.println("\nRelatório gravado em " + output);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    // O limitador de taxa fica desligado por padrão: o objetivo é medir capacidade, não as cotas
+    private static ConfigurableApplicationContext startApplication(List<String> properties) throws IOException {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN", "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--api.rate-limit.enabled=false",
+                "--api.metering.wal.directory=" + Files.createTempDirectory("metering-wal")));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(SubscriptionApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static String applicationVersion() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestRunner.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        return properties.getProperty("subscription.version", "unknown");
+    }
+}
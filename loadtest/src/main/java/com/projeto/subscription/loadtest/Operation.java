@@ -0,0 +1,58 @@
+package com.projeto.subscription.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+
+enum Operation {
+    LOGIN("login"),
+    LIST_PLANS("list-plans"),
+    LIST_USERS("list-users"),
+    CREATE_PLAN("create-plan");
+
+    private final String displayName;
+
+    Operation(String displayName) {
+        this.displayName = displayName;
+    }
+
+    String displayName() {
+        return displayName;
+    }
+
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.displayName.equals(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida: " + name);
+    }
+
+    // Cada requisição usa um tenant (e, no login, um usuário) sorteado entre os semeados
+    HttpRequest request(String baseUrl, Seeder.TenantFixture tenant) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().header("X-Tenant-ID", tenant.slug());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return switch (this) {
+            case LOGIN -> builder.uri(URI.create(baseUrl + "/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(Seeder.loginBody(
+                            tenant.userEmails().get(random.nextInt(tenant.userEmails().size())))))
+                    .build();
+            case LIST_PLANS -> builder.uri(URI.create(baseUrl + "/plans?size=20"))
+                    .header("Authorization", "Bearer " + tenant.adminToken())
+                    .GET()
+                    .build();
+            case LIST_USERS -> builder.uri(URI.create(baseUrl + "/users?size=20"))
+                    .header("Authorization", "Bearer " + tenant.adminToken())
+                    .GET()
+                    .build();
+            case CREATE_PLAN -> builder.uri(URI.create(baseUrl + "/plans"))
+                    .header("Authorization", "Bearer " + tenant.adminToken())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(Seeder.planBody("Carga " + random.nextInt(1_000_000))))
+                    .build();
+        };
+    }
+}
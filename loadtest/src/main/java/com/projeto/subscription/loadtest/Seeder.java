@@ -0,0 +1,120 @@
+package com.projeto.subscription.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Popula a aplicação pela própria API, como um cliente faria: admin global, tenants, um admin por tenant,
+// usuários (via /users/batch) e planos. Slugs e e-mails levam um sufixo da execução para permitir rodar de novo
+// contra o mesmo alvo.
+final class Seeder {
+
+    static final String PASSWORD = "loadtest123";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    Seeder(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    List<TenantFixture> seed(int tenants, int usersPerTenant, int plansPerTenant)
+            throws IOException, InterruptedException {
+        String globalAdmin = "admin-" + runId + "@load.test";
+        send(post("/users", null, null, userBody("Admin carga", globalAdmin, "ADMIN")));
+        String globalToken = login(null, globalAdmin);
+
+        List<TenantFixture> fixtures = new ArrayList<>(tenants);
+        for (int t = 0; t < tenants; t++) {
+            String slug = "load-" + runId + "-" + t;
+            send(post("/tenants", null, globalToken, MAPPER.writeValueAsString(new TenantBody("Carga " + t, slug))));
+
+            String tenantAdmin = "admin@" + slug + ".load.test";
+            send(post("/users", slug, null, userBody("Admin " + slug, tenantAdmin, "ADMIN")));
+            String adminToken = login(slug, tenantAdmin);
+
+            List<String> emails = new ArrayList<>(usersPerTenant);
+            StringBuilder ndjson = new StringBuilder();
+            for (int u = 0; u < usersPerTenant; u++) {
+                String email = "user" + u + "@" + slug + ".load.test";
+                emails.add(email);
+                ndjson.append(userBody("Usuário " + u, email, "CLIENT")).append('\n');
+            }
+            if (!emails.isEmpty()) {
+                send(HttpRequest.newBuilder(URI.create(baseUrl + "/users/batch"))
+                        .header("X-Tenant-ID", slug)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                        .build());
+            } else {
+                emails.add(tenantAdmin);
+            }
+
+            for (int p = 0; p < plansPerTenant; p++) {
+                send(post("/plans", slug, adminToken, planBody("Plano " + p)));
+            }
+            fixtures.add(new TenantFixture(slug, adminToken, List.copyOf(emails)));
+        }
+        return fixtures;
+    }
+
+    static String loginBody(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    static String planBody(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Plano de carga\",\"price\":49.90,"
+                + "\"billingCycle\":\"MONTHLY\"}";
+    }
+
+    private static String userBody(String name, String email, String role) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD
+                + "\",\"role\":\"" + role + "\"}";
+    }
+
+    private String login(String tenantSlug, String email) throws IOException, InterruptedException {
+        JsonNode response = MAPPER.readTree(send(post("/auth/login", tenantSlug, null, loginBody(email))));
+        return response.get("token").asText();
+    }
+
+    private HttpRequest post(String path, String tenantSlug, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (tenantSlug != null) {
+            builder.header("X-Tenant-ID", tenantSlug);
+        }
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Falha ao popular " + request.uri().getPath() + ": HTTP "
+                    + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    record TenantFixture(String slug, String adminToken, List<String> userEmails) {
+    }
+
+    private record TenantBody(String name, String slug) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.projeto.subscription.modules.billing.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projeto.subscription.modules.billing.dto.UsageBatchRequestDTO;
+import com.projeto.subscription.modules.billing.dto.UsageIngestResultDTO;
+import com.projeto.subscription.modules.billing.dto.UsageRecordDTO;
+import com.projeto.subscription.modules.billing.service.MeteringService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/metering")
+public class MeteringController {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(30);
+
+    private final MeteringService meteringService;
+
+    public MeteringController(MeteringService meteringService) {
+        this.meteringService = meteringService;
+    }
+
+    // Eventos rejeitados não invalidam o lote: voltam listados na resposta com a posição no lote
+    @PostMapping("/events")
+    @PreAuthorize("hasRole('ADMIN')")
+    public UsageIngestResultDTO ingest(@RequestBody @Valid UsageBatchRequestDTO batch) {
+        return meteringService.ingest(batch.events());
+    }
+
+    // Sem from/to: últimos 30 dias
+    @GetMapping("/usage")
+    public List<UsageRecordDTO> usage(@RequestParam UUID subscriptionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        return meteringService.usage(subscriptionId, start, end);
+    }
+}
@@ -0,0 +1,35 @@
+package com.projeto.subscription.modules.billing.controller;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projeto.subscription.modules.billing.dto.RevenueDashboardDTO;
+import com.projeto.subscription.modules.billing.dto.RevenueRebuildReport;
+import com.projeto.subscription.modules.billing.service.RevenueMetricsService;
+
+@RestController
+@RequestMapping("/revenue")
+@PreAuthorize("hasRole('ADMIN')")
+public class RevenueController {
+    private final RevenueMetricsService revenueMetricsService;
+
+    public RevenueController(RevenueMetricsService revenueMetricsService) {
+        this.revenueMetricsService = revenueMetricsService;
+    }
+
+    // MRR/ARR e mix de planos atuais, mais o movimento e o churn dos últimos meses (até api.billing.revenue.max-months)
+    @GetMapping
+    public RevenueDashboardDTO dashboard(@RequestParam(defaultValue = "12") int months) {
+        return revenueMetricsService.dashboard(months);
+    }
+
+    // Recalcula os totais do tenant a partir das assinaturas; o cron diário faz o mesmo para todos
+    @PostMapping("/rebuild")
+    public RevenueRebuildReport rebuild() {
+        return revenueMetricsService.rebuild();
+    }
+}
@@ -0,0 +1,52 @@
+package com.projeto.subscription.modules.billing.controller;
+
+import java.util.UUID;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projeto.subscription.modules.billing.dto.SubscriptionChangeDTO;
+import com.projeto.subscription.modules.billing.dto.SubscriptionRequestDTO;
+import com.projeto.subscription.modules.billing.dto.SubscriptionResponseDTO;
+import com.projeto.subscription.modules.billing.service.SubscriptionService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/subscriptions")
+public class SubscriptionController {
+    private final SubscriptionService subscriptionService;
+
+    public SubscriptionController(SubscriptionService subscriptionService) {
+        this.subscriptionService = subscriptionService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public SubscriptionResponseDTO create(@RequestBody @Valid SubscriptionRequestDTO subscription) {
+        return subscriptionService.create(subscription);
+    }
+
+    @GetMapping("/{id}")
+    public SubscriptionResponseDTO get(@PathVariable UUID id) {
+        return subscriptionService.get(id);
+    }
+
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public SubscriptionResponseDTO change(@PathVariable UUID id, @RequestBody @Valid SubscriptionChangeDTO change) {
+        return subscriptionService.change(id, change);
+    }
+
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public SubscriptionResponseDTO cancel(@PathVariable UUID id) {
+        return subscriptionService.cancel(id);
+    }
+}
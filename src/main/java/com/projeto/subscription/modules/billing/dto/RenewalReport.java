@@ -0,0 +1,14 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+// deadlineReached indica que a janela acabou antes de todos os tenants terminarem; o restante continua na próxima
+public record RenewalReport(
+        LocalDate runDate,
+        int tenants,
+        int completedTenants,
+        long renewed,
+        Duration elapsed,
+        boolean deadlineReached) {
+}
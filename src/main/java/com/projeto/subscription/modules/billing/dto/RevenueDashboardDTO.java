@@ -0,0 +1,13 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// months vem do mês corrente para trás
+public record RevenueDashboardDTO(
+        long activeSubscriptions,
+        BigDecimal mrr,
+        BigDecimal arr,
+        List<RevenuePlanDTO> plans,
+        List<RevenueMonthDTO> months) {
+}
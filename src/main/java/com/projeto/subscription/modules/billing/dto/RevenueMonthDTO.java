@@ -0,0 +1,19 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// activeAtStart e mrrAtStart são derivados dos totais atuais e dos movimentos dos meses seguintes.
+// churnRate = churnedSubscriptions / activeAtStart (null sem assinaturas no início do mês).
+public record RevenueMonthDTO(
+        LocalDate month,
+        long activeAtStart,
+        BigDecimal mrrAtStart,
+        long newSubscriptions,
+        long churnedSubscriptions,
+        BigDecimal newMrr,
+        BigDecimal expansionMrr,
+        BigDecimal contractionMrr,
+        BigDecimal churnedMrr,
+        BigDecimal churnRate) {
+}
@@ -0,0 +1,32 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Movimento de receita de um mês; os valores de MRR são sempre positivos
+public record RevenueMonthMovement(
+        LocalDate month,
+        long newSubscriptions,
+        long churnedSubscriptions,
+        BigDecimal newMrr,
+        BigDecimal expansionMrr,
+        BigDecimal contractionMrr,
+        BigDecimal churnedMrr) {
+
+    public static RevenueMonthMovement empty(LocalDate month) {
+        return new RevenueMonthMovement(month, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO);
+    }
+
+    public RevenueMonthMovement plus(RevenueMonthMovement other) {
+        return new RevenueMonthMovement(month, newSubscriptions + other.newSubscriptions,
+                churnedSubscriptions + other.churnedSubscriptions, newMrr.add(other.newMrr),
+                expansionMrr.add(other.expansionMrr), contractionMrr.add(other.contractionMrr),
+                churnedMrr.add(other.churnedMrr));
+    }
+
+    public boolean isEmpty() {
+        return newSubscriptions == 0 && churnedSubscriptions == 0 && newMrr.signum() == 0
+                && expansionMrr.signum() == 0 && contractionMrr.signum() == 0 && churnedMrr.signum() == 0;
+    }
+}
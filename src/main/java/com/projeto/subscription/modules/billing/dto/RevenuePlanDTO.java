@@ -0,0 +1,11 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record RevenuePlanDTO(
+        UUID planId,
+        String planName,
+        long activeSubscriptions,
+        BigDecimal mrr) {
+}
@@ -0,0 +1,7 @@
+package com.projeto.subscription.modules.billing.dto;
+
+// corrected conta os tenants cujos totais incrementais divergiam do recálculo
+public record RevenueRebuildReport(
+        int tenants,
+        int corrected) {
+}
@@ -0,0 +1,14 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.math.BigDecimal;
+
+public record RevenueTotals(
+        long activeSubscriptions,
+        BigDecimal mrr) {
+
+    public static final RevenueTotals ZERO = new RevenueTotals(0, BigDecimal.ZERO);
+
+    public RevenueTotals plus(long subscriptions, BigDecimal amount) {
+        return new RevenueTotals(activeSubscriptions + subscriptions, mrr.add(amount));
+    }
+}
@@ -0,0 +1,11 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.util.UUID;
+
+import jakarta.validation.constraints.Min;
+
+// Campos nulos ficam como estão. Trocar de plano atualiza o preço e o ciclo para os do plano novo.
+public record SubscriptionChangeDTO(
+        UUID planId,
+        @Min(1) Integer quantity) {
+}
@@ -0,0 +1,8 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.util.UUID;
+
+public record SubscriptionOwnerDTO(
+        UUID id,
+        UUID tenantId) {
+}
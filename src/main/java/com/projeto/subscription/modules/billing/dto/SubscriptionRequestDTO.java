@@ -0,0 +1,16 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.util.UUID;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+// quantity padrão 1; com trialDays > 0 a assinatura começa em TRIAL e só entra na receita na primeira renovação
+public record SubscriptionRequestDTO(
+        @NotNull UUID userId,
+        @NotNull UUID planId,
+        @Min(1) Integer quantity,
+        @Min(0) @Max(365) Integer trialDays,
+        String externalId) {
+}
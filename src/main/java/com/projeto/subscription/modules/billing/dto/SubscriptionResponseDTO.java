@@ -0,0 +1,30 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.projeto.subscription.modules.billing.model.Subscription;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.SubscriptionStatus;
+
+public record SubscriptionResponseDTO(
+        UUID id,
+        UUID userId,
+        UUID planId,
+        SubscriptionStatus status,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalDate nextBillingDate,
+        BigDecimal price,
+        BillingCycle billingCycle,
+        int quantity,
+        String externalId) {
+
+    public static SubscriptionResponseDTO from(Subscription subscription) {
+        return new SubscriptionResponseDTO(subscription.getId(), subscription.getUserId(), subscription.getPlanId(),
+                subscription.getStatus(), subscription.getStartDate(), subscription.getEndDate(),
+                subscription.getNextBillingDate(), subscription.getPriceSnapshot(),
+                subscription.getBillingCycleSnapshot(), subscription.getQuantity(), subscription.getExternalId());
+    }
+}
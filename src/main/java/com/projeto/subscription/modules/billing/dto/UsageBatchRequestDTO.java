@@ -0,0 +1,11 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record UsageBatchRequestDTO(
+        @NotEmpty @Size(max = 10_000) List<@Valid UsageEventDTO> events) {
+}
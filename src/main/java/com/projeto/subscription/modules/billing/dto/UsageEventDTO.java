@@ -0,0 +1,17 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+// timestamp é opcional: sem ele o evento entra na janela do momento da ingestão
+public record UsageEventDTO(
+        @NotNull UUID subscriptionId,
+        @NotNull @Pattern(regexp = "[a-z0-9][a-z0-9_.-]{0,63}") String meter,
+        @Positive @Max(1_000_000_000L) long quantity,
+        Instant timestamp) {
+}
@@ -0,0 +1,11 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.util.List;
+
+// errors traz no máximo api.metering.max-reported-errors eventos; rejected conta todos
+public record UsageIngestResultDTO(
+        int received,
+        int accepted,
+        int rejected,
+        List<UsageRejectionDTO> errors) {
+}
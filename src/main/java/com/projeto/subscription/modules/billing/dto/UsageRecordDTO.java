@@ -0,0 +1,11 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UsageRecordDTO(
+        UUID subscriptionId,
+        String meter,
+        Instant bucketStart,
+        long quantity) {
+}
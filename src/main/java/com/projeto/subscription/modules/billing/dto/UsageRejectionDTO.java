@@ -0,0 +1,10 @@
+package com.projeto.subscription.modules.billing.dto;
+
+import java.util.UUID;
+
+// index é a posição do evento no lote enviado
+public record UsageRejectionDTO(
+        int index,
+        UUID subscriptionId,
+        String message) {
+}
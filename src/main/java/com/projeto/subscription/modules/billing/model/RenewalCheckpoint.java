@@ -0,0 +1,53 @@
+package com.projeto.subscription.modules.billing.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Progresso de uma execução de renovação para um tenant. É gravado na mesma transação de cada lote, então após
+// uma queda a execução retoma do último id confirmado. Não estende BaseEntity: o motor lê checkpoints de todos os
+// tenants.
+@Entity
+@Table(name = "renewal_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "run_date", "tenant_id" }) })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RenewalCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    private UUID lastSubscriptionId;
+
+    @Column(nullable = false)
+    private long processed;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,85 @@
+package com.projeto.subscription.modules.billing.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.projeto.subscription.shared.util.BaseEntity;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.SubscriptionStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "subscriptions", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "tenant_id", "user_id", "plan_id" }) }, indexes = {
+                @Index(name = "idx_subscriptions_tenant_id_id", columnList = "tenant_id, id"),
+                @Index(name = "idx_subscriptions_due", columnList = "tenant_id, next_billing_date, id") })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Subscription extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "plan_id", nullable = false)
+    private UUID planId;
+
+    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.SMALLINT)
+    private SubscriptionStatus status;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Column(name = "next_billing_date", nullable = false)
+    private LocalDate nextBillingDate;
+
+    @Column(nullable = false)
+    private BigDecimal priceSnapshot;
+
+    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.SMALLINT)
+    private BillingCycle billingCycleSnapshot;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int quantity = 1;
+
+    private String externalId;
+
+    // Avança um ciclo de cobrança; uma assinatura em trial passa a ativa na primeira renovação
+    public void renew() {
+        nextBillingDate = switch (billingCycleSnapshot) {
+            case MONTHLY -> nextBillingDate.plusMonths(1);
+            case YEARLY -> nextBillingDate.plusYears(1);
+        };
+        if (status == SubscriptionStatus.TRIAL) {
+            status = SubscriptionStatus.ACTIVE;
+        }
+    }
+}
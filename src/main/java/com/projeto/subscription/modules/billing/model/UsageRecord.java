@@ -0,0 +1,48 @@
+package com.projeto.subscription.modules.billing.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.projeto.subscription.shared.util.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Total medido de um medidor de uma assinatura numa janela (api.metering.bucket). Gravado só pelo UsageFlusher, via
+// upsert em JDBC; o mapeamento JPA serve às consultas. O id é gerado na aplicação no momento do primeiro flush.
+@Entity
+@Table(name = "usage_records", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "tenant_id", "subscription_id", "meter", "bucket_start" }) })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsageRecord extends BaseEntity {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "subscription_id", nullable = false)
+    private UUID subscriptionId;
+
+    @Column(nullable = false, length = 64)
+    private String meter;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
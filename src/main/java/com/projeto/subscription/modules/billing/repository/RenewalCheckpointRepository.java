@@ -0,0 +1,17 @@
+package com.projeto.subscription.modules.billing.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.projeto.subscription.modules.billing.model.RenewalCheckpoint;
+
+public interface RenewalCheckpointRepository extends JpaRepository<RenewalCheckpoint, UUID> {
+
+    Optional<RenewalCheckpoint> findByRunDateAndTenantId(LocalDate runDate, UUID tenantId);
+
+    List<RenewalCheckpoint> findByCompletedFalse();
+}
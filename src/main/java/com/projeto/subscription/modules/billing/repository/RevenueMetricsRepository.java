@@ -0,0 +1,154 @@
+package com.projeto.subscription.modules.billing.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.projeto.subscription.modules.billing.dto.RevenueMonthMovement;
+import com.projeto.subscription.modules.billing.dto.RevenuePlanDTO;
+import com.projeto.subscription.modules.billing.dto.RevenueTotals;
+import com.projeto.subscription.shared.util.Enums.SubscriptionStatus;
+
+// Agregados de receita em JDBC: as atualizações são somas atômicas (MERGE com incremento), então transações
+// concorrentes do mesmo tenant só se enfileiram na linha, sem ler e regravar valores. Todas recebem o tenant
+// explicitamente, pois também rodam no recálculo, sem tenant no contexto.
+@Repository
+public class RevenueMetricsRepository {
+
+    private static final String ADD_TO_TENANT = "MERGE INTO revenue_tenant_metrics m "
+            + "USING (VALUES (CAST(? AS UUID), CAST(? AS BIGINT), CAST(? AS NUMERIC(19, 4)))) "
+            + "AS d (tenant_id, active_subscriptions, mrr) ON m.tenant_id = d.tenant_id "
+            + "WHEN MATCHED THEN UPDATE SET active_subscriptions = m.active_subscriptions + d.active_subscriptions, "
+            + "mrr = m.mrr + d.mrr, updated_at = ? "
+            + "WHEN NOT MATCHED THEN INSERT (tenant_id, active_subscriptions, mrr, updated_at) "
+            + "VALUES (d.tenant_id, d.active_subscriptions, d.mrr, ?)";
+
+    private static final String ADD_TO_PLAN = "MERGE INTO revenue_plan_metrics m "
+            + "USING (VALUES (CAST(? AS UUID), CAST(? AS UUID), CAST(? AS BIGINT), CAST(? AS NUMERIC(19, 4)))) "
+            + "AS d (tenant_id, plan_id, active_subscriptions, mrr) "
+            + "ON m.tenant_id = d.tenant_id AND m.plan_id = d.plan_id "
+            + "WHEN MATCHED THEN UPDATE SET active_subscriptions = m.active_subscriptions + d.active_subscriptions, "
+            + "mrr = m.mrr + d.mrr, updated_at = ? "
+            + "WHEN NOT MATCHED THEN INSERT (tenant_id, plan_id, active_subscriptions, mrr, updated_at) "
+            + "VALUES (d.tenant_id, d.plan_id, d.active_subscriptions, d.mrr, ?)";
+
+    private static final String ADD_TO_MONTH = "MERGE INTO revenue_monthly_metrics m "
+            + "USING (VALUES (CAST(? AS UUID), CAST(? AS DATE), CAST(? AS BIGINT), CAST(? AS BIGINT), "
+            + "CAST(? AS NUMERIC(19, 4)), CAST(? AS NUMERIC(19, 4)), CAST(? AS NUMERIC(19, 4)), "
+            + "CAST(? AS NUMERIC(19, 4)))) "
+            + "AS d (tenant_id, month_start, new_subscriptions, churned_subscriptions, new_mrr, expansion_mrr, "
+            + "contraction_mrr, churned_mrr) "
+            + "ON m.tenant_id = d.tenant_id AND m.month_start = d.month_start "
+            + "WHEN MATCHED THEN UPDATE SET new_subscriptions = m.new_subscriptions + d.new_subscriptions, "
+            + "churned_subscriptions = m.churned_subscriptions + d.churned_subscriptions, "
+            + "new_mrr = m.new_mrr + d.new_mrr, expansion_mrr = m.expansion_mrr + d.expansion_mrr, "
+            + "contraction_mrr = m.contraction_mrr + d.contraction_mrr, churned_mrr = m.churned_mrr + d.churned_mrr, "
+            + "updated_at = ? "
+            + "WHEN NOT MATCHED THEN INSERT (tenant_id, month_start, new_subscriptions, churned_subscriptions, "
+            + "new_mrr, expansion_mrr, contraction_mrr, churned_mrr, updated_at) "
+            + "VALUES (d.tenant_id, d.month_start, d.new_subscriptions, d.churned_subscriptions, d.new_mrr, "
+            + "d.expansion_mrr, d.contraction_mrr, d.churned_mrr, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RevenueMetricsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void addToTenant(UUID tenantId, long activeSubscriptions, BigDecimal mrr, Instant now) {
+        OffsetDateTime updatedAt = utc(now);
+        jdbcTemplate.update(ADD_TO_TENANT, tenantId, activeSubscriptions, mrr, updatedAt, updatedAt);
+    }
+
+    public void addToPlan(UUID tenantId, UUID planId, long activeSubscriptions, BigDecimal mrr, Instant now) {
+        OffsetDateTime updatedAt = utc(now);
+        jdbcTemplate.update(ADD_TO_PLAN, tenantId, planId, activeSubscriptions, mrr, updatedAt, updatedAt);
+    }
+
+    public void addToMonth(UUID tenantId, RevenueMonthMovement movement, Instant now) {
+        OffsetDateTime updatedAt = utc(now);
+        jdbcTemplate.update(ADD_TO_MONTH, tenantId, Date.valueOf(movement.month()), movement.newSubscriptions(),
+                movement.churnedSubscriptions(), movement.newMrr(), movement.expansionMrr(),
+                movement.contractionMrr(), movement.churnedMrr(), updatedAt, updatedAt);
+    }
+
+    // Garante a linha do tenant e a trava até o fim da transação: as atualizações incrementais do tenant esperam
+    public RevenueTotals lockTenant(UUID tenantId, Instant now) {
+        addToTenant(tenantId, 0, BigDecimal.ZERO, now);
+        return jdbcTemplate.queryForObject(
+                "SELECT active_subscriptions, mrr FROM revenue_tenant_metrics WHERE tenant_id = ? FOR UPDATE",
+                (row, index) -> new RevenueTotals(row.getLong(1), row.getBigDecimal(2)), tenantId);
+    }
+
+    // Assinaturas nos status informados (gravados como ordinal), lidas em streaming pelo recálculo
+    public void scanSubscriptions(UUID tenantId, Collection<SubscriptionStatus> statuses, RowCallbackHandler rows) {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(tenantId);
+        statuses.forEach(status -> parameters.add(status.ordinal()));
+        String placeholders = String.join(", ", Collections.nCopies(statuses.size(), "?"));
+        jdbcTemplate.query("SELECT plan_id, price_snapshot, quantity, billing_cycle_snapshot FROM subscriptions "
+                + "WHERE tenant_id = ? AND status IN (" + placeholders + ")", rows, parameters.toArray());
+    }
+
+    public void replace(UUID tenantId, RevenueTotals total, Map<UUID, RevenueTotals> plans, Instant now) {
+        OffsetDateTime updatedAt = utc(now);
+        jdbcTemplate.update("DELETE FROM revenue_plan_metrics WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.batchUpdate("INSERT INTO revenue_plan_metrics "
+                + "(tenant_id, plan_id, active_subscriptions, mrr, updated_at) VALUES (?, ?, ?, ?, ?)",
+                plans.entrySet().stream()
+                        .map(plan -> new Object[] { tenantId, plan.getKey(), plan.getValue().activeSubscriptions(),
+                                plan.getValue().mrr(), updatedAt })
+                        .toList());
+        jdbcTemplate.update("UPDATE revenue_tenant_metrics SET active_subscriptions = ?, mrr = ?, updated_at = ? "
+                + "WHERE tenant_id = ?", total.activeSubscriptions(), total.mrr(), updatedAt, tenantId);
+    }
+
+    public RevenueTotals findTenant(UUID tenantId) {
+        return jdbcTemplate.query("SELECT active_subscriptions, mrr FROM revenue_tenant_metrics WHERE tenant_id = ?",
+                (row, index) -> new RevenueTotals(row.getLong(1), row.getBigDecimal(2)), tenantId)
+                .stream()
+                .findFirst()
+                .orElse(RevenueTotals.ZERO);
+    }
+
+    public List<RevenuePlanDTO> findPlans(UUID tenantId) {
+        return jdbcTemplate.query("SELECT m.plan_id, p.name, m.active_subscriptions, m.mrr "
+                + "FROM revenue_plan_metrics m LEFT JOIN plans p ON p.id = m.plan_id "
+                + "WHERE m.tenant_id = ? AND m.active_subscriptions > 0 ORDER BY m.mrr DESC",
+                (row, index) -> new RevenuePlanDTO(row.getObject(1, UUID.class), row.getString(2), row.getLong(3),
+                        row.getBigDecimal(4)),
+                tenantId);
+    }
+
+    public List<RevenueMonthMovement> findMonths(UUID tenantId, LocalDate from) {
+        return jdbcTemplate.query("SELECT month_start, new_subscriptions, churned_subscriptions, new_mrr, "
+                + "expansion_mrr, contraction_mrr, churned_mrr FROM revenue_monthly_metrics "
+                + "WHERE tenant_id = ? AND month_start >= ?",
+                (row, index) -> new RevenueMonthMovement(row.getDate(1).toLocalDate(), row.getLong(2), row.getLong(3),
+                        row.getBigDecimal(4), row.getBigDecimal(5), row.getBigDecimal(6), row.getBigDecimal(7)),
+                tenantId, Date.valueOf(from));
+    }
+
+    // Tenants do shard com assinaturas ou com métricas (estas podem ter sobrado de assinaturas apagadas)
+    public List<UUID> findTenants() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT tenant_id FROM subscriptions WHERE tenant_id IS NOT NULL "
+                + "UNION SELECT tenant_id FROM revenue_tenant_metrics", UUID.class);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
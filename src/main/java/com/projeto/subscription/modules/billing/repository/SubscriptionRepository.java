@@ -0,0 +1,65 @@
+package com.projeto.subscription.modules.billing.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projeto.subscription.modules.billing.dto.SubscriptionOwnerDTO;
+import com.projeto.subscription.modules.billing.model.Subscription;
+import com.projeto.subscription.modules.tenant.dto.TenantRowCount;
+import com.projeto.subscription.shared.util.Enums.SubscriptionStatus;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Transactional(readOnly = true)
+public interface SubscriptionRepository extends JpaRepository<Subscription, UUID> {
+
+    // Executado sem tenant no contexto: enxerga todos os tenants
+    @Query("select distinct s.tenantId from Subscription s "
+            + "where s.nextBillingDate <= :date and s.status in :statuses")
+    List<UUID> findTenantsWithDueSubscriptions(@Param("date") LocalDate date,
+            @Param("statuses") Collection<SubscriptionStatus> statuses);
+
+    // Assinaturas que podem receber consumo medido. Com tenant no contexto o filtro já descarta as de outros tenants.
+    @Query("select new com.projeto.subscription.modules.billing.dto.SubscriptionOwnerDTO(s.id, s.tenantId) "
+            + "from Subscription s where s.id in :ids and s.status in :statuses")
+    List<SubscriptionOwnerDTO> findOwners(@Param("ids") Collection<UUID> ids,
+            @Param("statuses") Collection<SubscriptionStatus> statuses);
+
+    // Alterações de uma assinatura serializadas com a renovação, que pula as linhas travadas (SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Subscription s where s.id = :id")
+    Optional<Subscription> findByIdForUpdate(@Param("id") UUID id);
+
+    // Cursor da exportação, como em UserRepository.streamAfter
+    @QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true") })
+    @Query("select s from Subscription s where s.id > :after order by s.id")
+    Stream<Subscription> streamAfter(@Param("after") UUID after);
+
+    // Sem tenant no contexto: contagem de todos os tenants do shard
+    @Query("select new com.projeto.subscription.modules.tenant.dto.TenantRowCount(s.tenantId, count(s)) "
+            + "from Subscription s where s.tenantId is not null group by s.tenantId")
+    List<TenantRowCount> countByTenant();
+
+    // Próximo lote por keyset a partir do checkpoint. Linhas travadas por outra transação (ex.: um cancelamento em
+    // andamento) são puladas com SKIP LOCKED e ficam para a próxima execução, em vez de bloquear o lote.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select s from Subscription s "
+            + "where s.nextBillingDate <= :date and s.status in :statuses and s.id > :after order by s.id")
+    List<Subscription> findDueForRenewal(@Param("date") LocalDate date,
+            @Param("statuses") Collection<SubscriptionStatus> statuses, @Param("after") UUID after, Limit limit);
+}
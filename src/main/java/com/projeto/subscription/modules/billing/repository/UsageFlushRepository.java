@@ -0,0 +1,65 @@
+package com.projeto.subscription.modules.billing.repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.projeto.subscription.modules.billing.service.UsageKey;
+
+// Escrita do consumo agregado em JDBC puro: um MERGE por chave, enviado em batch, soma a quantidade da janela à
+// linha existente ou cria a linha. Deve rodar dentro da transação do flush, no shard dos tenants das chaves.
+@Repository
+public class UsageFlushRepository {
+
+    private static final String UPSERT = "MERGE INTO usage_records r "
+            + "USING (VALUES (CAST(? AS UUID), CAST(? AS UUID), CAST(? AS VARCHAR(64)), "
+            + "CAST(? AS TIMESTAMP(6) WITH TIME ZONE), CAST(? AS BIGINT))) "
+            + "AS s (tenant_id, subscription_id, meter, bucket_start, quantity) "
+            + "ON r.tenant_id = s.tenant_id AND r.subscription_id = s.subscription_id "
+            + "AND r.meter = s.meter AND r.bucket_start = s.bucket_start "
+            + "WHEN MATCHED THEN UPDATE SET quantity = r.quantity + s.quantity, updated_at = ? "
+            + "WHEN NOT MATCHED THEN INSERT (id, tenant_id, subscription_id, meter, bucket_start, quantity, updated_at) "
+            + "VALUES (?, s.tenant_id, s.subscription_id, s.meter, s.bucket_start, s.quantity, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UsageFlushRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isApplied(UUID segmentId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usage_flushes WHERE segment_id = ?",
+                Integer.class, segmentId);
+        return count != null && count > 0;
+    }
+
+    public void markApplied(UUID segmentId, Instant now) {
+        jdbcTemplate.update("INSERT INTO usage_flushes (segment_id, applied_at) VALUES (?, ?)", segmentId, utc(now));
+    }
+
+    public void upsert(List<Map.Entry<UsageKey, Long>> totals, Instant now) {
+        OffsetDateTime updatedAt = utc(now);
+        List<Object[]> rows = totals.stream()
+                .map(total -> {
+                    UsageKey key = total.getKey();
+                    return new Object[] { key.tenantId(), key.subscriptionId(), key.meter(), utc(key.bucketStart()),
+                            total.getValue(), updatedAt, UUID.randomUUID(), updatedAt };
+                })
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    public int purgeAppliedBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM usage_flushes WHERE applied_at < ?", utc(cutoff));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,24 @@
+package com.projeto.subscription.modules.billing.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projeto.subscription.modules.billing.dto.UsageRecordDTO;
+import com.projeto.subscription.modules.billing.model.UsageRecord;
+
+@Transactional(readOnly = true)
+public interface UsageRecordRepository extends JpaRepository<UsageRecord, UUID> {
+
+    @Query("select new com.projeto.subscription.modules.billing.dto.UsageRecordDTO("
+            + "u.subscriptionId, u.meter, u.bucketStart, u.quantity) from UsageRecord u "
+            + "where u.subscriptionId = :subscriptionId and u.bucketStart >= :from and u.bucketStart < :to "
+            + "order by u.bucketStart, u.meter")
+    List<UsageRecordDTO> findUsage(@Param("subscriptionId") UUID subscriptionId, @Param("from") Instant from,
+            @Param("to") Instant to);
+}
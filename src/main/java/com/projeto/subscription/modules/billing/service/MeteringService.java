@@ -0,0 +1,170 @@
+package com.projeto.subscription.modules.billing.service;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.subscription.modules.billing.dto.SubscriptionOwnerDTO;
+import com.projeto.subscription.modules.billing.dto.UsageEventDTO;
+import com.projeto.subscription.modules.billing.dto.UsageIngestResultDTO;
+import com.projeto.subscription.modules.billing.dto.UsageRecordDTO;
+import com.projeto.subscription.modules.billing.dto.UsageRejectionDTO;
+import com.projeto.subscription.modules.billing.repository.SubscriptionRepository;
+import com.projeto.subscription.modules.billing.repository.UsageRecordRepository;
+import com.projeto.subscription.shared.exception.ServiceUnavailableException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.SubscriptionStatus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// Ingestão de consumo medido. Um lote é validado, alinhado às janelas de api.metering.bucket e somado em memória pelo
+// UsageAccumulator (depois de gravado no WAL); o banco só é tocado para conferir assinaturas que não estão no cache e
+// pelos flushes periódicos do UsageFlusher. O consumo aparece nas consultas depois do próximo flush.
+@Slf4j
+@Service
+public class MeteringService {
+
+    private static final List<SubscriptionStatus> METERED_STATUSES = List.of(SubscriptionStatus.ACTIVE,
+            SubscriptionStatus.TRIAL);
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final UsageRecordRepository usageRecordRepository;
+    private final UsageAccumulator accumulator;
+    private final long bucketMillis;
+    private final Duration maxEventAge;
+    private final Duration maxClockSkew;
+    private final int maxReportedErrors;
+
+    // assinatura -> tenant dono; só assinaturas que aceitam consumo
+    private final Cache<UUID, UUID> owners;
+
+    private final Counter accepted;
+    private final Counter rejected;
+
+    public MeteringService(SubscriptionRepository subscriptionRepository, UsageRecordRepository usageRecordRepository,
+            UsageAccumulator accumulator, MeterRegistry meterRegistry,
+            @Value("${api.metering.bucket:1h}") Duration bucket,
+            @Value("${api.metering.max-event-age:2d}") Duration maxEventAge,
+            @Value("${api.metering.max-clock-skew:5m}") Duration maxClockSkew,
+            @Value("${api.metering.max-reported-errors:100}") int maxReportedErrors,
+            @Value("${api.metering.subscription-cache-ttl:5m}") Duration subscriptionCacheTtl) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.usageRecordRepository = usageRecordRepository;
+        this.accumulator = accumulator;
+        this.bucketMillis = bucket.toMillis();
+        this.maxEventAge = maxEventAge;
+        this.maxClockSkew = maxClockSkew;
+        this.maxReportedErrors = maxReportedErrors;
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(subscriptionCacheTtl)
+                .build();
+
+        this.accepted = Counter.builder("metering.events").tag("result", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("metering.events").tag("result", "rejected").register(meterRegistry);
+    }
+
+    public UsageIngestResultDTO ingest(List<UsageEventDTO> events) {
+        Map<UUID, UUID> tenantBySubscription = resolveOwners(events);
+        Instant now = Instant.now();
+        Instant oldest = now.minus(maxEventAge);
+        Instant newest = now.plus(maxClockSkew);
+
+        List<UsageEntry> entries = new ArrayList<>(events.size());
+        List<UsageRejectionDTO> errors = new ArrayList<>();
+        int rejectedEvents = 0;
+        for (int i = 0; i < events.size(); i++) {
+            UsageEventDTO event = events.get(i);
+            Instant at = event.timestamp() != null ? event.timestamp() : now;
+            String error = null;
+
+            UUID tenantId = tenantBySubscription.get(event.subscriptionId());
+            if (tenantId == null) {
+                error = "Assinatura não encontrada ou inativa";
+            } else if (at.isBefore(oldest)) {
+                error = "Evento anterior à janela aceita (" + maxEventAge + ")";
+            } else if (at.isAfter(newest)) {
+                error = "Evento com data no futuro";
+            }
+
+            if (error != null) {
+                rejectedEvents++;
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new UsageRejectionDTO(i, event.subscriptionId(), error));
+                }
+                continue;
+            }
+            entries.add(new UsageEntry(new UsageKey(tenantId, event.subscriptionId(), event.meter(), bucketOf(at)),
+                    event.quantity()));
+        }
+
+        if (!entries.isEmpty()) {
+            try {
+                accumulator.record(entries);
+            } catch (UncheckedIOException e) {
+                log.error("Falha ao registrar {} eventos de consumo", entries.size(), e);
+                throw new ServiceUnavailableException("Falha ao registrar o consumo; envie o lote novamente",
+                        Duration.ofSeconds(1));
+            }
+        }
+
+        accepted.increment(entries.size());
+        rejected.increment(rejectedEvents);
+        return new UsageIngestResultDTO(events.size(), entries.size(), rejectedEvents, errors);
+    }
+
+    // Inclui apenas janelas já gravadas pelo flush
+    public List<UsageRecordDTO> usage(UUID subscriptionId, Instant from, Instant to) {
+        return usageRecordRepository.findUsage(subscriptionId, from, to);
+    }
+
+    private Instant bucketOf(Instant at) {
+        long millis = at.toEpochMilli();
+        return Instant.ofEpochMilli(millis - Math.floorMod(millis, bucketMillis));
+    }
+
+    // O cache guarda o tenant da assinatura, então uma entrada só vale para o mesmo tenant do contexto. Sem tenant
+    // (administrador global) vale o tenant da própria assinatura.
+    private Map<UUID, UUID> resolveOwners(List<UsageEventDTO> events) {
+        UUID currentTenant = TenantContext.getCurrentTenant();
+        Map<UUID, UUID> resolved = new HashMap<>();
+        Set<UUID> missing = new HashSet<>();
+        for (UsageEventDTO event : events) {
+            UUID subscriptionId = event.subscriptionId();
+            if (resolved.containsKey(subscriptionId) || missing.contains(subscriptionId)) {
+                continue;
+            }
+            UUID owner = owners.getIfPresent(subscriptionId);
+            if (owner != null && (currentTenant == null || owner.equals(currentTenant))) {
+                resolved.put(subscriptionId, owner);
+            } else {
+                missing.add(subscriptionId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (SubscriptionOwnerDTO subscription : subscriptionRepository.findOwners(missing, METERED_STATUSES)) {
+                if (currentTenant == null || Objects.equals(subscription.tenantId(), currentTenant)) {
+                    resolved.put(subscription.id(), subscription.tenantId());
+                    owners.put(subscription.id(), subscription.tenantId());
+                }
+            }
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,278 @@
+package com.projeto.subscription.modules.billing.service;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.modules.billing.dto.RenewalReport;
+import com.projeto.subscription.modules.billing.dto.SubscriptionResponseDTO;
+import com.projeto.subscription.modules.billing.model.RenewalCheckpoint;
+import com.projeto.subscription.modules.billing.model.Subscription;
+import com.projeto.subscription.modules.billing.repository.RenewalCheckpointRepository;
+import com.projeto.subscription.modules.billing.repository.SubscriptionRepository;
+import com.projeto.subscription.shared.outbox.OutboxPublisher;
+import com.projeto.subscription.shared.sharding.ShardOperations;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.SubscriptionStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Renovação em lote das assinaturas vencidas. Os tenants com assinaturas devidas formam uma fila consumida por
+// workers em paralelo; cada tenant é processado em lotes de tamanho fixo, cada lote na sua própria transação junto
+// com o checkpoint. O motor nunca usa mais que max-connections conexões ao mesmo tempo e recua quando há
+// requisições esperando conexão no Hikari. Ao fim da janela os workers param de pegar lotes novos.
+@Slf4j
+@Service
+public class RenewalEngine {
+
+    private static final List<SubscriptionStatus> RENEWABLE = List.of(SubscriptionStatus.ACTIVE,
+            SubscriptionStatus.TRIAL);
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final RenewalCheckpointRepository checkpointRepository;
+    private final ShardOperations shardOperations;
+    private final RevenueMetricsService revenueMetricsService;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transaction;
+    private final HikariDataSource hikari;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration window;
+    private final Duration backoff;
+    private final Semaphore connectionPermits;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter renewedCounter;
+    private final Timer chunkTimer;
+
+    public RenewalEngine(SubscriptionRepository subscriptionRepository,
+            RenewalCheckpointRepository checkpointRepository,
+            ShardOperations shardOperations,
+            RevenueMetricsService revenueMetricsService,
+            OutboxPublisher outboxPublisher,
+            PlatformTransactionManager transactionManager,
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            ObjectProvider<Clock> clock,
+            @Value("${api.billing.renewal.enabled:true}") boolean enabled,
+            @Value("${api.billing.renewal.chunk-size:1000}") int chunkSize,
+            @Value("${api.billing.renewal.parallelism:4}") int parallelism,
+            @Value("${api.billing.renewal.max-connections:0}") int maxConnections,
+            @Value("${api.billing.renewal.window:4h}") Duration window,
+            @Value("${api.billing.renewal.backoff:200ms}") Duration backoff) throws SQLException {
+        this.subscriptionRepository = subscriptionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.shardOperations = shardOperations;
+        this.revenueMetricsService = revenueMetricsService;
+        this.outboxPublisher = outboxPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.hikari = dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class)
+                : null;
+        // Um Clock no contexto (nos testes) decide quando a janela acaba
+        this.clock = clock.getIfAvailable(Clock::systemDefaultZone);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.window = window;
+        this.backoff = backoff;
+
+        // Por padrão no máximo metade do pool, para sobrar conexão para as requisições durante a execução
+        int permits = maxConnections > 0 ? maxConnections
+                : Math.min(parallelism, Math.max(1, (hikari != null ? hikari.getMaximumPoolSize() : 2) / 2));
+        this.connectionPermits = new Semaphore(permits);
+
+        this.renewedCounter = Counter.builder("billing.renewals")
+                .description("Assinaturas renovadas pelo motor de renovação")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("billing.renewal.chunk")
+                .description("Duração de cada lote de renovação, incluindo o commit")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${api.billing.renewal.cron:0 0 2 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run(LocalDate.now(clock));
+        }
+    }
+
+    // Execuções interrompidas (queda, deploy) têm checkpoints não concluídos: retoma cada data em segundo plano
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        if (!enabled) {
+            return;
+        }
+        List<LocalDate> pending = shardOperations.fanOut(checkpointRepository::findByCompletedFalse).stream()
+                .map(RenewalCheckpoint::getRunDate)
+                .distinct()
+                .sorted()
+                .toList();
+        if (!pending.isEmpty()) {
+            Thread.ofPlatform().name("renewal-resume").daemon().start(() -> pending.forEach(this::run));
+        }
+    }
+
+    public Optional<RenewalReport> run(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Renovação de {} ignorada: já existe uma execução em andamento", runDate);
+            return Optional.empty();
+        }
+        try {
+            RenewalReport report = renewAll(runDate);
+            log.info("Renovação de {}: {} assinaturas, {}/{} tenants concluídos em {}{}", runDate, report.renewed(),
+                    report.completedTenants(), report.tenants(), report.elapsed(),
+                    report.deadlineReached() ? " (janela encerrada)" : "");
+            return Optional.of(report);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private RenewalReport renewAll(LocalDate runDate) {
+        Instant start = clock.instant();
+        Instant deadline = start.plus(window);
+
+        // Com sharding a fila junta os tenants de todos os shards; cada lote roda no shard do próprio tenant
+        List<UUID> tenants = shardOperations.fanOut(() -> transaction.execute(status -> subscriptionRepository
+                .findTenantsWithDueSubscriptions(runDate, RENEWABLE)));
+        Queue<UUID> queue = new ConcurrentLinkedQueue<>(tenants);
+        LongAdder renewed = new LongAdder();
+        AtomicInteger completedTenants = new AtomicInteger();
+
+        int workerCount = Math.max(1, Math.min(parallelism, tenants.size()));
+        AtomicInteger threadCount = new AtomicInteger();
+        try (ExecutorService workers = Executors.newFixedThreadPool(workerCount,
+                runnable -> new Thread(runnable, "renewal-" + threadCount.incrementAndGet()))) {
+            for (int i = 0; i < workerCount; i++) {
+                workers.submit(() -> {
+                    UUID tenantId;
+                    while (clock.instant().isBefore(deadline) && (tenantId = queue.poll()) != null) {
+                        if (renewTenant(runDate, tenantId, deadline, renewed)) {
+                            completedTenants.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+
+        return new RenewalReport(runDate, tenants.size(), completedTenants.get(), renewed.sum(),
+                Duration.between(start, clock.instant()), !clock.instant().isBefore(deadline));
+    }
+
+    // Retorna true quando o tenant não tem mais nada devido; em caso de erro o checkpoint fica no último lote
+    // confirmado e o tenant é retomado na próxima execução
+    private boolean renewTenant(LocalDate runDate, UUID tenantId, Instant deadline, LongAdder renewed) {
+        try {
+            return TenantContext.callWithTenant(tenantId, () -> {
+                while (clock.instant().isBefore(deadline)) {
+                    ChunkResult chunk = renewChunk(runDate, tenantId);
+                    renewed.add(chunk.renewed());
+                    if (chunk.completed()) {
+                        return true;
+                    }
+                    yieldToRequests();
+                }
+                return false;
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao renovar assinaturas do tenant {} em {}", tenantId, runDate, e);
+            return false;
+        }
+    }
+
+    private ChunkResult renewChunk(LocalDate runDate, UUID tenantId) {
+        connectionPermits.acquireUninterruptibly();
+        try {
+            return chunkTimer.record(() -> transaction.execute(status -> {
+                RenewalCheckpoint checkpoint = checkpointRepository.findByRunDateAndTenantId(runDate, tenantId)
+                        .orElseGet(() -> RenewalCheckpoint.builder()
+                                .runDate(runDate)
+                                .tenantId(tenantId)
+                                .build());
+                if (checkpoint.isCompleted()) {
+                    return new ChunkResult(0, true);
+                }
+
+                UUID after = checkpoint.getLastSubscriptionId() != null ? checkpoint.getLastSubscriptionId() : FIRST_ID;
+                List<Subscription> due = subscriptionRepository.findDueForRenewal(runDate, RENEWABLE, after,
+                        Limit.of(chunkSize));
+                // Trial convertido em ativo passa a contar na receita
+                List<RevenueMetricsService.RevenueChange> conversions = new ArrayList<>();
+                for (Subscription subscription : due) {
+                    RevenueState previous = RevenueState.of(subscription);
+                    subscription.renew();
+                    RevenueState renewed = RevenueState.of(subscription);
+                    if (previous.counted() != renewed.counted()) {
+                        conversions.add(new RevenueMetricsService.RevenueChange(previous, renewed));
+                    }
+                    outboxPublisher.publish(tenantId, SubscriptionEvents.AGGREGATE, subscription.getId(),
+                            SubscriptionEvents.RENEWED, SubscriptionResponseDTO.from(subscription));
+                }
+                if (!conversions.isEmpty()) {
+                    revenueMetricsService.record(conversions);
+                }
+
+                if (!due.isEmpty()) {
+                    checkpoint.setLastSubscriptionId(due.getLast().getId());
+                }
+                checkpoint.setProcessed(checkpoint.getProcessed() + due.size());
+                checkpoint.setCompleted(due.size() < chunkSize);
+                checkpoint.setUpdatedAt(clock.instant());
+                checkpointRepository.save(checkpoint);
+
+                renewedCounter.increment(due.size());
+                return new ChunkResult(due.size(), checkpoint.isCompleted());
+            }));
+        } finally {
+            connectionPermits.release();
+        }
+    }
+
+    // Se há threads esperando conexão no Hikari, as requisições têm prioridade: o worker espera antes do próximo lote
+    private void yieldToRequests() {
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool != null && pool.getThreadsAwaitingConnection() > 0) {
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record ChunkResult(int renewed, boolean completed) {
+    }
+}
@@ -0,0 +1,252 @@
+package com.projeto.subscription.modules.billing.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.modules.billing.dto.RevenueDashboardDTO;
+import com.projeto.subscription.modules.billing.dto.RevenueMonthDTO;
+import com.projeto.subscription.modules.billing.dto.RevenueMonthMovement;
+import com.projeto.subscription.modules.billing.dto.RevenueRebuildReport;
+import com.projeto.subscription.modules.billing.dto.RevenueTotals;
+import com.projeto.subscription.modules.billing.repository.RevenueMetricsRepository;
+import com.projeto.subscription.shared.exception.ResourceConflictException;
+import com.projeto.subscription.shared.sharding.ShardOperations;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// MRR/ARR, mix de planos e churn por tenant, mantidos como linhas pré-calculadas. Quem altera assinaturas chama
+// record() na mesma transação com o estado antes e depois de cada uma; as diferenças viram somas atômicas nos
+// totais do tenant, nos do plano e no movimento do mês. O painel lê só essas linhas: o custo não depende do número
+// de assinaturas do tenant.
+//
+// O recálculo completo (cron diário e POST /revenue/rebuild) trava a linha do tenant antes de somar as assinaturas,
+// e toda atualização incremental passa primeiro por essa linha: uma transação em andamento ou termina antes do
+// recálculo (e entra na soma) ou espera por ele (e soma por cima do valor recalculado). O movimento mensal é um
+// histórico e não é recalculado.
+@Slf4j
+@Service
+public class RevenueMetricsService {
+
+    private static final BigDecimal MONTHS_PER_YEAR = BigDecimal.valueOf(12);
+
+    private final RevenueMetricsRepository revenueMetricsRepository;
+    private final ShardOperations shardOperations;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Clock clock;
+    private final int maxMonths;
+    private final Counter corrections;
+
+    public RevenueMetricsService(RevenueMetricsRepository revenueMetricsRepository, ShardOperations shardOperations,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${api.billing.revenue.max-months:36}") int maxMonths) {
+        this.revenueMetricsRepository = revenueMetricsRepository;
+        this.shardOperations = shardOperations;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clock = Clock.systemDefaultZone();
+        this.maxMonths = maxMonths;
+        this.corrections = Counter.builder("billing.revenue.rebuild.corrections")
+                .description("Tenants cujos agregados de receita divergiam do recálculo")
+                .register(meterRegistry);
+    }
+
+    // before é null numa criação. Deve rodar na transação que grava as assinaturas.
+    public void record(RevenueState before, RevenueState after) {
+        record(List.of(new RevenueChange(before, after)));
+    }
+
+    public void record(List<RevenueChange> changes) {
+        LocalDate month = LocalDate.now(clock).withDayOfMonth(1);
+        // TreeMap: tenants e planos sempre travados na mesma ordem
+        Map<UUID, TenantDelta> deltas = new TreeMap<>();
+        for (RevenueChange change : changes) {
+            RevenueState reference = change.after() != null ? change.after() : change.before();
+            deltas.computeIfAbsent(reference.tenantId(), tenantId -> new TenantDelta(month)).add(change);
+        }
+
+        Instant now = clock.instant();
+        deltas.forEach((tenantId, delta) -> {
+            if (delta.isEmpty()) {
+                return;
+            }
+            revenueMetricsRepository.addToTenant(tenantId, delta.total.activeSubscriptions(), delta.total.mrr(), now);
+            delta.plans.forEach((planId, plan) -> {
+                if (plan.activeSubscriptions() != 0 || plan.mrr().signum() != 0) {
+                    revenueMetricsRepository.addToPlan(tenantId, planId, plan.activeSubscriptions(), plan.mrr(), now);
+                }
+            });
+            if (!delta.movement.isEmpty()) {
+                revenueMetricsRepository.addToMonth(tenantId, delta.movement, now);
+            }
+        });
+    }
+
+    public RevenueDashboardDTO dashboard(int months) {
+        UUID tenantId = requireTenant();
+        int monthCount = Math.clamp(months, 1, maxMonths);
+        LocalDate current = LocalDate.now(clock).withDayOfMonth(1);
+        LocalDate first = current.minusMonths(monthCount - 1L);
+
+        return readOnlyTransaction.execute(status -> {
+            RevenueTotals totals = revenueMetricsRepository.findTenant(tenantId);
+            Map<LocalDate, RevenueMonthMovement> movements = revenueMetricsRepository.findMonths(tenantId, first)
+                    .stream()
+                    .collect(Collectors.toMap(RevenueMonthMovement::month, Function.identity()));
+
+            // Do mês corrente para trás: o início de um mês é o fim dele menos o movimento, e é o fim do anterior
+            List<RevenueMonthDTO> history = new ArrayList<>(monthCount);
+            long active = totals.activeSubscriptions();
+            BigDecimal mrr = totals.mrr();
+            for (LocalDate month = current; !month.isBefore(first); month = month.minusMonths(1)) {
+                RevenueMonthMovement movement = movements.getOrDefault(month, RevenueMonthMovement.empty(month));
+                active = active - movement.newSubscriptions() + movement.churnedSubscriptions();
+                mrr = mrr.subtract(movement.newMrr()).subtract(movement.expansionMrr())
+                        .add(movement.contractionMrr()).add(movement.churnedMrr());
+                BigDecimal churnRate = active > 0
+                        ? BigDecimal.valueOf(movement.churnedSubscriptions())
+                                .divide(BigDecimal.valueOf(active), 4, RoundingMode.HALF_EVEN)
+                        : null;
+                history.add(new RevenueMonthDTO(month, active, mrr, movement.newSubscriptions(),
+                        movement.churnedSubscriptions(), movement.newMrr(), movement.expansionMrr(),
+                        movement.contractionMrr(), movement.churnedMrr(), churnRate));
+            }
+
+            return new RevenueDashboardDTO(totals.activeSubscriptions(), totals.mrr(),
+                    totals.mrr().multiply(MONTHS_PER_YEAR), revenueMetricsRepository.findPlans(tenantId), history);
+        });
+    }
+
+    public RevenueRebuildReport rebuild() {
+        UUID tenantId = requireTenant();
+        return new RevenueRebuildReport(1, rebuildTenant(tenantId) ? 1 : 0);
+    }
+
+    // Um tenant por transação, para que cada um fique travado só durante o próprio recálculo
+    @Scheduled(cron = "${api.billing.revenue.rebuild-cron:0 30 3 * * *}")
+    public RevenueRebuildReport rebuildAll() {
+        AtomicInteger tenants = new AtomicInteger();
+        AtomicInteger corrected = new AtomicInteger();
+        shardOperations.forEachShard(() -> {
+            for (UUID tenantId : readOnlyTransaction.execute(status -> revenueMetricsRepository.findTenants())) {
+                tenants.incrementAndGet();
+                if (rebuildTenant(tenantId)) {
+                    corrected.incrementAndGet();
+                }
+            }
+        });
+        log.info("Recálculo da receita: {} tenants, {} corrigidos", tenants.get(), corrected.get());
+        return new RevenueRebuildReport(tenants.get(), corrected.get());
+    }
+
+    // Retorna true se os totais incrementais estavam divergentes
+    private boolean rebuildTenant(UUID tenantId) {
+        return transaction.execute(status -> {
+            Instant now = clock.instant();
+            RevenueTotals previous = revenueMetricsRepository.lockTenant(tenantId, now);
+
+            Map<UUID, RevenueTotals> plans = new HashMap<>();
+            revenueMetricsRepository.scanSubscriptions(tenantId, RevenueState.COUNTED_STATUSES, row -> {
+                BigDecimal amount = RevenueState.monthlyAmount(row.getBigDecimal(2), row.getInt(3),
+                        BillingCycle.values()[row.getInt(4)]);
+                plans.merge(row.getObject(1, UUID.class), new RevenueTotals(1, amount),
+                        (sum, one) -> sum.plus(one.activeSubscriptions(), one.mrr()));
+            });
+            RevenueTotals total = plans.values().stream()
+                    .reduce(RevenueTotals.ZERO, (sum, plan) -> sum.plus(plan.activeSubscriptions(), plan.mrr()));
+            revenueMetricsRepository.replace(tenantId, total, plans, now);
+
+            boolean drifted = previous.activeSubscriptions() != total.activeSubscriptions()
+                    || previous.mrr().compareTo(total.mrr()) != 0;
+            if (drifted) {
+                corrections.increment();
+                log.warn("Receita do tenant {} corrigida pelo recálculo: {} -> {}", tenantId, previous, total);
+            }
+            return drifted;
+        });
+    }
+
+    private static UUID requireTenant() {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new ResourceConflictException("As métricas de receita precisam de um tenant no contexto (X-Tenant-ID)");
+        }
+        return tenantId;
+    }
+
+    public record RevenueChange(RevenueState before, RevenueState after) {
+    }
+
+    // Soma das diferenças de um tenant dentro de uma chamada a record()
+    private static final class TenantDelta {
+
+        private RevenueTotals total = RevenueTotals.ZERO;
+        private final Map<UUID, RevenueTotals> plans = new TreeMap<>();
+        private RevenueMonthMovement movement;
+
+        private TenantDelta(LocalDate month) {
+            this.movement = RevenueMonthMovement.empty(month);
+        }
+
+        private void add(RevenueChange change) {
+            boolean was = change.before() != null && change.before().counted();
+            boolean is = change.after() != null && change.after().counted();
+            BigDecimal previous = was ? change.before().monthlyAmount() : BigDecimal.ZERO;
+            BigDecimal current = is ? change.after().monthlyAmount() : BigDecimal.ZERO;
+
+            if (was) {
+                plans.merge(change.before().planId(), new RevenueTotals(-1, previous.negate()), TenantDelta::sum);
+            }
+            if (is) {
+                plans.merge(change.after().planId(), new RevenueTotals(1, current), TenantDelta::sum);
+            }
+            total = total.plus((is ? 1 : 0) - (was ? 1 : 0), current.subtract(previous));
+
+            BigDecimal difference = current.subtract(previous);
+            LocalDate month = movement.month();
+            BigDecimal zero = BigDecimal.ZERO;
+            if (!was && is) {
+                movement = movement.plus(new RevenueMonthMovement(month, 1, 0, current, zero, zero, zero));
+            } else if (was && !is) {
+                movement = movement.plus(new RevenueMonthMovement(month, 0, 1, zero, zero, zero, previous));
+            } else if (was && difference.signum() > 0) {
+                movement = movement.plus(new RevenueMonthMovement(month, 0, 0, zero, difference, zero, zero));
+            } else if (was && difference.signum() < 0) {
+                movement = movement.plus(new RevenueMonthMovement(month, 0, 0, zero, zero, difference.negate(), zero));
+            }
+        }
+
+        private boolean isEmpty() {
+            return total.activeSubscriptions() == 0 && total.mrr().signum() == 0 && movement.isEmpty()
+                    && plans.values().stream().allMatch(plan -> plan.activeSubscriptions() == 0
+                            && plan.mrr().signum() == 0);
+        }
+
+        private static RevenueTotals sum(RevenueTotals left, RevenueTotals right) {
+            return left.plus(right.activeSubscriptions(), right.mrr());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.projeto.subscription.modules.billing.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Set;
+import java.util.UUID;
+
+import com.projeto.subscription.modules.billing.model.Subscription;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.SubscriptionStatus;
+
+// Contribuição de uma assinatura para a receita recorrente, capturada antes e depois de cada alteração
+public record RevenueState(
+        UUID tenantId,
+        UUID planId,
+        boolean counted,
+        BigDecimal monthlyAmount) {
+
+    // Trial ainda não paga; PAST_DUE continua na receita até ser cancelada
+    public static final Set<SubscriptionStatus> COUNTED_STATUSES = Set.of(SubscriptionStatus.ACTIVE,
+            SubscriptionStatus.PAST_DUE);
+
+    public static final int SCALE = 4;
+
+    public static RevenueState of(Subscription subscription) {
+        boolean counted = COUNTED_STATUSES.contains(subscription.getStatus());
+        return new RevenueState(subscription.getTenantId(), subscription.getPlanId(), counted,
+                counted ? monthlyAmount(subscription.getPriceSnapshot(), subscription.getQuantity(),
+                        subscription.getBillingCycleSnapshot()) : BigDecimal.ZERO.setScale(SCALE));
+    }
+
+    // Valor mensal normalizado; o recálculo completo usa a mesma conta para não divergir no arredondamento
+    public static BigDecimal monthlyAmount(BigDecimal price, int quantity, BillingCycle cycle) {
+        BigDecimal total = price.multiply(BigDecimal.valueOf(quantity));
+        return switch (cycle) {
+            case MONTHLY -> total.setScale(SCALE, RoundingMode.HALF_EVEN);
+            case YEARLY -> total.divide(BigDecimal.valueOf(12), SCALE, RoundingMode.HALF_EVEN);
+        };
+    }
+}
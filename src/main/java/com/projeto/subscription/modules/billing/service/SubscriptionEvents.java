@@ -0,0 +1,14 @@
+package com.projeto.subscription.modules.billing.service;
+
+// Tipos de evento do agregado assinatura publicados no outbox; o payload é o SubscriptionResponseDTO
+public final class SubscriptionEvents {
+
+    public static final String AGGREGATE = "subscription";
+    public static final String CREATED = "subscription.created";
+    public static final String CHANGED = "subscription.changed";
+    public static final String CANCELLED = "subscription.cancelled";
+    public static final String RENEWED = "subscription.renewed";
+
+    private SubscriptionEvents() {
+    }
+}
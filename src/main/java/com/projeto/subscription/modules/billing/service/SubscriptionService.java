@@ -0,0 +1,156 @@
+package com.projeto.subscription.modules.billing.service;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projeto.subscription.modules.billing.dto.SubscriptionChangeDTO;
+import com.projeto.subscription.modules.billing.dto.SubscriptionRequestDTO;
+import com.projeto.subscription.modules.billing.dto.SubscriptionResponseDTO;
+import com.projeto.subscription.modules.billing.model.Subscription;
+import com.projeto.subscription.modules.billing.repository.SubscriptionRepository;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.plan.model.Plan;
+import com.projeto.subscription.modules.plan.repository.PlanRepository;
+import com.projeto.subscription.shared.exception.ResourceConflictException;
+import com.projeto.subscription.shared.exception.ResourceNotFoundException;
+import com.projeto.subscription.shared.outbox.OutboxPublisher;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.SubscriptionStatus;
+
+// Toda alteração passa o estado antes e depois para o RevenueMetricsService na mesma transação
+@Service
+public class SubscriptionService {
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final UserRepository userRepository;
+    private final PlanRepository planRepository;
+    private final RevenueMetricsService revenueMetricsService;
+    private final OutboxPublisher outboxPublisher;
+
+    public SubscriptionService(SubscriptionRepository subscriptionRepository, UserRepository userRepository,
+            PlanRepository planRepository, RevenueMetricsService revenueMetricsService,
+            OutboxPublisher outboxPublisher) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.userRepository = userRepository;
+        this.planRepository = planRepository;
+        this.revenueMetricsService = revenueMetricsService;
+        this.outboxPublisher = outboxPublisher;
+    }
+
+    @Transactional
+    public SubscriptionResponseDTO create(SubscriptionRequestDTO request) {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        User user = userRepository.findById(request.userId())
+                .filter(found -> tenantId == null || tenantId.equals(found.getTenantId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+        Plan plan = findPlan(request.planId(), user.getTenantId());
+
+        LocalDate today = LocalDate.now();
+        int trialDays = request.trialDays() != null ? request.trialDays() : 0;
+        Subscription subscription = Subscription.builder()
+                .userId(user.getId())
+                .planId(plan.getId())
+                .status(trialDays > 0 ? SubscriptionStatus.TRIAL : SubscriptionStatus.ACTIVE)
+                .startDate(today)
+                .nextBillingDate(trialDays > 0 ? today.plusDays(trialDays) : nextCycle(today, plan.getBillingCycle()))
+                .priceSnapshot(plan.getPrice())
+                .billingCycleSnapshot(plan.getBillingCycle())
+                .quantity(request.quantity() != null ? request.quantity() : 1)
+                .externalId(request.externalId())
+                .build();
+        subscription.setTenantId(user.getTenantId());
+
+        Subscription saved = saveAndFlush(subscription);
+        revenueMetricsService.record(null, RevenueState.of(saved));
+        return publish(saved, SubscriptionEvents.CREATED);
+    }
+
+    @Transactional
+    public SubscriptionResponseDTO change(UUID id, SubscriptionChangeDTO request) {
+        Subscription subscription = findForUpdate(id);
+        if (subscription.getStatus() == SubscriptionStatus.CANCELLED) {
+            throw new ResourceConflictException("Assinatura cancelada não pode ser alterada");
+        }
+        RevenueState before = RevenueState.of(subscription);
+
+        if (request.planId() != null && !request.planId().equals(subscription.getPlanId())) {
+            Plan plan = findPlan(request.planId(), subscription.getTenantId());
+            subscription.setPlanId(plan.getId());
+            subscription.setPriceSnapshot(plan.getPrice());
+            subscription.setBillingCycleSnapshot(plan.getBillingCycle());
+        }
+        if (request.quantity() != null) {
+            subscription.setQuantity(request.quantity());
+        }
+
+        Subscription saved = saveAndFlush(subscription);
+        revenueMetricsService.record(before, RevenueState.of(saved));
+        return publish(saved, SubscriptionEvents.CHANGED);
+    }
+
+    @Transactional
+    public SubscriptionResponseDTO cancel(UUID id) {
+        Subscription subscription = findForUpdate(id);
+        if (subscription.getStatus() == SubscriptionStatus.CANCELLED) {
+            throw new ResourceConflictException("Assinatura já cancelada");
+        }
+        RevenueState before = RevenueState.of(subscription);
+
+        subscription.setStatus(SubscriptionStatus.CANCELLED);
+        subscription.setEndDate(LocalDate.now());
+
+        revenueMetricsService.record(before, RevenueState.of(subscription));
+        return publish(subscription, SubscriptionEvents.CANCELLED);
+    }
+
+    @Transactional(readOnly = true)
+    public SubscriptionResponseDTO get(UUID id) {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        return subscriptionRepository.findById(id)
+                .filter(found -> tenantId == null || tenantId.equals(found.getTenantId()))
+                .map(SubscriptionResponseDTO::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Assinatura não encontrada"));
+    }
+
+    private Subscription findForUpdate(UUID id) {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        return subscriptionRepository.findByIdForUpdate(id)
+                .filter(found -> tenantId == null || tenantId.equals(found.getTenantId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Assinatura não encontrada"));
+    }
+
+    private Plan findPlan(UUID planId, UUID tenantId) {
+        return planRepository.findById(planId)
+                .filter(found -> tenantId == null || tenantId.equals(found.getTenantId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Plano não encontrado"));
+    }
+
+    // Flush imediato para que a violação da unicidade (tenant, usuário, plano) vire 409 aqui, e não no commit
+    private Subscription saveAndFlush(Subscription subscription) {
+        try {
+            return subscriptionRepository.saveAndFlush(subscription);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceConflictException("O usuário já possui uma assinatura deste plano");
+        }
+    }
+
+    private SubscriptionResponseDTO publish(Subscription subscription, String eventType) {
+        SubscriptionResponseDTO response = SubscriptionResponseDTO.from(subscription);
+        outboxPublisher.publish(subscription.getTenantId(), SubscriptionEvents.AGGREGATE, subscription.getId(),
+                eventType, response);
+        return response;
+    }
+
+    private static LocalDate nextCycle(LocalDate from, BillingCycle cycle) {
+        return switch (cycle) {
+            case MONTHLY -> from.plusMonths(1);
+            case YEARLY -> from.plusYears(1);
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.projeto.subscription.modules.billing.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+// Contadores de consumo em memória entre dois flushes. Cada chave tem um LongAdder (células por thread, sem disputa
+// entre ingestões concorrentes) num ConcurrentHashMap, que só trava na criação da chave.
+//
+// Os contadores vivem numa geração, ligada a um segmento do WAL. O flush troca a geração atual por uma nova e espera
+// as ingestões que ainda estavam na antiga terminarem; a partir daí ela não muda mais e pode ir para o banco. A espera
+// usa dois contadores monotônicos (entradas e saídas): lendo as saídas antes das entradas, valores iguais garantem que
+// houve um instante sem ninguém dentro da geração, e quem entra depois disso vê a troca e passa para a nova.
+@Component
+public class UsageAccumulator {
+
+    private final UsageWal wal;
+    private volatile Generation current;
+
+    public UsageAccumulator(UsageWal wal) {
+        this.wal = wal;
+        this.current = new Generation(wal.open());
+    }
+
+    // Grava o lote no WAL e soma nos contadores. Ao retornar o lote sobrevive a uma queda.
+    public void record(List<UsageEntry> entries) {
+        while (true) {
+            Generation generation = current;
+            generation.entered.increment();
+            try {
+                if (generation != current) {
+                    continue;
+                }
+                generation.segment.append(entries);
+                for (UsageEntry entry : entries) {
+                    generation.add(entry.key(), entry.quantity());
+                }
+                return;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao gravar o consumo no WAL", e);
+            } finally {
+                generation.exited.increment();
+            }
+        }
+    }
+
+    // Fecha a geração atual e devolve os totais dela, junto com o id do segmento do WAL que os contém
+    public synchronized Drained drain() {
+        Generation previous = current;
+        current = new Generation(wal.open());
+
+        while (previous.exited.sum() != previous.entered.sum()) {
+            Thread.onSpinWait();
+        }
+        try {
+            previous.segment.close();
+        } catch (IOException e) {
+            // Os lotes já foram gravados (e sincronizados, com fsync) por quem os escreveu
+            throw new UncheckedIOException("Falha ao fechar o segmento do WAL de consumo", e);
+        }
+
+        Map<UsageKey, Long> totals = new HashMap<>(previous.counters.size() * 4 / 3 + 1);
+        previous.counters.forEach((key, counter) -> totals.put(key, counter.sum()));
+        return new Drained(previous.segment.id(), totals);
+    }
+
+    public int pendingKeys() {
+        return current.counters.size();
+    }
+
+    public record Drained(UUID segmentId, Map<UsageKey, Long> totals) {
+    }
+
+    private static final class Generation {
+
+        private final UsageWal.Segment segment;
+        private final ConcurrentHashMap<UsageKey, LongAdder> counters = new ConcurrentHashMap<>();
+        private final LongAdder entered = new LongAdder();
+        private final LongAdder exited = new LongAdder();
+
+        private Generation(UsageWal.Segment segment) {
+            this.segment = segment;
+        }
+
+        private void add(UsageKey key, long quantity) {
+            // get antes do computeIfAbsent: na chave já existente não toca no lock do bin
+            LongAdder counter = counters.get(key);
+            if (counter == null) {
+                counter = counters.computeIfAbsent(key, ignored -> new LongAdder());
+            }
+            counter.add(quantity);
+        }
+    }
+}
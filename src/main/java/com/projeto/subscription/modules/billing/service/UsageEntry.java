@@ -0,0 +1,6 @@
+package com.projeto.subscription.modules.billing.service;
+
+public record UsageEntry(
+        UsageKey key,
+        long quantity) {
+}
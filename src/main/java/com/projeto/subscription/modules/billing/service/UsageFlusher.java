@@ -0,0 +1,131 @@
+package com.projeto.subscription.modules.billing.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.modules.billing.repository.UsageFlushRepository;
+import com.projeto.subscription.shared.sharding.ShardOperations;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Leva o consumo acumulado em memória para usage_records a cada flush-interval. Cada geração drenada é gravada, por
+// shard, numa transação que soma os totais (upsert) e registra o segmento do WAL em usage_flushes; só então o segmento
+// é apagado. Se o processo cair no meio, o replay na subida pula os shards onde o segmento já consta como aplicado.
+// Uma geração que falha fica na fila e é tentada de novo antes das seguintes; o WAL dela continua no disco.
+@Slf4j
+@Component
+public class UsageFlusher {
+
+    private final UsageAccumulator accumulator;
+    private final UsageWal wal;
+    private final UsageFlushRepository usageFlushRepository;
+    private final ShardOperations shardOperations;
+    private final TransactionTemplate transaction;
+    private final Duration flushLogRetention;
+    private final Timer flushTimer;
+
+    private final Deque<UsageAccumulator.Drained> failed = new ArrayDeque<>();
+
+    public UsageFlusher(UsageAccumulator accumulator, UsageWal wal, UsageFlushRepository usageFlushRepository,
+            ShardOperations shardOperations, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${api.metering.flush-log-retention:7d}") Duration flushLogRetention) {
+        this.accumulator = accumulator;
+        this.wal = wal;
+        this.usageFlushRepository = usageFlushRepository;
+        this.shardOperations = shardOperations;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.flushLogRetention = flushLogRetention;
+
+        this.flushTimer = Timer.builder("metering.flush")
+                .description("Duração de um flush do consumo acumulado")
+                .register(meterRegistry);
+        meterRegistry.gauge("metering.pending.keys", accumulator, UsageAccumulator::pendingKeys);
+        meterRegistry.gauge("metering.failed.generations", failed, Deque::size);
+    }
+
+    // Segmentos deixados por uma execução que caiu antes do flush. Roda depois das migrações e do diretório de shards.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void replayLeftovers() {
+        for (UUID segmentId : wal.leftovers()) {
+            UsageAccumulator.Drained drained = new UsageAccumulator.Drained(segmentId, wal.read(segmentId));
+            log.info("Reaplicando o segmento {} do WAL de consumo ({} chaves)", segmentId, drained.totals().size());
+            submit(drained);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.metering.flush-interval:5s}")
+    public synchronized void flush() {
+        flushTimer.record(() -> submit(accumulator.drain()));
+    }
+
+    // Último flush no desligamento; o que não for gravado aqui continua no WAL para a próxima subida
+    @PreDestroy
+    public synchronized void shutdown() {
+        flush();
+    }
+
+    @Scheduled(cron = "${api.metering.flush-log-purge-cron:0 30 4 * * *}")
+    public void purgeFlushLog() {
+        Instant cutoff = Instant.now().minus(flushLogRetention);
+        shardOperations.forEachShard(
+                () -> transaction.executeWithoutResult(status -> usageFlushRepository.purgeAppliedBefore(cutoff)));
+    }
+
+    private void submit(UsageAccumulator.Drained drained) {
+        failed.addLast(drained);
+        while (!failed.isEmpty()) {
+            UsageAccumulator.Drained next = failed.peekFirst();
+            try {
+                apply(next);
+            } catch (RuntimeException e) {
+                log.warn("Falha no flush do segmento {} do WAL de consumo; {} gerações aguardando nova tentativa",
+                        next.segmentId(), failed.size(), e);
+                return;
+            }
+            failed.removeFirst();
+            wal.delete(next.segmentId());
+        }
+    }
+
+    private void apply(UsageAccumulator.Drained drained) {
+        if (drained.totals().isEmpty()) {
+            return;
+        }
+        // As linhas de um tenant em migração iriam para o shard de origem depois da cópia: a geração espera a migração
+        if (drained.totals().keySet().stream().anyMatch(key -> shardOperations.isMoving(key.tenantId()))) {
+            throw new IllegalStateException("Há tenants em migração de shard; flush adiado");
+        }
+        Instant now = Instant.now();
+        shardOperations.forEachShard(shard -> {
+            List<Map.Entry<UsageKey, Long>> rows = drained.totals().entrySet().stream()
+                    .filter(total -> shard.equals(shardOperations.shardOf(total.getKey().tenantId())))
+                    .toList();
+            if (rows.isEmpty()) {
+                return;
+            }
+            transaction.executeWithoutResult(status -> {
+                if (usageFlushRepository.isApplied(drained.segmentId())) {
+                    return;
+                }
+                usageFlushRepository.upsert(rows, now);
+                usageFlushRepository.markApplied(drained.segmentId(), now);
+            });
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.projeto.subscription.modules.billing.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Chave de agregação do consumo; bucketStart já vem alinhado ao início da janela
+public record UsageKey(
+        UUID tenantId,
+        UUID subscriptionId,
+        String meter,
+        Instant bucketStart) {
+}
@@ -0,0 +1,313 @@
+package com.projeto.subscription.modules.billing.service;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Log de escrita antecipada do consumo ainda não gravado no banco. Cada geração do UsageAccumulator escreve num
+// segmento próprio (<directory>/<id>.wal) e o segmento é apagado depois que o flush dele é confirmado; o que sobrar no
+// diretório ao subir é de uma execução que caiu antes do flush e é reaplicado pelo UsageFlusher.
+//
+// Cada lote aceito vira um registro [tamanho][crc32c][payload] gravado antes da resposta ao cliente. Com fsync ligado
+// a resposta também espera o force() do arquivo; lotes concorrentes compartilham o mesmo force (group commit). Um
+// registro cortado no fim do arquivo (queda no meio da escrita) encerra a leitura: ele nunca foi confirmado.
+//
+// O diretório é exclusivo de uma instância da aplicação e não tem padrão: um caminho relativo ao diretório de trabalho
+// mudaria conforme o processo é iniciado, e os segmentos de uma queda não seriam reaplicados.
+@Slf4j
+@Component
+public class UsageWal {
+
+    private static final String SUFFIX = ".wal";
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final FileChannel lockChannel;
+    private final List<UUID> leftovers;
+
+    public UsageWal(@Value("${api.metering.wal.directory:#{null}}") Path directory,
+            @Value("${api.metering.wal.fsync:true}") boolean fsync) throws IOException {
+        if (directory == null) {
+            throw new IllegalStateException("api.metering.wal.directory não configurado: defina um diretório "
+                    + "persistente e exclusivo desta instância (ex.: API_METERING_WAL_DIRECTORY=/var/lib/app/wal)");
+        }
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        this.lockChannel = lock(directory);
+        this.leftovers = listSegments();
+        if (!leftovers.isEmpty()) {
+            log.info("WAL de consumo: {} segmentos pendentes de uma execução anterior em {}", leftovers.size(),
+                    directory.toAbsolutePath());
+        }
+    }
+
+    // Segmentos que já existiam quando a aplicação subiu, do mais antigo para o mais novo
+    public List<UUID> leftovers() {
+        return leftovers;
+    }
+
+    public Segment open() {
+        UUID id = UUID.randomUUID();
+        try {
+            return new Segment(id, FileChannel.open(path(id), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar o segmento do WAL de consumo", e);
+        }
+    }
+
+    // Totais por chave de um segmento fechado
+    public Map<UsageKey, Long> read(UUID segmentId) {
+        Map<UsageKey, Long> totals = new HashMap<>();
+        Path path = path(segmentId);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (true) {
+                byte[] payload = nextRecord(in, path);
+                if (payload == null) {
+                    return totals;
+                }
+                decode(payload, entry -> totals.merge(entry.key(), entry.quantity(), Long::sum));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o segmento do WAL de consumo " + path, e);
+        }
+    }
+
+    public void delete(UUID segmentId) {
+        try {
+            Files.deleteIfExists(path(segmentId));
+        } catch (IOException e) {
+            // O flush já foi marcado em usage_flushes: um replay futuro do arquivo é ignorado
+            log.warn("Falha ao apagar o segmento {} do WAL de consumo", segmentId, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lockChannel.close();
+    }
+
+    // Duas instâncias no mesmo diretório reaplicariam os segmentos ainda abertos uma da outra
+    private static FileChannel lock(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(".lock"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IllegalStateException("O diretório do WAL de consumo já está em uso por outra instância: "
+                    + directory.toAbsolutePath());
+        }
+        return channel;
+    }
+
+    private List<UUID> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(UsageWal::lastModified))
+                    .map(file -> {
+                        String name = file.getFileName().toString();
+                        return UUID.fromString(name.substring(0, name.length() - SUFFIX.length()));
+                    })
+                    .toList();
+        }
+    }
+
+    private Path path(UUID segmentId) {
+        return directory.resolve(segmentId + SUFFIX);
+    }
+
+    private static byte[] nextRecord(DataInputStream in, Path path) throws IOException {
+        int length;
+        int checksum;
+        byte[] payload;
+        try {
+            length = in.readInt();
+            checksum = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES) {
+                log.warn("Registro inválido no WAL de consumo {}; o restante do arquivo foi ignorado", path);
+                return null;
+            }
+            payload = in.readNBytes(length);
+        } catch (EOFException e) {
+            return null;
+        }
+        if (payload.length < length) {
+            log.warn("Registro incompleto no fim do WAL de consumo {}; ignorado", path);
+            return null;
+        }
+        if (checksum(payload) != checksum) {
+            log.warn("Checksum inválido no WAL de consumo {}; o restante do arquivo foi ignorado", path);
+            return null;
+        }
+        return payload;
+    }
+
+    static ByteBuffer encode(List<UsageEntry> entries) {
+        List<byte[]> meters = new ArrayList<>(entries.size());
+        int size = Integer.BYTES;
+        for (UsageEntry entry : entries) {
+            byte[] meter = entry.key().meter().getBytes(StandardCharsets.UTF_8);
+            meters.add(meter);
+            size += 16 + 16 + Long.BYTES + Long.BYTES + Short.BYTES + meter.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + size);
+        buffer.position(2 * Integer.BYTES);
+        buffer.putInt(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            UsageEntry entry = entries.get(i);
+            UsageKey key = entry.key();
+            buffer.putLong(key.tenantId().getMostSignificantBits()).putLong(key.tenantId().getLeastSignificantBits());
+            buffer.putLong(key.subscriptionId().getMostSignificantBits())
+                    .putLong(key.subscriptionId().getLeastSignificantBits());
+            buffer.putLong(key.bucketStart().toEpochMilli());
+            buffer.putLong(entry.quantity());
+            buffer.putShort((short) meters.get(i).length).put(meters.get(i));
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 2 * Integer.BYTES, size);
+        buffer.putInt(0, size).putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.flip();
+    }
+
+    private static void decode(byte[] payload, Consumer<UsageEntry> sink) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            UUID tenantId = new UUID(buffer.getLong(), buffer.getLong());
+            UUID subscriptionId = new UUID(buffer.getLong(), buffer.getLong());
+            Instant bucketStart = Instant.ofEpochMilli(buffer.getLong());
+            long quantity = buffer.getLong();
+            byte[] meter = new byte[buffer.getShort()];
+            buffer.get(meter);
+            sink.accept(new UsageEntry(new UsageKey(tenantId, subscriptionId,
+                    new String(meter, StandardCharsets.UTF_8), bucketStart), quantity));
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    public final class Segment implements Closeable {
+
+        private final UUID id;
+        private final FileChannel channel;
+        private final Object syncLock = new Object();
+        private long written;
+        private long synced;
+        private boolean broken;
+
+        private Segment(UUID id, FileChannel channel) {
+            this.id = id;
+            this.channel = channel;
+        }
+
+        public UUID id() {
+            return id;
+        }
+
+        // Retorna só depois que o lote está no arquivo (e no disco, com fsync ligado). Depois de uma escrita com
+        // falha o segmento recusa novos lotes até a próxima troca de geração: um registro gravado pela metade só é
+        // descartado com segurança no replay se for o último do arquivo.
+        public void append(List<UsageEntry> entries) throws IOException {
+            ByteBuffer record = encode(entries);
+            long end;
+            synchronized (this) {
+                if (broken) {
+                    throw new IOException("Segmento " + id + " do WAL de consumo inutilizado por uma falha anterior");
+                }
+                try {
+                    while (record.hasRemaining()) {
+                        channel.write(record);
+                    }
+                } catch (IOException e) {
+                    broken = true;
+                    throw e;
+                }
+                written += record.limit();
+                end = written;
+            }
+            if (fsync) {
+                sync(end);
+            }
+        }
+
+        // Quem entra depois de um force() em andamento aproveita o próximo, que cobre tudo o que foi escrito até ele
+        private void sync(long end) throws IOException {
+            synchronized (syncLock) {
+                if (synced >= end) {
+                    return;
+                }
+                long target;
+                synchronized (this) {
+                    target = written;
+                }
+                try {
+                    channel.force(false);
+                } catch (IOException e) {
+                    synchronized (this) {
+                        broken = true;
+                    }
+                    throw e;
+                }
+                synced = target;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.projeto.subscription.modules.export.service;
+
+import java.util.function.Function;
+
+public record ExportColumn<T>(
+        String name,
+        Function<T, Object> value) {
+}
@@ -0,0 +1,120 @@
+package com.projeto.subscription.modules.export.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.subscription.shared.util.Enums.ExportFormat;
+
+// Serializa uma linha por vez no buffer do bloco corrente; nada é acumulado entre linhas além do próprio buffer
+abstract class ExportRowWriter<T> {
+
+    protected final List<ExportColumn<T>> columns;
+    protected final OutputStream out;
+
+    private ExportRowWriter(List<ExportColumn<T>> columns, OutputStream out) {
+        this.columns = columns;
+        this.out = out;
+    }
+
+    static <T> ExportRowWriter<T> of(ExportFormat format, List<ExportColumn<T>> columns, OutputStream out,
+            ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv<>(columns, out);
+            case NDJSON -> new Ndjson<>(columns, out, objectMapper);
+        };
+    }
+
+    abstract void header() throws IOException;
+
+    abstract void write(T row) throws IOException;
+
+    private static final class Csv<T> extends ExportRowWriter<T> {
+
+        private final StringBuilder line = new StringBuilder(256);
+
+        private Csv(List<ExportColumn<T>> columns, OutputStream out) {
+            super(columns, out);
+        }
+
+        @Override
+        void header() throws IOException {
+            line.setLength(0);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(columns.get(i).name());
+            }
+            flushLine();
+        }
+
+        @Override
+        void write(T row) throws IOException {
+            line.setLength(0);
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendValue(columns.get(i).value().apply(row));
+            }
+            flushLine();
+        }
+
+        private void flushLine() throws IOException {
+            line.append("\r\n");
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void appendValue(Object value) {
+            if (value == null) {
+                return;
+            }
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            // Texto livre começando com =, +, - ou @ vira fórmula ao abrir o arquivo numa planilha
+            if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                line.append(text);
+                return;
+            }
+            line.append('"').append(text.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private static final class Ndjson<T> extends ExportRowWriter<T> {
+
+        private final JsonGenerator generator;
+
+        private Ndjson(List<ExportColumn<T>> columns, OutputStream out, ObjectMapper objectMapper) throws IOException {
+            super(columns, out);
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // O separador padrão entre valores raiz é um espaço; aqui cada valor termina com a quebra de linha
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void header() {
+            // NDJSON não tem cabeçalho: cada linha traz os nomes dos campos
+        }
+
+        @Override
+        void write(T row) throws IOException {
+            generator.writeStartObject();
+            for (ExportColumn<T> column : columns) {
+                generator.writeFieldName(column.name());
+                generator.writeObject(column.value().apply(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            // O tamanho do buffer do bloco precisa refletir a linha recém-escrita
+            generator.flush();
+        }
+    }
+}
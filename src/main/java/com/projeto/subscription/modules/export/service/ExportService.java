@@ -0,0 +1,229 @@
+package com.projeto.subscription.modules.export.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.subscription.modules.billing.model.Subscription;
+import com.projeto.subscription.modules.billing.repository.SubscriptionRepository;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.plan.model.Plan;
+import com.projeto.subscription.modules.plan.repository.PlanRepository;
+import com.projeto.subscription.shared.exception.ResourceConflictException;
+import com.projeto.subscription.shared.exception.ResourceNotFoundException;
+import com.projeto.subscription.shared.exception.TooManyRequestsException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.ExportFormat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+// Exportação completa dos dados de um tenant em CSV ou NDJSON, com memória constante. As linhas vêm de um cursor só
+// de avanço (ver streamAfter nos repositórios) e são serializadas num buffer de até chunk-size bytes; cada entidade
+// é desanexada logo depois de escrita. Quando o buffer enche, ou a transação passa de transaction-budget, o cursor e
+// a transação são fechados e só então o bloco é enviado ao cliente. O bloco seguinte reabre o cursor numa transação
+// nova a partir do último id escrito, então um cliente lento atrasa a exportação mas nunca segura uma transação.
+//
+// Cada bloco é uma transação própria: a exportação não é um snapshot único, e linhas criadas durante ela podem ou não
+// aparecer, conforme o id.
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final UUID FIRST = new UUID(0L, 0L);
+
+    private final Map<String, ExportSource<?>> sources;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final Semaphore exportPermits;
+    private final int chunkBytes;
+    private final Duration transactionBudget;
+    private final Duration retryAfter;
+    private final MeterRegistry meterRegistry;
+
+    public ExportService(UserRepository userRepository, PlanRepository planRepository,
+            SubscriptionRepository subscriptionRepository, EntityManager entityManager, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${api.exports.chunk-size:1MB}") DataSize chunkSize,
+            @Value("${api.exports.transaction-budget:5s}") Duration transactionBudget,
+            @Value("${api.exports.max-concurrent:4}") int maxConcurrent,
+            @Value("${api.exports.retry-after:30s}") Duration retryAfter) {
+        this.sources = Stream.of(users(userRepository), plans(planRepository), subscriptions(subscriptionRepository))
+                .collect(Collectors.toUnmodifiableMap(ExportSource::name, Function.identity()));
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.exportPermits = new Semaphore(maxConcurrent);
+        this.chunkBytes = (int) chunkSize.toBytes();
+        this.transactionBudget = transactionBudget;
+        this.retryAfter = retryAfter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Valida o pedido e reserva uma vaga ainda na thread da requisição, para que os erros virem status HTTP. A vaga
+    // é devolvida ao fim de Export.writeTo ou por Export.close, que quem abriu deve chamar também quando o corpo não
+    // chega a ser escrito (timeout ou erro da resposta assíncrona, cliente que desconectou antes).
+    public Export open(String resource, ExportFormat format) {
+        ExportSource<?> source = sources.get(resource);
+        if (source == null) {
+            throw new ResourceNotFoundException("Recurso de exportação não encontrado: " + resource);
+        }
+        UUID tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new ResourceConflictException("A exportação precisa de um tenant no contexto (X-Tenant-ID)");
+        }
+        if (!exportPermits.tryAcquire()) {
+            throw new TooManyRequestsException("Exportações simultâneas demais, tente novamente mais tarde",
+                    retryAfter);
+        }
+        return new Export(source, format, tenantId);
+    }
+
+    public final class Export implements AutoCloseable {
+
+        private final ExportSource<?> source;
+        private final ExportFormat format;
+        private final UUID tenantId;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Export(ExportSource<?> source, ExportFormat format, UUID tenantId) {
+            this.source = source;
+            this.format = format;
+            this.tenantId = tenantId;
+        }
+
+        public String resource() {
+            return source.name();
+        }
+
+        public ExportFormat format() {
+            return format;
+        }
+
+        // Roda na thread da resposta assíncrona: o tenant de quem pediu é reaplicado aqui, e com ele o filtro e o shard
+        public long writeTo(OutputStream out) throws IOException {
+            try (TenantContext.Scope scope = TenantContext.open(tenantId)) {
+                return stream(source, format, out);
+            } finally {
+                close();
+            }
+        }
+
+        // Devolve a vaga; chamadas repetidas não fazem nada
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                exportPermits.release();
+            }
+        }
+    }
+
+    private <T> long stream(ExportSource<T> source, ExportFormat format, OutputStream out) throws IOException {
+        Counter rows = Counter.builder("exports.rows").tag("resource", source.name()).register(meterRegistry);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(chunkBytes + 8192);
+        ExportRowWriter<T> writer = ExportRowWriter.of(format, source.columns(), buffer, objectMapper);
+        writer.header();
+
+        long total = 0;
+        UUID after = FIRST;
+        while (true) {
+            UUID start = after;
+            Chunk chunk = transaction.execute(status -> readChunk(source, writer, buffer, start));
+            // Fora da transação: a escrita pode bloquear enquanto o cliente não consome
+            buffer.writeTo(out);
+            buffer.reset();
+            out.flush();
+
+            total += chunk.rows();
+            rows.increment(chunk.rows());
+            if (chunk.last()) {
+                log.info("Exportação de {} ({}) concluída: {} linhas", source.name(), format, total);
+                return total;
+            }
+            after = chunk.lastId();
+        }
+    }
+
+    private <T> Chunk readChunk(ExportSource<T> source, ExportRowWriter<T> writer, ByteArrayOutputStream buffer,
+            UUID after) {
+        long deadline = System.nanoTime() + transactionBudget.toNanos();
+        int count = 0;
+        UUID lastId = after;
+        try (Stream<T> rows = source.rows().apply(after)) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                writer.write(row);
+                lastId = source.id().apply(row);
+                count++;
+                entityManager.detach(row);
+                if (buffer.size() >= chunkBytes || System.nanoTime() - deadline >= 0) {
+                    return new Chunk(count, lastId, false);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Chunk(count, lastId, true);
+    }
+
+    private record Chunk(int rows, UUID lastId, boolean last) {
+    }
+
+    private static ExportSource<User> users(UserRepository repository) {
+        return new ExportSource<>("users", repository::streamAfter, User::getId, List.of(
+                new ExportColumn<>("id", User::getId),
+                new ExportColumn<>("name", User::getName),
+                new ExportColumn<>("email", User::getEmail),
+                new ExportColumn<>("role", User::getRole),
+                new ExportColumn<>("active", User::isActive)));
+    }
+
+    private static ExportSource<Plan> plans(PlanRepository repository) {
+        return new ExportSource<>("plans", repository::streamAfter, Plan::getId, List.of(
+                new ExportColumn<>("id", Plan::getId),
+                new ExportColumn<>("name", Plan::getName),
+                new ExportColumn<>("description", Plan::getDescription),
+                new ExportColumn<>("price", Plan::getPrice),
+                new ExportColumn<>("billing_cycle", Plan::getBillingCycle),
+                new ExportColumn<>("active", Plan::isActive)));
+    }
+
+    private static ExportSource<Subscription> subscriptions(SubscriptionRepository repository) {
+        return new ExportSource<>("subscriptions", repository::streamAfter, Subscription::getId, List.of(
+                new ExportColumn<>("id", Subscription::getId),
+                new ExportColumn<>("user_id", Subscription::getUserId),
+                new ExportColumn<>("plan_id", Subscription::getPlanId),
+                new ExportColumn<>("status", Subscription::getStatus),
+                new ExportColumn<>("start_date", Subscription::getStartDate),
+                new ExportColumn<>("end_date", Subscription::getEndDate),
+                new ExportColumn<>("next_billing_date", Subscription::getNextBillingDate),
+                new ExportColumn<>("price_snapshot", Subscription::getPriceSnapshot),
+                new ExportColumn<>("billing_cycle_snapshot", Subscription::getBillingCycleSnapshot),
+                new ExportColumn<>("quantity", Subscription::getQuantity),
+                new ExportColumn<>("external_id", Subscription::getExternalId)));
+    }
+}
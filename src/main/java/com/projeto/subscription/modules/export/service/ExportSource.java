@@ -0,0 +1,14 @@
+package com.projeto.subscription.modules.export.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Um recurso exportável: rows abre o cursor em ordem de id a partir do id informado (exclusivo)
+public record ExportSource<T>(
+        String name,
+        Function<UUID, Stream<T>> rows,
+        Function<T, UUID> id,
+        List<ExportColumn<T>> columns) {
+}
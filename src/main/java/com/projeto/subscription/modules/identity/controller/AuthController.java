@@ -1,12 +1,17 @@
 package com.projeto.subscription.modules.identity.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.projeto.subscription.modules.identity.dto.AuthRequestDTO;
 import com.projeto.subscription.modules.identity.dto.AuthResponseDTO;
+import com.projeto.subscription.modules.identity.dto.RefreshTokenRequestDTO;
 import com.projeto.subscription.modules.identity.service.AuthService;
 
 import jakarta.validation.Valid;
@@ -25,4 +30,17 @@ public class AuthController {
     public AuthResponseDTO login(@RequestBody @Valid AuthRequestDTO dto) {
         return authService.login(dto);
     }
+
+    @PostMapping("/refresh")
+    public AuthResponseDTO refresh(@RequestBody @Valid RefreshTokenRequestDTO dto) {
+        return authService.refresh(dto.refreshToken());
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestBody @Valid RefreshTokenRequestDTO dto,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null ? authorization.replace("Bearer ", "") : null;
+        authService.logout(dto.refreshToken(), accessToken);
+    }
 }
@@ -1,26 +1,38 @@
 package com.projeto.subscription.modules.identity.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.UUID;
 
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.projeto.subscription.modules.identity.dto.UserImportResultDTO;
 import com.projeto.subscription.modules.identity.dto.UserRequestDTO;
 import com.projeto.subscription.modules.identity.dto.UserResponseDTO;
+import com.projeto.subscription.modules.identity.service.UserImportService;
 import com.projeto.subscription.modules.identity.service.UserService;
+import com.projeto.subscription.shared.pagination.CursorPageDTO;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/users")
 public class UserController {
     private final UserService userService;
+    private final UserImportService userImportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService) {
         this.userService = userService;
+        this.userImportService = userImportService;
     }
 
     @PostMapping
@@ -28,8 +40,22 @@ public class UserController {
         return userService.create(user);
     }
 
+    // Corpo lido em streaming direto do request: array JSON ou NDJSON (um usuário por linha)
+    @PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserImportResultDTO importUsers(HttpServletRequest request) throws IOException {
+        return userImportService.importUsers(request.getInputStream());
+    }
+
+    @PatchMapping("/{id}/deactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserResponseDTO deactivate(@PathVariable UUID id) {
+        return userService.deactivate(id);
+    }
+
     @GetMapping
-    public List<UserResponseDTO> list() {
-        return userService.list();
+    public CursorPageDTO<UserResponseDTO> list(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return userService.list(cursor, size);
     }
 }
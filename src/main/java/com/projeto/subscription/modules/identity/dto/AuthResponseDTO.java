@@ -2,5 +2,6 @@ package com.projeto.subscription.modules.identity.dto;
 
 import com.projeto.subscription.shared.util.Enums.UserRole;
 
-public record AuthResponseDTO(String token, UserRole role) {
-}
\ No newline at end of file
+// expiresIn em segundos, referente ao token de acesso
+public record AuthResponseDTO(String token, String refreshToken, long expiresIn, UserRole role) {
+}
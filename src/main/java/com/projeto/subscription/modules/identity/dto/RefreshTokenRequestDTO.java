@@ -0,0 +1,6 @@
+package com.projeto.subscription.modules.identity.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDTO(@NotBlank String refreshToken) {
+}
@@ -0,0 +1,7 @@
+package com.projeto.subscription.modules.identity.dto;
+
+public record UserImportErrorDTO(
+        int row,
+        String email,
+        String message) {
+}
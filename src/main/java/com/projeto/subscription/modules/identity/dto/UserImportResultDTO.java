@@ -0,0 +1,11 @@
+package com.projeto.subscription.modules.identity.dto;
+
+import java.util.List;
+
+// errors traz no máximo api.users.import.max-reported-errors linhas; failed conta todas
+public record UserImportResultDTO(
+        int received,
+        int created,
+        int failed,
+        List<UserImportErrorDTO> errors) {
+}
@@ -2,6 +2,7 @@ package com.projeto.subscription.modules.identity.dto;
 
 import java.util.UUID;
 
+import com.projeto.subscription.modules.identity.model.User;
 import com.projeto.subscription.shared.util.Enums.UserRole;
 
 public record UserResponseDTO(
@@ -9,4 +10,8 @@ public record UserResponseDTO(
         String name,
         String email,
         UserRole role) {
-}
\ No newline at end of file
+
+    public static UserResponseDTO from(User user) {
+        return new UserResponseDTO(user.getId(), user.getName(), user.getEmail(), user.getRole());
+    }
+}
@@ -0,0 +1,15 @@
+package com.projeto.subscription.modules.identity.model;
+
+import java.util.UUID;
+
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+public record AuthenticatedUser(
+        UUID id,
+        UserRole role,
+        UUID tenantId) {
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getRole(), user.getTenantId());
+    }
+}
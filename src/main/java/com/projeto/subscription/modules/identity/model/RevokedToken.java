@@ -0,0 +1,39 @@
+package com.projeto.subscription.modules.identity.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.projeto.subscription.shared.util.Enums.RevocationKind;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Entrada da denylist: o id é o jti de um token de acesso ou o id de um usuário desativado
+@Entity
+@Table(name = "revoked_tokens", indexes = { @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at") })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.SMALLINT)
+    private RevocationKind kind;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -2,10 +2,14 @@ package com.projeto.subscription.modules.identity.model;
 
 import java.util.UUID;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import com.projeto.subscription.shared.util.BaseEntity;
 import com.projeto.subscription.shared.util.Enums.UserRole;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.NoArgsConstructor;
@@ -19,7 +23,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Column;
 
 @Entity
-@Table(name = "users", uniqueConstraints = { @UniqueConstraint(columnNames = { "tenant_id", "email" }) })
+@Table(name = "users", uniqueConstraints = { @UniqueConstraint(columnNames = { "tenant_id", "email" }) }, indexes = {
+        @Index(name = "idx_users_tenant_id_id", columnList = "tenant_id, id"),
+        @Index(name = "idx_users_email", columnList = "email") })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -41,5 +47,11 @@ public class User extends BaseEntity {
     private String password;
 
     @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     private UserRole role;
+
+    // Usuário desativado não faz login nem renova tokens; os tokens de acesso já emitidos entram na denylist
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean active = true;
 }
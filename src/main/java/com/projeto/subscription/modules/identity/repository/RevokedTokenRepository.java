@@ -0,0 +1,26 @@
+package com.projeto.subscription.modules.identity.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projeto.subscription.modules.identity.model.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    @Query("select r.id from RevokedToken r where r.expiresAt > :now")
+    List<UUID> findActiveIds(@Param("now") Instant now);
+
+    boolean existsByIdAndExpiresAtAfter(UUID id, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
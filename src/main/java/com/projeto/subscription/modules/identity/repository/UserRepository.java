@@ -1,14 +1,55 @@
 package com.projeto.subscription.modules.identity.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.projeto.subscription.modules.identity.dto.UserResponseDTO;
 import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.tenant.dto.TenantRowCount;
 
+import jakarta.persistence.QueryHint;
+
+// Consultas derivadas também rodam em transação, para que o tenantFilter seja ligado no início dela
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmail(String email);
 
+    Optional<User> findByTenantIdAndEmail(UUID tenantId, String email);
+
+    // Listagem projetada direto no DTO: só as colunas expostas (sem o hash da senha), sem entidade gerenciada
+    // no contexto de persistência e, portanto, sem dirty checking no flush
+    @Query("select new com.projeto.subscription.modules.identity.dto.UserResponseDTO(u.id, u.name, u.email, u.role) "
+            + "from User u order by u.id")
+    List<UserResponseDTO> findPage(Limit limit);
+
+    @Query("select new com.projeto.subscription.modules.identity.dto.UserResponseDTO(u.id, u.name, u.email, u.role) "
+            + "from User u where u.id > :after order by u.id")
+    List<UserResponseDTO> findPageAfter(@Param("after") UUID after, Limit limit);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Exportação: cursor só de avanço a partir de after (keyset), lido em blocos de fetchSize linhas. Entidades
+    // somente leitura, sem snapshot para dirty checking; quem consome deve fechar o Stream e desanexar cada linha.
+    @QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true") })
+    @Query("select u from User u where u.id > :after order by u.id")
+    Stream<User> streamAfter(@Param("after") UUID after);
+
+    // Sem tenant no contexto: contagem de todos os tenants do shard
+    @Query("select new com.projeto.subscription.modules.tenant.dto.TenantRowCount(u.tenantId, count(u)) "
+            + "from User u where u.tenantId is not null group by u.tenantId")
+    List<TenantRowCount> countByTenant();
+
 }
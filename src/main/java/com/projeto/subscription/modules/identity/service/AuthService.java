@@ -1,34 +1,103 @@
 package com.projeto.subscription.modules.identity.service;
 
+import java.util.UUID;
+
 import com.projeto.subscription.modules.identity.dto.AuthRequestDTO;
 import com.projeto.subscription.modules.identity.dto.AuthResponseDTO;
+import com.projeto.subscription.modules.identity.model.User;
 import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.tenant.service.TenantRegistry;
 import com.projeto.subscription.shared.config.TokenService;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.projeto.subscription.shared.exception.AuthenticationFailedException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+import io.jsonwebtoken.Claims;
+
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthService {
 
+    private static final String INVALID_CREDENTIALS = "Usuário ou senha inválidos";
+    private static final String INACTIVE_USER = "Usuário inativo";
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginAttemptThrottle loginAttemptThrottle;
     private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final TenantRegistry tenantRegistry;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, TokenService tokenService) {
+    public AuthService(UserRepository userRepository, PasswordVerifier passwordVerifier,
+            LoginAttemptThrottle loginAttemptThrottle, TokenService tokenService,
+            RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService,
+            TenantRegistry tenantRegistry) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordVerifier = passwordVerifier;
+        this.loginAttemptThrottle = loginAttemptThrottle;
         this.tokenService = tokenService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.tenantRegistry = tenantRegistry;
     }
 
     public AuthResponseDTO login(AuthRequestDTO dto) {
-        var user = userRepository.findByEmail(dto.email())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        var user = userRepository.findByEmail(dto.email()).orElse(null);
+
+        // A cota de falhas é da conta encontrada: sem X-Tenant-ID a busca não é filtrada e acha o mesmo usuário, então
+        // a chave vem do tenant dele, não do contexto, e alternar o header não dá uma segunda cota
+        UUID tenantId = user != null ? user.getTenantId() : TenantContext.getCurrentTenant();
+        loginAttemptThrottle.checkAllowed(tenantId, dto.email());
 
-        if (!passwordEncoder.matches(dto.password(), user.getPassword())) {
-            throw new RuntimeException("Senha inválida");
+        if (user == null) {
+            passwordVerifier.simulateMismatch();
+            loginAttemptThrottle.recordFailure(tenantId, dto.email());
+            throw new AuthenticationFailedException(INVALID_CREDENTIALS);
         }
 
+        if (!passwordVerifier.matches(dto.password(), user.getPassword())) {
+            loginAttemptThrottle.recordFailure(tenantId, dto.email());
+            throw new AuthenticationFailedException(INVALID_CREDENTIALS);
+        }
+
+        loginAttemptThrottle.reset(tenantId, dto.email());
+        if (!user.isActive()) {
+            throw new AuthenticationFailedException(INACTIVE_USER);
+        }
+        return issueTokens(user, refreshTokenService.issue(user));
+    }
+
+    // Renovação sem BCrypt: só o hash SHA-256 do refresh token e uma busca por chave primária
+    @Transactional(noRollbackFor = AuthenticationFailedException.class)
+    public AuthResponseDTO refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+
+        User user = userRepository.findById(rotation.userId())
+                .filter(User::isActive)
+                .orElseThrow(() -> new AuthenticationFailedException(INACTIVE_USER));
+        if (user.getTenantId() != null && !tenantRegistry.isActive(user.getTenantId())) {
+            throw new AuthenticationFailedException("Tenant inativo");
+        }
+
+        return issueTokens(user, rotation.refreshToken());
+    }
+
+    // O token de acesso é opcional: com ele, também deixa de valer imediatamente em vez de esperar expirar
+    @Transactional
+    public void logout(String refreshToken, String accessToken) {
+        refreshTokenService.revoke(refreshToken);
+
+        Claims claims = tokenService.getClaims(accessToken);
+        if (claims != null && claims.getId() != null) {
+            tokenRevocationService.revokeAccessToken(UUID.fromString(claims.getId()),
+                    claims.getExpiration().toInstant());
+        }
+    }
+
+    private AuthResponseDTO issueTokens(User user, String refreshToken) {
         String token = tokenService.generateToken(user);
-        return new AuthResponseDTO(token, user.getRole());
+        return new AuthResponseDTO(token, refreshToken, tokenService.getAccessTokenTtl().toSeconds(), user.getRole());
     }
-}
\ No newline at end of file
+}
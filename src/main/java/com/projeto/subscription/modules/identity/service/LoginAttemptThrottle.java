@@ -0,0 +1,61 @@
+package com.projeto.subscription.modules.identity.service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.subscription.shared.exception.TooManyRequestsException;
+
+// Contador em memória de falhas de login por (tenant da conta, e-mail), em janela fixa a partir da primeira falha
+@Component
+public class LoginAttemptThrottle {
+
+    private final int maxFailures;
+    private final Duration window;
+    private final Cache<Key, AtomicInteger> failures;
+
+    public LoginAttemptThrottle(@Value("${api.security.login.max-failures:5}") int maxFailures,
+            @Value("${api.security.login.failure-window:15m}") Duration window,
+            @Value("${api.security.login.max-tracked:100000}") long maxTracked) {
+        this.maxFailures = maxFailures;
+        this.window = window;
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void checkAllowed(UUID tenantId, String email) {
+        Key key = Key.of(tenantId, email);
+        AtomicInteger count = failures.getIfPresent(key);
+        if (count == null || count.get() < maxFailures) {
+            return;
+        }
+
+        Duration age = failures.policy().expireAfterWrite()
+                .flatMap(policy -> policy.ageOf(key))
+                .orElse(Duration.ZERO);
+        throw new TooManyRequestsException("Muitas tentativas de login inválidas", window.minus(age));
+    }
+
+    public void recordFailure(UUID tenantId, String email) {
+        failures.get(Key.of(tenantId, email), key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void reset(UUID tenantId, String email) {
+        failures.invalidate(Key.of(tenantId, email));
+    }
+
+    private record Key(UUID tenantId, String email) {
+
+        static Key of(UUID tenantId, String email) {
+            return new Key(tenantId, email.toLowerCase(Locale.ROOT));
+        }
+    }
+}
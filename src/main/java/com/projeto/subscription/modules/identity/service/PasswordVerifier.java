@@ -0,0 +1,109 @@
+package com.projeto.subscription.modules.identity.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.projeto.subscription.shared.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+// Executa o BCrypt do login em um pool dedicado e limitado, para que uma rajada de logins não ocupe todos os núcleos
+@Component
+public class PasswordVerifier {
+
+    private static final String SATURATED_MESSAGE = "Muitas tentativas de login simultâneas, tente novamente em instantes";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+
+    // Média móvel (EWMA) da duração de um matches(), usada para responder e-mails inexistentes no mesmo tempo
+    private final AtomicLong averageMatchNanos = new AtomicLong();
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${api.security.login.threads:0}") int threads,
+            @Value("${api.security.login.queue-capacity:64}") int queueCapacity,
+            @Value("${api.security.login.retry-after:1s}") Duration retryAfter) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfter = retryAfter;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "loginHashing");
+        calibrate();
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException(SATURATED_MESSAGE, retryAfter);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Login interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao verificar senha", e.getCause());
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    // Para e-mails inexistentes: não gasta CPU com BCrypt, mas espera o tempo médio de uma verificação real
+    public void simulateMismatch() {
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new TooManyRequestsException(SATURATED_MESSAGE, retryAfter);
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(averageMatchNanos.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void calibrate() {
+        String hash = passwordEncoder.encode("calibration");
+        long start = System.nanoTime();
+        passwordEncoder.matches("calibration-mismatch", hash);
+        averageMatchNanos.set(System.nanoTime() - start);
+    }
+
+    private void record(long elapsedNanos) {
+        averageMatchNanos.updateAndGet(average -> average + (elapsedNanos - average) / 8);
+    }
+}
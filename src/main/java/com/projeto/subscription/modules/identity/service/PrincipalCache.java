@@ -0,0 +1,60 @@
+package com.projeto.subscription.modules.identity.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.subscription.modules.identity.model.AuthenticatedUser;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.shared.util.TransactionHooks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Key, AuthenticatedUser> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${api.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${api.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principalCache");
+    }
+
+    // Usuários inexistentes ou inativos não são cacheados: o loader retorna null e a próxima requisição consulta o banco
+    // de novo
+    public Optional<AuthenticatedUser> resolve(UUID tenantId, String email) {
+        return Optional.ofNullable(cache.get(new Key(tenantId, email), key -> userRepository
+                .findByTenantIdAndEmail(key.tenantId(), key.email())
+                .filter(User::isActive)
+                .map(AuthenticatedUser::from)
+                .orElse(null)));
+    }
+
+    public void evict(UUID tenantId, String email) {
+        cache.invalidate(new Key(tenantId, email));
+    }
+
+    public void evictAfterCommit(UUID tenantId, String email) {
+        TransactionHooks.afterCommit(() -> evict(tenantId, email));
+    }
+
+    private record Key(UUID tenantId, String email) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.projeto.subscription.modules.identity.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projeto.subscription.modules.identity.model.RefreshToken;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.RefreshTokenRepository;
+import com.projeto.subscription.shared.exception.AuthenticationFailedException;
+import com.projeto.subscription.shared.sharding.ShardOperations;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Refresh tokens opacos (256 bits aleatórios). O banco guarda só o SHA-256: um vazamento da tabela não permite
+// renovar sessões. Como o token é aleatório, SHA-256 basta; BCrypt aqui só recriaria o custo do login.
+// O token fica no shard do tenant: com sharding, /auth/refresh e /auth/logout precisam do mesmo X-Tenant-ID do login.
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final String INVALID_REFRESH_TOKEN = "Refresh token inválido ou expirado";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ShardOperations shardOperations;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, ShardOperations shardOperations,
+            @Value("${api.security.refresh-token.ttl:14d}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.shardOperations = shardOperations;
+        this.ttl = ttl;
+    }
+
+    @Transactional
+    public String issue(User user) {
+        return issue(user.getTenantId(), user.getId(), UUID.randomUUID());
+    }
+
+    // Revoga o token apresentado e emite o próximo da mesma família. Reuso de um token já rotacionado revoga a família.
+    @Transactional(noRollbackFor = AuthenticationFailedException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new AuthenticationFailedException(INVALID_REFRESH_TOKEN));
+
+        if (current.isRevoked() || refreshTokenRepository.revokeIfActive(current.getId()) == 0) {
+            log.warn("Reuso de refresh token detectado, revogando a família {}", current.getFamilyId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new AuthenticationFailedException(INVALID_REFRESH_TOKEN);
+        }
+        if (current.getExpiresAt().isBefore(Instant.now())) {
+            throw new AuthenticationFailedException(INVALID_REFRESH_TOKEN);
+        }
+
+        String next = issue(current.getTenantId(), current.getUserId(), current.getFamilyId());
+        return new Rotation(current.getUserId(), next);
+    }
+
+    // Logout: encerra a sessão inteira, não só o último token da cadeia
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeAllOfUser(UUID userId) {
+        refreshTokenRepository.revokeAllOfUser(userId);
+    }
+
+    @Scheduled(cron = "${api.security.refresh-token.purge-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        AtomicInteger purged = new AtomicInteger();
+        shardOperations.forEachShard(() -> purged.addAndGet(refreshTokenRepository.deleteExpired(now)));
+        if (purged.get() > 0) {
+            log.info("{} refresh tokens expirados removidos", purged.get());
+        }
+    }
+
+    private String issue(UUID tenantId, UUID userId, UUID familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tenantId(tenantId)
+                .userId(userId)
+                .familyId(familyId)
+                .tokenHash(hash(rawToken))
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Rotation(UUID userId, String refreshToken) {
+    }
+}
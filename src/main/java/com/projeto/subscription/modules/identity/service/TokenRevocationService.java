@@ -0,0 +1,126 @@
+package com.projeto.subscription.modules.identity.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.subscription.modules.identity.model.RevokedToken;
+import com.projeto.subscription.modules.identity.repository.RevokedTokenRepository;
+import com.projeto.subscription.shared.sharding.ShardOperations;
+import com.projeto.subscription.shared.util.Enums.RevocationKind;
+import com.projeto.subscription.shared.util.TransactionHooks;
+import com.projeto.subscription.shared.util.UuidBloomFilter;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+// Checagem de revogação sem consulta ao banco por requisição: a denylist persistida (revoked_tokens) é espelhada
+// num bloom filter em memória. Um "não" do filtro libera a requisição direto; só os raros "talvez" são confirmados no
+// banco. Revogações locais entram no filtro logo após o commit; as de outras instâncias, no próximo refresh.
+// Com sharding a denylist fica espalhada pelos shards (cada revogação vai para o shard do tenant da requisição), então
+// a carga e as confirmações consultam todos eles.
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ShardOperations shardOperations;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final Duration refreshInterval;
+    private final Cache<UUID, Boolean> confirmed;
+
+    private volatile UuidBloomFilter filter;
+    // Revogações feitas por esta instância desde a última carga: são reaplicadas no filtro novo, para que uma
+    // revogação concorrente com o refresh não se perca na troca
+    private final Map<UUID, Instant> recentLocal = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, ShardOperations shardOperations,
+            @Value("${api.security.revocation.expected-entries:100000}") long expectedEntries,
+            @Value("${api.security.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${api.security.revocation.refresh-interval:30s}") Duration refreshInterval) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.shardOperations = shardOperations;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshInterval = refreshInterval;
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(refreshInterval)
+                .build();
+        this.filter = new UuidBloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    // jti pode ser null (token sem id); userId é sempre o do principal já resolvido
+    public boolean isRevoked(UUID jti, UUID userId) {
+        UuidBloomFilter current = filter;
+        return (jti != null && current.mightContain(jti) && confirm(jti))
+                || (userId != null && current.mightContain(userId) && confirm(userId));
+    }
+
+    @Transactional
+    public void revokeAccessToken(UUID jti, Instant expiresAt) {
+        revoke(jti, RevocationKind.ACCESS_TOKEN, expiresAt);
+    }
+
+    // Os tokens de acesso do usuário expiram em no máximo accessTokenTtl; depois disso a entrada pode sair
+    @Transactional
+    public void revokeUser(UUID userId, Duration accessTokenTtl) {
+        revoke(userId, RevocationKind.USER, Instant.now().plus(accessTokenTtl));
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${api.security.revocation.refresh-interval:30s}",
+            initialDelayString = "${api.security.revocation.refresh-interval:30s}")
+    public void refresh() {
+        Instant loadedAt = Instant.now();
+        List<UUID> ids = shardOperations.fanOut(() -> revokedTokenRepository.findActiveIds(loadedAt));
+
+        UuidBloomFilter next = new UuidBloomFilter(Math.max(expectedEntries, ids.size() * 2L), falsePositiveRate);
+        ids.forEach(next::put);
+        filter = next;
+
+        // O que foi revogado localmente antes de refreshInterval atrás já estava commitado quando a carga rodou
+        Instant cutoff = loadedAt.minus(refreshInterval);
+        recentLocal.entrySet().removeIf(entry -> entry.getValue().isBefore(cutoff));
+        recentLocal.keySet().forEach(next::put);
+    }
+
+    @Scheduled(cron = "${api.security.revocation.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        AtomicInteger purged = new AtomicInteger();
+        shardOperations.forEachShard(() -> purged.addAndGet(revokedTokenRepository.deleteExpired(now)));
+        if (purged.get() > 0) {
+            log.info("{} entradas expiradas removidas da denylist de tokens", purged.get());
+        }
+    }
+
+    private void revoke(UUID id, RevocationKind kind, Instant expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(id, kind, expiresAt));
+        TransactionHooks.afterCommit(() -> {
+            recentLocal.put(id, Instant.now());
+            filter.put(id);
+            confirmed.invalidate(id);
+        });
+    }
+
+    private boolean confirm(UUID id) {
+        return confirmed.get(id, key -> {
+            Instant now = Instant.now();
+            return shardOperations.fanOut(() -> List.of(revokedTokenRepository.existsByIdAndExpiresAtAfter(key, now)))
+                    .contains(Boolean.TRUE);
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.projeto.subscription.modules.identity.service;
+
+// Tipos de evento do agregado usuário publicados no outbox; o payload é o UserResponseDTO
+public final class UserEvents {
+
+    public static final String AGGREGATE = "user";
+    public static final String CREATED = "user.created";
+    public static final String DEACTIVATED = "user.deactivated";
+
+    private UserEvents() {
+    }
+}
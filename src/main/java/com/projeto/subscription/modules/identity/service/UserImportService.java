@@ -0,0 +1,284 @@
+package com.projeto.subscription.modules.identity.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.projeto.subscription.modules.identity.dto.UserImportErrorDTO;
+import com.projeto.subscription.modules.identity.dto.UserImportResultDTO;
+import com.projeto.subscription.modules.identity.dto.UserRequestDTO;
+import com.projeto.subscription.modules.identity.dto.UserResponseDTO;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.search.service.SearchService;
+import com.projeto.subscription.shared.exception.TooManyRequestsException;
+import com.projeto.subscription.shared.outbox.OutboxPublisher;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Importação em massa de usuários. O corpo (array JSON ou NDJSON) é lido em streaming e processado em lotes:
+// e-mails já cadastrados são descartados antes do BCrypt, os hashes são gerados em paralelo num pool limitado e
+// cada lote é inserido numa transação própria com batch JDBC. Erros de uma linha não interrompem a importação.
+@Service
+public class UserImportService {
+
+    private static final String DUPLICATE_MESSAGE = "E-mail já cadastrado";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final OutboxPublisher outboxPublisher;
+    private final SearchService searchService;
+    private final Validator validator;
+    private final ObjectReader reader;
+    private final TransactionTemplate transaction;
+    private final ThreadPoolExecutor hashing;
+    private final Semaphore importPermits;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final Duration retryAfter;
+
+    public UserImportService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            PrincipalCache principalCache, OutboxPublisher outboxPublisher, SearchService searchService,
+            Validator validator, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${api.users.import.chunk-size:500}") int chunkSize,
+            @Value("${api.users.import.hash-threads:0}") int hashThreads,
+            @Value("${api.users.import.max-concurrent:2}") int maxConcurrent,
+            @Value("${api.users.import.max-reported-errors:1000}") int maxReportedErrors,
+            @Value("${api.users.import.retry-after:30s}") Duration retryAfter) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.outboxPublisher = outboxPublisher;
+        this.searchService = searchService;
+        this.validator = validator;
+        this.reader = objectMapper.readerFor(UserRequestDTO.class);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.importPermits = new Semaphore(maxConcurrent);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.retryAfter = retryAfter;
+
+        // Fila do tamanho de um lote; se encher, a própria thread da requisição gera o hash (CallerRuns)
+        int poolSize = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashing = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(chunkSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        ExecutorServiceMetrics.monitor(meterRegistry, hashing, "userImportHashing");
+    }
+
+    public UserImportResultDTO importUsers(InputStream body) throws IOException {
+        if (!importPermits.tryAcquire()) {
+            throw new TooManyRequestsException("Importações simultâneas demais, tente novamente mais tarde", retryAfter);
+        }
+        try {
+            return read(body, TenantContext.getCurrentTenant());
+        } finally {
+            importPermits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashing.shutdownNow();
+    }
+
+    private UserImportResultDTO read(InputStream body, UUID tenantId) throws IOException {
+        Progress progress = new Progress();
+        Set<String> seenEmails = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        int rowNumber = 0;
+
+        try (MappingIterator<UserRequestDTO> rows = reader.readValues(body)) {
+            while (true) {
+                UserRequestDTO dto;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    rowNumber++;
+                    dto = rows.nextValue();
+                } catch (JsonParseException e) {
+                    // JSON sintaticamente inválido: não há como achar o início da próxima linha com segurança
+                    progress.fail(rowNumber, null, "JSON malformado, importação interrompida: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonProcessingException e) {
+                    progress.fail(rowNumber, null, "Linha inválida: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                String violations = validate(dto);
+                if (violations != null) {
+                    progress.fail(rowNumber, dto.email(), violations);
+                } else if (!seenEmails.add(dto.email())) {
+                    progress.fail(rowNumber, dto.email(), "E-mail repetido no lote");
+                } else {
+                    chunk.add(new Row(rowNumber, dto));
+                    if (chunk.size() == chunkSize) {
+                        flush(chunk, tenantId, progress);
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            flush(chunk, tenantId, progress);
+        }
+        return progress.result(rowNumber);
+    }
+
+    private String validate(UserRequestDTO dto) {
+        Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void flush(List<Row> chunk, UUID tenantId, Progress progress) {
+        Set<String> existing = new HashSet<>(transaction.execute(status -> userRepository
+                .findExistingEmails(chunk.stream().map(row -> row.dto().email()).toList())));
+
+        List<Row> pending = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (existing.contains(row.dto().email())) {
+                progress.fail(row.number(), row.dto().email(), DUPLICATE_MESSAGE);
+            } else {
+                pending.add(row);
+            }
+        }
+
+        List<HashedRow> hashed = hash(pending, progress);
+        if (hashed.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(hashed, tenantId);
+            progress.created += hashed.size();
+        } catch (DataIntegrityViolationException e) {
+            // Outro cadastro concorrente ganhou a corrida em alguma linha: refaz o lote linha a linha
+            for (HashedRow row : hashed) {
+                try {
+                    insert(List.of(row), tenantId);
+                    progress.created++;
+                } catch (DataIntegrityViolationException rowFailure) {
+                    progress.fail(row.number(), row.dto().email(), DUPLICATE_MESSAGE);
+                }
+            }
+        }
+    }
+
+    private List<HashedRow> hash(List<Row> rows, Progress progress) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            hashes.add(hashing.submit(() -> passwordEncoder.encode(row.dto().password())));
+        }
+
+        List<HashedRow> hashed = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            try {
+                hashed.add(new HashedRow(row.number(), row.dto(), hashes.get(i).get()));
+            } catch (InterruptedException e) {
+                hashes.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Importação interrompida", e);
+            } catch (ExecutionException e) {
+                progress.fail(row.number(), row.dto().email(), "Falha ao gerar o hash da senha");
+            }
+        }
+        return hashed;
+    }
+
+    // Entidades novas a cada tentativa: depois de um rollback os ids já gerados fariam o save() virar merge
+    private void insert(List<HashedRow> rows, UUID tenantId) {
+        transaction.executeWithoutResult(status -> {
+            List<User> users = rows.stream()
+                    .map(row -> {
+                        User user = User.builder()
+                                .name(row.dto().name())
+                                .email(row.dto().email())
+                                .password(row.passwordHash())
+                                .role(row.dto().role())
+                                .build();
+                        user.setTenantId(tenantId);
+                        return user;
+                    })
+                    .toList();
+
+            users.forEach(user -> principalCache.evictAfterCommit(tenantId, user.getEmail()));
+            userRepository.saveAll(users);
+            searchService.usersSavedAfterCommit(tenantId, users);
+            users.forEach(user -> outboxPublisher.publish(tenantId, UserEvents.AGGREGATE, user.getId(),
+                    UserEvents.CREATED, UserResponseDTO.from(user)));
+            userRepository.flush();
+        });
+    }
+
+    private record Row(int number, UserRequestDTO dto) {
+    }
+
+    private record HashedRow(int number, UserRequestDTO dto, String passwordHash) {
+    }
+
+    private final class Progress {
+
+        private int created;
+        private int failed;
+        private final List<UserImportErrorDTO> errors = new ArrayList<>();
+
+        private void fail(int row, String email, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new UserImportErrorDTO(row, email, message));
+            }
+        }
+
+        private UserImportResultDTO result(int received) {
+            return new UserImportResultDTO(received, created, failed, errors);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.projeto.subscription.modules.identity.service;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -10,6 +12,12 @@ import com.projeto.subscription.modules.identity.dto.UserRequestDTO;
 import com.projeto.subscription.modules.identity.dto.UserResponseDTO;
 import com.projeto.subscription.modules.identity.model.User;
 import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.search.service.SearchService;
+import com.projeto.subscription.shared.config.TokenService;
+import com.projeto.subscription.shared.exception.ResourceNotFoundException;
+import com.projeto.subscription.shared.outbox.OutboxPublisher;
+import com.projeto.subscription.shared.pagination.CursorPageDTO;
+import com.projeto.subscription.shared.pagination.KeysetPagination;
 import com.projeto.subscription.shared.tenant_context.TenantContext;
 
 @Service
@@ -17,10 +25,27 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final KeysetPagination pagination;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final TokenService tokenService;
+    private final OutboxPublisher outboxPublisher;
+    private final SearchService searchService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, PrincipalCache principalCache,
+            KeysetPagination pagination, RefreshTokenService refreshTokenService,
+            TokenRevocationService tokenRevocationService, TokenService tokenService, OutboxPublisher outboxPublisher,
+            SearchService searchService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.pagination = pagination;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.tokenService = tokenService;
+        this.outboxPublisher = outboxPublisher;
+        this.searchService = searchService;
     }
 
     @Transactional
@@ -36,24 +61,45 @@ public class UserService {
         user.setTenantId(TenantContext.getCurrentTenant());
 
         User savedUser = userRepository.save(user);
+        principalCache.evictAfterCommit(savedUser.getTenantId(), savedUser.getEmail());
+        searchService.userSavedAfterCommit(savedUser);
 
-        return new UserResponseDTO(
-                savedUser.getId(),
-                savedUser.getName(),
-                savedUser.getEmail(),
-                savedUser.getRole());
+        UserResponseDTO response = UserResponseDTO.from(savedUser);
+        outboxPublisher.publish(savedUser.getTenantId(), UserEvents.AGGREGATE, savedUser.getId(), UserEvents.CREATED,
+                response);
+        return response;
+    }
+
+    // Derruba as sessões do usuário: refresh tokens revogados e tokens de acesso já emitidos na denylist
+    @Transactional
+    public UserResponseDTO deactivate(UUID id) {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        User user = userRepository.findById(id)
+                .filter(found -> tenantId == null || tenantId.equals(found.getTenantId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+
+        user.setActive(false);
+        refreshTokenService.revokeAllOfUser(user.getId());
+        tokenRevocationService.revokeUser(user.getId(), tokenService.getAccessTokenTtl());
+        principalCache.evictAfterCommit(user.getTenantId(), user.getEmail());
+        searchService.userSavedAfterCommit(user);
+
+        UserResponseDTO response = UserResponseDTO.from(user);
+        outboxPublisher.publish(user.getTenantId(), UserEvents.AGGREGATE, user.getId(), UserEvents.DEACTIVATED,
+                response);
+        return response;
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponseDTO> list() {
-        return userRepository.findAll()
-                .stream()
-                .map(user -> new UserResponseDTO(
-                        user.getId(),
-                        user.getName(),
-                        user.getEmail(),
-                        user.getRole()))
-                .toList();
+    public CursorPageDTO<UserResponseDTO> list(String cursor, Integer size) {
+        int pageSize = pagination.resolveSize(size);
+        UUID after = pagination.decode(cursor);
+
+        List<UserResponseDTO> users = after == null
+                ? userRepository.findPage(pagination.fetchLimit(pageSize))
+                : userRepository.findPageAfter(after, pagination.fetchLimit(pageSize));
+
+        return pagination.page(users, pageSize, UserResponseDTO::id, Function.identity());
     }
 
 }
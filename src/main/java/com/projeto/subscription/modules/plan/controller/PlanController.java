@@ -1,14 +1,18 @@
 package com.projeto.subscription.modules.plan.controller;
 
-import java.util.List;
-
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.projeto.subscription.modules.plan.dto.PlanCatalogPage;
 import com.projeto.subscription.modules.plan.dto.PlanRequestDTO;
 import com.projeto.subscription.modules.plan.dto.PlanResponseDTO;
 import com.projeto.subscription.modules.plan.service.PlanService;
@@ -30,9 +34,21 @@ public class PlanController {
         return planService.create(plan);
     }
 
+    // Resposta em bytes pré-serializados; com If-None-Match igual ao ETag atual responde 304 sem corpo
     @GetMapping
-    public List<PlanResponseDTO> list() {
-        return planService.list();
+    public ResponseEntity<byte[]> list(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size, WebRequest request) {
+        PlanCatalogPage page = planService.catalogPage(cursor, size);
+
+        if (request.checkNotModified(page.etag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(page.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(page.body());
     }
 
 }
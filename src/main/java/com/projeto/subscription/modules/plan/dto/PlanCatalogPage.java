@@ -0,0 +1,7 @@
+package com.projeto.subscription.modules.plan.dto;
+
+// Página do catálogo já serializada em JSON, com o ETag da versão do catálogo do tenant (ou dos bytes, sem tenant)
+public record PlanCatalogPage(
+        byte[] body,
+        String etag) {
+}
@@ -3,6 +3,7 @@ package com.projeto.subscription.modules.plan.dto;
 import java.math.BigDecimal;
 import java.util.UUID;
 
+import com.projeto.subscription.modules.plan.model.Plan;
 import com.projeto.subscription.shared.util.Enums.BillingCycle;
 
 public record PlanResponseDTO(
@@ -11,4 +12,9 @@ public record PlanResponseDTO(
         String description,
         BigDecimal price,
         BillingCycle billingCycle) {
+
+    public static PlanResponseDTO from(Plan plan) {
+        return new PlanResponseDTO(plan.getId(), plan.getName(), plan.getDescription(), plan.getPrice(),
+                plan.getBillingCycle());
+    }
 }
@@ -3,6 +3,9 @@ package com.projeto.subscription.modules.plan.model;
 import java.math.BigDecimal;
 import java.util.UUID;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import com.projeto.subscription.shared.util.BaseEntity;
 import com.projeto.subscription.shared.util.Enums.BillingCycle;
 
@@ -11,6 +14,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,7 +23,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "plans")
+@Table(name = "plans", indexes = { @Index(name = "idx_plans_tenant_id_id", columnList = "tenant_id, id") })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -44,5 +48,6 @@ public class Plan extends BaseEntity {
     private boolean active;
 
     @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     private BillingCycle billingCycle;
 }
@@ -0,0 +1,35 @@
+package com.projeto.subscription.modules.plan.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Versões de plan_catalog_versions em JDBC: a leitura de um acerto de cache não passa pelo JPA, e o incremento não
+// dispara o flush do Hibernate no meio da transação de quem altera os planos.
+@Repository
+public class PlanCatalogVersionRepository {
+
+    private static final String BUMP = "MERGE INTO plan_catalog_versions v "
+            + "USING (VALUES (CAST(? AS UUID))) AS d (tenant_id) ON v.tenant_id = d.tenant_id "
+            + "WHEN MATCHED THEN UPDATE SET version = v.version + 1 "
+            + "WHEN NOT MATCHED THEN INSERT (tenant_id, version) VALUES (d.tenant_id, 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlanCatalogVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long current(UUID tenantId) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM plan_catalog_versions WHERE tenant_id = ?", Long.class, tenantId);
+        return versions.isEmpty() ? 0L : versions.getFirst();
+    }
+
+    // Vale a partir do commit da transação de quem chama, junto com a alteração dos planos
+    public void bump(UUID tenantId) {
+        jdbcTemplate.update(BUMP, tenantId);
+    }
+}
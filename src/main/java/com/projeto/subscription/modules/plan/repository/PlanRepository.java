@@ -1,11 +1,42 @@
 package com.projeto.subscription.modules.plan.repository;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.projeto.subscription.modules.plan.dto.PlanResponseDTO;
 import com.projeto.subscription.modules.plan.model.Plan;
+import com.projeto.subscription.modules.tenant.dto.TenantRowCount;
 
+import jakarta.persistence.QueryHint;
+
+@Transactional(readOnly = true)
 public interface PlanRepository extends JpaRepository<Plan, UUID> {
 
+    @Query("select new com.projeto.subscription.modules.plan.dto.PlanResponseDTO("
+            + "p.id, p.name, p.description, p.price, p.billingCycle) from Plan p order by p.id")
+    List<PlanResponseDTO> findPage(Limit limit);
+
+    @Query("select new com.projeto.subscription.modules.plan.dto.PlanResponseDTO("
+            + "p.id, p.name, p.description, p.price, p.billingCycle) from Plan p where p.id > :after order by p.id")
+    List<PlanResponseDTO> findPageAfter(@Param("after") UUID after, Limit limit);
+
+    // Cursor da exportação, como em UserRepository.streamAfter
+    @QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true") })
+    @Query("select p from Plan p where p.id > :after order by p.id")
+    Stream<Plan> streamAfter(@Param("after") UUID after);
+
+    // Sem tenant no contexto: contagem de todos os tenants do shard
+    @Query("select new com.projeto.subscription.modules.tenant.dto.TenantRowCount(p.tenantId, count(p)) "
+            + "from Plan p where p.tenantId is not null group by p.tenantId")
+    List<TenantRowCount> countByTenant();
+
 }
@@ -0,0 +1,11 @@
+package com.projeto.subscription.modules.plan.service;
+
+// Tipos de evento do agregado plano publicados no outbox; o payload é o PlanResponseDTO
+public final class PlanEvents {
+
+    public static final String AGGREGATE = "plan";
+    public static final String CREATED = "plan.created";
+
+    private PlanEvents() {
+    }
+}
@@ -1,23 +1,75 @@
 package com.projeto.subscription.modules.plan.service;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.subscription.modules.plan.dto.PlanCatalogPage;
 import com.projeto.subscription.modules.plan.dto.PlanRequestDTO;
 import com.projeto.subscription.modules.plan.dto.PlanResponseDTO;
 import com.projeto.subscription.modules.plan.model.Plan;
+import com.projeto.subscription.modules.plan.repository.PlanCatalogVersionRepository;
 import com.projeto.subscription.modules.plan.repository.PlanRepository;
+import com.projeto.subscription.modules.search.service.SearchService;
+import com.projeto.subscription.shared.outbox.OutboxPublisher;
+import com.projeto.subscription.shared.pagination.CursorPageDTO;
+import com.projeto.subscription.shared.pagination.KeysetPagination;
 import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.TransactionHooks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Service
 public class PlanService {
 
     private final PlanRepository planRepository;
+    private final KeysetPagination pagination;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final OutboxPublisher outboxPublisher;
+    private final SearchService searchService;
+    private final PlanCatalogVersionRepository catalogVersions;
+
+    // Páginas do catálogo por tenant, já serializadas, em cada instância. A chave leva a versão do catálogo do
+    // tenant, que fica no banco e é incrementada na transação que cria o plano: o commit invalida o cache de todas
+    // as instâncias de uma vez, e o ETag (derivado da versão) muda junto.
+    private final Cache<CatalogKey, PlanCatalogPage> catalog;
 
-    public PlanService(PlanRepository planRepository) {
+    public PlanService(PlanRepository planRepository, KeysetPagination pagination, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, OutboxPublisher outboxPublisher,
+            SearchService searchService, PlanCatalogVersionRepository catalogVersions,
+            @Value("${api.plans.catalog-cache.max-size:10000}") long catalogMaxSize,
+            @Value("${api.plans.catalog-cache.ttl:10m}") Duration catalogTtl) {
         this.planRepository = planRepository;
+        this.pagination = pagination;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.outboxPublisher = outboxPublisher;
+        this.searchService = searchService;
+        this.catalogVersions = catalogVersions;
+        this.catalog = Caffeine.newBuilder()
+                .maximumSize(catalogMaxSize)
+                .expireAfterWrite(catalogTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, catalog, "planCatalog");
     }
 
     @Transactional
@@ -33,26 +85,93 @@ public class PlanService {
         plan.setTenantId(TenantContext.getCurrentTenant());
 
         Plan savedPlan = planRepository.save(plan);
+        invalidateCatalog(savedPlan.getTenantId());
+        searchService.planSavedAfterCommit(savedPlan);
 
-        return new PlanResponseDTO(
-                savedPlan.getId(),
-                savedPlan.getName(),
-                savedPlan.getDescription(),
-                savedPlan.getPrice(),
-                savedPlan.getBillingCycle());
+        PlanResponseDTO response = PlanResponseDTO.from(savedPlan);
+        outboxPublisher.publish(savedPlan.getTenantId(), PlanEvents.AGGREGATE, savedPlan.getId(), PlanEvents.CREATED,
+                response);
+        return response;
     }
 
     @Transactional(readOnly = true)
-    public List<PlanResponseDTO> list() {
-        return planRepository.findAll()
-                .stream()
-                .map(plan -> new PlanResponseDTO(
-                        plan.getId(),
-                        plan.getName(),
-                        plan.getDescription(),
-                        plan.getPrice(),
-                        plan.getBillingCycle()))
-                .toList();
+    public CursorPageDTO<PlanResponseDTO> list(String cursor, Integer size) {
+        return loadPage(pagination.decode(cursor), pagination.resolveSize(size));
+    }
+
+    // Não é transacional de propósito: um acerto no cache custa só a leitura da versão, sem transação nem JPA
+    public PlanCatalogPage catalogPage(String cursor, Integer size) {
+        UUID after = pagination.decode(cursor);
+        int pageSize = pagination.resolveSize(size);
+        UUID tenantId = TenantContext.getCurrentTenant();
+
+        // Sem tenant a consulta não é filtrada e enxerga todos os tenants, então não é cacheada
+        if (tenantId == null) {
+            byte[] body = serialize(readOnlyTransaction.execute(status -> loadPage(after, pageSize)));
+            return new PlanCatalogPage(body, contentEtag(body));
+        }
+
+        PlanCatalogPage cached = catalog.getIfPresent(
+                new CatalogKey(tenantId, catalogVersions.current(tenantId), after, pageSize));
+        if (cached != null) {
+            return cached;
+        }
+
+        // A versão é relida na transação da carga, antes da página: a página é no mínimo tão nova quanto a versão
+        // com que fica no cache. Se a leitura foi para uma réplica atrasada, a versão também é a dela, e a entrada
+        // só volta a ser usada quando a réplica alcança o primário.
+        LoadedPage loaded = readOnlyTransaction.execute(status -> {
+            CatalogKey key = new CatalogKey(tenantId, catalogVersions.current(tenantId), after, pageSize);
+            return new LoadedPage(key, new PlanCatalogPage(serialize(loadPage(after, pageSize)), versionEtag(key)));
+        });
+        catalog.put(loaded.key(), loaded.page());
+        return loaded.page();
     }
 
+    // Na transação de quem altera os planos do tenant. As entradas antigas desta instância saem já no commit; nas
+    // outras, a chave com a versão anterior deixa de ser pedida e expira pelo ttl.
+    private void invalidateCatalog(UUID tenantId) {
+        if (tenantId == null) {
+            return;
+        }
+        catalogVersions.bump(tenantId);
+        TransactionHooks.afterCommit(
+                () -> catalog.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId)));
+    }
+
+    private CursorPageDTO<PlanResponseDTO> loadPage(UUID after, int pageSize) {
+        List<PlanResponseDTO> plans = after == null
+                ? planRepository.findPage(pagination.fetchLimit(pageSize))
+                : planRepository.findPageAfter(after, pagination.fetchLimit(pageSize));
+
+        return pagination.page(plans, pageSize, PlanResponseDTO::id, Function.identity());
+    }
+
+    private byte[] serialize(CursorPageDTO<PlanResponseDTO> page) {
+        try {
+            return objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o catálogo de planos", e);
+        }
+    }
+
+    // Cursor e tamanho já estão na URL; o tenant entra porque um token global troca de tenant pelo X-Tenant-ID
+    private static String versionEtag(CatalogKey key) {
+        return "\"" + key.tenantId() + "-" + key.version() + "\"";
+    }
+
+    private static String contentEtag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private record CatalogKey(UUID tenantId, long version, UUID after, int size) {
+    }
+
+    private record LoadedPage(CatalogKey key, PlanCatalogPage page) {
+    }
 }
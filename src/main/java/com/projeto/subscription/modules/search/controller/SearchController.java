@@ -0,0 +1,34 @@
+package com.projeto.subscription.modules.search.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projeto.subscription.modules.search.dto.SearchHitDTO;
+import com.projeto.subscription.modules.search.service.SearchService;
+import com.projeto.subscription.shared.util.Enums.SearchType;
+
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    // GET /search?q=ana sou&types=USER,PLAN&limit=10: cada termo casa por prefixo, resultados do mais relevante
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<SearchHitDTO>> search(@RequestParam("q") String query,
+            @RequestParam(required = false) List<SearchType> types,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.search(query, types, limit));
+    }
+}
@@ -0,0 +1,14 @@
+package com.projeto.subscription.modules.search.dto;
+
+import java.util.UUID;
+
+import com.projeto.subscription.shared.util.Enums.SearchType;
+
+// title: nome do usuário ou do plano; detail: e-mail do usuário ou descrição do plano
+public record SearchHitDTO(
+        SearchType type,
+        UUID id,
+        String title,
+        String detail,
+        int score) {
+}
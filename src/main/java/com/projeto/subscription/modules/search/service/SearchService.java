@@ -0,0 +1,207 @@
+package com.projeto.subscription.modules.search.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.plan.model.Plan;
+import com.projeto.subscription.modules.plan.repository.PlanRepository;
+import com.projeto.subscription.modules.search.dto.SearchHitDTO;
+import com.projeto.subscription.shared.exception.ResourceConflictException;
+import com.projeto.subscription.shared.exception.ServiceUnavailableException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.SearchType;
+import com.projeto.subscription.shared.util.TransactionHooks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+// Typeahead de usuários (nome, e-mail) e planos (nome, descrição) a partir de um índice em memória por tenant. O índice
+// é montado na primeira busca do tenant, lendo as tabelas pelo cursor de streamAfter, e depois mantido pelos cadastros
+// (create, importação, desativação) após o commit. O cache é limitado por max-memory, pelo tamanho estimado de cada
+// índice: tenants frios saem primeiro. Alterações feitas por outras instâncias só aparecem quando o índice expira
+// (max-staleness) e é reconstruído.
+@Slf4j
+@Service
+public class SearchService {
+
+    private static final UUID FIRST = new UUID(0L, 0L);
+    private static final Set<SearchType> ALL_TYPES = EnumSet.allOf(SearchType.class);
+
+    private final UserRepository userRepository;
+    private final PlanRepository planRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+    private final AsyncCache<UUID, TenantSearchIndex> indexes;
+    private final Timer queryTimer;
+    private final Timer buildTimer;
+    private final int maxLimit;
+    private final int maxCandidates;
+    private final Duration buildTimeout;
+
+    public SearchService(UserRepository userRepository, PlanRepository planRepository, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${api.search.max-memory:64MB}") DataSize maxMemory,
+            @Value("${api.search.idle-timeout:30m}") Duration idleTimeout,
+            @Value("${api.search.max-staleness:1h}") Duration maxStaleness,
+            @Value("${api.search.max-limit:50}") int maxLimit,
+            @Value("${api.search.max-candidates:2000}") int maxCandidates,
+            @Value("${api.search.build-timeout:30s}") Duration buildTimeout) {
+        this.userRepository = userRepository;
+        this.planRepository = planRepository;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.maxLimit = maxLimit;
+        this.maxCandidates = maxCandidates;
+        this.buildTimeout = buildTimeout;
+
+        // Peso em KiB. A carga roda numa thread virtual: é JDBC bloqueante e não deve ocupar o pool comum.
+        Executor builders = task -> Thread.ofVirtual().name("search-index").start(task);
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, maxMemory.toKilobytes()))
+                .<UUID, TenantSearchIndex>weigher((tenantId, index) ->
+                        (int) Math.min(Integer.MAX_VALUE, index.estimatedBytes() / 1024 + 1))
+                .expireAfterAccess(idleTimeout)
+                .expireAfterWrite(maxStaleness)
+                .executor(builders)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes.synchronous(), "searchIndex");
+        this.queryTimer = Timer.builder("search.query")
+                .description("Duração das buscas no índice em memória, sem a carga inicial")
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("search.index.build")
+                .description("Duração da montagem do índice de um tenant")
+                .register(meterRegistry);
+    }
+
+    // types vazio busca em todos. A primeira busca de um tenant espera a montagem do índice, até build-timeout.
+    public List<SearchHitDTO> search(String query, Collection<SearchType> types, Integer limit) {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new ResourceConflictException("A busca precisa de um tenant no contexto (X-Tenant-ID)");
+        }
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int resolvedLimit = limit == null || limit < 1 ? 10 : Math.min(limit, maxLimit);
+        Set<SearchType> resolvedTypes = types == null || types.isEmpty() ? ALL_TYPES : EnumSet.copyOf(types);
+
+        TenantSearchIndex index = await(indexes.get(tenantId, (key, executor) ->
+                CompletableFuture.supplyAsync(() -> build(key), executor)));
+        return queryTimer.record(() -> index.search(query, resolvedTypes, resolvedLimit, maxCandidates));
+    }
+
+    public void userSavedAfterCommit(User user) {
+        usersSavedAfterCommit(user.getTenantId(), List.of(user));
+    }
+
+    // Valores lidos já na chamada: depois do commit as entidades podem estar desanexadas ou alteradas
+    public void usersSavedAfterCommit(UUID tenantId, Collection<User> users) {
+        List<IndexedUser> snapshot = users.stream()
+                .map(user -> new IndexedUser(user.getId(), user.getName(), user.getEmail(), user.isActive()))
+                .toList();
+        TransactionHooks.afterCommit(() -> update(tenantId, index -> snapshot.forEach(user -> {
+            if (user.active()) {
+                index.put(SearchType.USER, user.id(), user.name(), user.email());
+            } else {
+                index.remove(user.id());
+            }
+        })));
+    }
+
+    public void planSavedAfterCommit(Plan plan) {
+        UUID tenantId = plan.getTenantId();
+        UUID id = plan.getId();
+        String name = plan.getName();
+        String description = plan.getDescription();
+        TransactionHooks.afterCommit(() -> update(tenantId,
+                index -> index.put(SearchType.PLAN, id, name, description)));
+    }
+
+    // Tenant sem índice em memória não é tocado: a próxima busca monta o índice já com a alteração. Com a montagem em
+    // andamento, a alteração é aplicada quando ela termina (put é idempotente se a carga já tiver visto a linha). O novo
+    // futuro faz o cache recalcular o peso.
+    private void update(UUID tenantId, Consumer<TenantSearchIndex> change) {
+        if (tenantId == null) {
+            return;
+        }
+        indexes.asMap().computeIfPresent(tenantId, (key, future) -> future.thenApply(index -> {
+            change.accept(index);
+            return index;
+        }));
+    }
+
+    private TenantSearchIndex build(UUID tenantId) {
+        long start = System.nanoTime();
+        TenantSearchIndex index = new TenantSearchIndex();
+        TenantContext.runWithTenant(tenantId, () -> transaction.executeWithoutResult(status -> {
+            try (Stream<User> users = userRepository.streamAfter(FIRST)) {
+                users.forEach(user -> {
+                    if (user.isActive()) {
+                        index.put(SearchType.USER, user.getId(), user.getName(), user.getEmail());
+                    }
+                    entityManager.detach(user);
+                });
+            }
+            try (Stream<Plan> plans = planRepository.streamAfter(FIRST)) {
+                plans.forEach(plan -> {
+                    index.put(SearchType.PLAN, plan.getId(), plan.getName(), plan.getDescription());
+                    entityManager.detach(plan);
+                });
+            }
+        }));
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        buildTimer.record(elapsed);
+        log.debug("Índice de busca do tenant {} montado: {} documentos, ~{} KiB em {}", tenantId, index.size(),
+                index.estimatedBytes() / 1024, elapsed);
+        return index;
+    }
+
+    private TenantSearchIndex await(CompletableFuture<TenantSearchIndex> future) {
+        try {
+            return future.get(buildTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A montagem continua em segundo plano e serve as próximas buscas
+            throw new ServiceUnavailableException("Índice de busca ainda em construção, tente novamente",
+                    Duration.ofSeconds(1));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Falha ao montar o índice de busca", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Busca interrompida", e);
+        }
+    }
+
+    private record IndexedUser(UUID id, String name, String email, boolean active) {
+    }
+}
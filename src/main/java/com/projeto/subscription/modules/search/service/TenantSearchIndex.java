@@ -0,0 +1,315 @@
+package com.projeto.subscription.modules.search.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.projeto.subscription.modules.search.dto.SearchHitDTO;
+import com.projeto.subscription.shared.util.Enums.SearchType;
+
+// Índice de um tenant: termos normalizados (sem acento, minúsculos) em ordem, cada um com a lista dos documentos que o
+// contêm. Um termo da consulta casa por prefixo, então a busca é um intervalo do TreeMap. Documentos removidos deixam
+// o slot vazio; o espaço só volta quando o índice é reconstruído.
+final class TenantSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int MAX_QUERY_TERMS = 8;
+
+    // Pontos por termo da consulta, conforme o melhor casamento no documento
+    private static final int TITLE_EXACT = 8;
+    private static final int TITLE_PREFIX = 6;
+    private static final int DETAIL_EXACT = 3;
+    private static final int DETAIL_PREFIX = 2;
+    private static final int TITLE_STARTS_WITH_QUERY = 4;
+
+    private static final Comparator<SearchHitDTO> RANKING = Comparator.comparingInt(SearchHitDTO::score).reversed()
+            .thenComparingInt(hit -> hit.title().length())
+            .thenComparing(SearchHitDTO::title, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(SearchHitDTO::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private long estimatedBytes;
+
+    // Substitui o documento de mesmo id, se houver: a carga inicial e as atualizações incrementais podem se cruzar
+    void put(SearchType type, UUID id, String title, String detail) {
+        Document document = new Document(type, id, title, detail != null ? detail : "", normalize(title),
+                tokenize(title), tokenize(detail));
+
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(id);
+            if (slot != null) {
+                unlink(slot);
+                documents.set(slot, document);
+            } else {
+                slot = documents.size();
+                documents.add(document);
+                slots.put(id, slot);
+                estimatedBytes += 64;
+            }
+            link(slot, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(id);
+            if (slot != null && documents.get(slot) != null) {
+                unlink(slot);
+                documents.set(slot, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Só os candidatos do termo mais seletivo (o de menos documentos no intervalo) são avaliados, até maxCandidates:
+    // um prefixo de uma letra num tenant grande não vira uma varredura do índice inteiro. O intervalo começa pelo
+    // próprio termo, então os casamentos exatos entram antes do corte.
+    List<SearchHitDTO> search(String query, Set<SearchType> types, int limit, int maxCandidates) {
+        List<String> queryTerms = tokenize(query).stream().distinct().limit(MAX_QUERY_TERMS).toList();
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        String normalizedQuery = normalize(query).strip();
+
+        lock.readLock().lock();
+        try {
+            String driver = mostSelective(queryTerms, maxCandidates);
+            BitSet seen = new BitSet(documents.size());
+            List<SearchHitDTO> hits = new ArrayList<>();
+            int candidates = 0;
+            for (Postings postings : range(driver).values()) {
+                for (int i = 0; i < postings.size && candidates < maxCandidates; i++) {
+                    int slot = postings.slots[i];
+                    if (seen.get(slot)) {
+                        continue;
+                    }
+                    seen.set(slot);
+                    candidates++;
+
+                    Document document = documents.get(slot);
+                    if (document == null || !types.contains(document.type())) {
+                        continue;
+                    }
+                    int score = score(document, queryTerms, normalizedQuery);
+                    if (score > 0) {
+                        hits.add(new SearchHitDTO(document.type(), document.id(), document.title(),
+                                document.detail(), score));
+                    }
+                }
+                if (candidates >= maxCandidates) {
+                    break;
+                }
+            }
+
+            hits.sort(RANKING);
+            return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Zero se algum termo da consulta não casa com o documento
+    private static int score(Document document, List<String> queryTerms, String normalizedQuery) {
+        int score = 0;
+        for (String term : queryTerms) {
+            int best = Math.max(match(document.titleTerms(), term, TITLE_EXACT, TITLE_PREFIX),
+                    match(document.detailTerms(), term, DETAIL_EXACT, DETAIL_PREFIX));
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        if (document.normalizedTitle().startsWith(normalizedQuery)) {
+            score += TITLE_STARTS_WITH_QUERY;
+        }
+        return score;
+    }
+
+    private static int match(String[] documentTerms, String term, int exact, int prefix) {
+        int best = 0;
+        for (String documentTerm : documentTerms) {
+            if (documentTerm.equals(term)) {
+                return exact;
+            }
+            if (documentTerm.startsWith(term)) {
+                best = prefix;
+            }
+        }
+        return best;
+    }
+
+    // Contagem interrompida assim que passa do menor intervalo já visto
+    private String mostSelective(List<String> queryTerms, int maxCandidates) {
+        String best = queryTerms.get(0);
+        long bestCount = Long.MAX_VALUE;
+        for (String term : queryTerms) {
+            long count = 0;
+            for (Postings postings : range(term).values()) {
+                count += postings.size;
+                if (count >= bestCount || count > maxCandidates) {
+                    break;
+                }
+            }
+            if (count < bestCount) {
+                best = term;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    private NavigableMap<String, Postings> range(String prefix) {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void link(int slot, Document document) {
+        estimatedBytes += document.estimatedBytes();
+        for (String term : document.terms()) {
+            Postings postings = terms.get(term);
+            if (postings == null) {
+                postings = new Postings();
+                terms.put(term, postings);
+                estimatedBytes += 72 + 2L * term.length() + 4L * postings.slots.length;
+            }
+            estimatedBytes += postings.add(slot);
+        }
+    }
+
+    private void unlink(int slot) {
+        Document document = documents.get(slot);
+        if (document == null) {
+            return;
+        }
+        estimatedBytes -= document.estimatedBytes();
+        for (String term : document.terms()) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(slot) && postings.size == 0) {
+                terms.remove(term);
+                estimatedBytes -= 72 + 2L * term.length() + 4L * postings.slots.length;
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    // E-mails viram as suas partes: "ana.souza@acme.com" -> ana, souza, acme, com
+    static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        if (normalized.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token);
+            }
+        }
+        return tokens;
+    }
+
+    private record Document(SearchType type, UUID id, String title, String detail, String normalizedTitle,
+            String[] titleTerms, String[] detailTerms) {
+
+        Document(SearchType type, UUID id, String title, String detail, String normalizedTitle,
+                List<String> titleTerms, List<String> detailTerms) {
+            this(type, id, title, detail, normalizedTitle, titleTerms.toArray(String[]::new),
+                    detailTerms.toArray(String[]::new));
+        }
+
+        Set<String> terms() {
+            Set<String> terms = new LinkedHashSet<>(Arrays.asList(titleTerms));
+            terms.addAll(Arrays.asList(detailTerms));
+            return terms;
+        }
+
+        long estimatedBytes() {
+            long bytes = 96 + 2L * (title.length() + detail.length() + normalizedTitle.length());
+            for (String term : titleTerms) {
+                bytes += 48 + 2L * term.length();
+            }
+            for (String term : detailTerms) {
+                bytes += 48 + 2L * term.length();
+            }
+            return bytes;
+        }
+    }
+
+    // Slots em ordem de inserção, num int[] que cresce pela metade: bem menor que uma lista de Integer
+    private static final class Postings {
+
+        private int[] slots = new int[2];
+        private int size;
+
+        // Bytes acrescentados ao índice. Não confere duplicata: cada documento entra uma vez por termo (terms() é um
+        // conjunto) e put() desfaz os vínculos antigos antes de religar o slot.
+        long add(int slot) {
+            long grown = 0;
+            if (size == slots.length) {
+                int capacity = slots.length + (slots.length >> 1) + 1;
+                grown = 4L * (capacity - slots.length);
+                slots = Arrays.copyOf(slots, capacity);
+            }
+            slots[size++] = slot;
+            return grown;
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    System.arraycopy(slots, i + 1, slots, i, size - i - 1);
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
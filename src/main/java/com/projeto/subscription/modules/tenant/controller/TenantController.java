@@ -0,0 +1,70 @@
+package com.projeto.subscription.modules.tenant.controller;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projeto.subscription.modules.tenant.dto.TenantOverviewDTO;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.dto.TenantResponseDTO;
+import com.projeto.subscription.modules.tenant.dto.TenantShardRequestDTO;
+import com.projeto.subscription.modules.tenant.dto.TenantStatusDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.sharding.ShardMoveReport;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+import jakarta.validation.Valid;
+
+// Gestão de tenants: apenas administradores globais (ADMIN sem tenant). Tenants e o diretório de shards moram no
+// shard padrão, então tudo aqui roda sem tenant no contexto, mesmo que a requisição traga X-Tenant-ID.
+@RestController
+@RequestMapping("/tenants")
+@PreAuthorize("hasRole('ADMIN') and principal.tenantId() == null")
+public class TenantController {
+    private final TenantService tenantService;
+
+    public TenantController(TenantService tenantService) {
+        this.tenantService = tenantService;
+    }
+
+    @PostMapping
+    public TenantResponseDTO create(@RequestBody @Valid TenantRequestDTO tenant) {
+        return withoutTenant(() -> tenantService.create(tenant));
+    }
+
+    @GetMapping
+    public List<TenantResponseDTO> list() {
+        return withoutTenant(tenantService::list);
+    }
+
+    // Tenants com o shard de cada um e contagens de usuários, planos e assinaturas, consultando todos os shards
+    @GetMapping("/overview")
+    public List<TenantOverviewDTO> overview() {
+        return withoutTenant(tenantService::overview);
+    }
+
+    @PatchMapping("/{id}/status")
+    public TenantResponseDTO updateStatus(@PathVariable UUID id, @RequestBody @Valid TenantStatusDTO status) {
+        return withoutTenant(() -> tenantService.updateStatus(id, status.active()));
+    }
+
+    // Síncrono: as escritas do tenant ficam bloqueadas (503) até a cópia terminar
+    @PutMapping("/{id}/shard")
+    public ShardMoveReport moveToShard(@PathVariable UUID id, @RequestBody @Valid TenantShardRequestDTO request) {
+        return withoutTenant(() -> tenantService.moveToShard(id, request.shard()));
+    }
+
+    private static <T> T withoutTenant(Supplier<T> action) {
+        return TenantContext.callWithTenant(null, action);
+    }
+}
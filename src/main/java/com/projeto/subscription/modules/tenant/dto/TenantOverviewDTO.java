@@ -0,0 +1,14 @@
+package com.projeto.subscription.modules.tenant.dto;
+
+import java.util.UUID;
+
+public record TenantOverviewDTO(
+        UUID id,
+        String name,
+        String slug,
+        boolean active,
+        String shard,
+        long users,
+        long plans,
+        long subscriptions) {
+}
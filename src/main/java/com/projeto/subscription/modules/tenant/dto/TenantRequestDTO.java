@@ -0,0 +1,9 @@
+package com.projeto.subscription.modules.tenant.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+public record TenantRequestDTO(
+        @NotBlank String name,
+        @NotBlank @Pattern(regexp = "[a-z0-9]+(-[a-z0-9]+)*") String slug) {
+}
@@ -0,0 +1,16 @@
+package com.projeto.subscription.modules.tenant.dto;
+
+import java.util.UUID;
+
+import com.projeto.subscription.modules.tenant.model.Tenant;
+
+public record TenantResponseDTO(
+        UUID id,
+        String name,
+        String slug,
+        boolean active) {
+
+    public static TenantResponseDTO from(Tenant tenant) {
+        return new TenantResponseDTO(tenant.getId(), tenant.getName(), tenant.getSlug(), tenant.getActive());
+    }
+}
@@ -0,0 +1,7 @@
+package com.projeto.subscription.modules.tenant.dto;
+
+import java.util.UUID;
+
+// Linha de contagens agrupadas por tenant, usada na visão administrativa (uma consulta por shard)
+public record TenantRowCount(UUID tenantId, long total) {
+}
@@ -0,0 +1,6 @@
+package com.projeto.subscription.modules.tenant.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record TenantShardRequestDTO(@NotBlank String shard) {
+}
@@ -0,0 +1,6 @@
+package com.projeto.subscription.modules.tenant.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record TenantStatusDTO(@NotNull Boolean active) {
+}
@@ -5,5 +5,7 @@ import com.projeto.subscription.modules.tenant.model.Tenant;
 import java.util.UUID;
 
 public interface TenantRepository extends JpaRepository<Tenant, UUID>{
-    
+
+    boolean existsBySlug(String slug);
+
 }
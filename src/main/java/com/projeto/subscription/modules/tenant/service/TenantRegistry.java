@@ -0,0 +1,93 @@
+package com.projeto.subscription.modules.tenant.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.projeto.subscription.modules.tenant.model.Tenant;
+import com.projeto.subscription.modules.tenant.repository.TenantRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// Cópia em memória dos tenants (id -> ativo, slug -> id), para que os filtros resolvam e validem o tenant de
+// cada requisição sem ir ao banco. Carregada na inicialização, atualizada pelo TenantService após cada commit e
+// recarregada periodicamente para pegar alterações feitas por outras instâncias.
+@Component
+public class TenantRegistry {
+
+    private final TenantRepository tenantRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    public TenantRegistry(TenantRepository tenantRepository) {
+        this.tenantRepository = tenantRepository;
+    }
+
+    // Aceita o id (UUID) ou o slug do tenant
+    public Optional<Entry> find(String idOrSlug) {
+        Snapshot current = snapshot;
+        UUID id = current.idsBySlug().get(idOrSlug);
+        if (id == null) {
+            id = parseUuid(idOrSlug);
+        }
+        return id != null ? Optional.ofNullable(current.byId().get(id)) : Optional.empty();
+    }
+
+    public Optional<Entry> get(UUID tenantId) {
+        return Optional.ofNullable(snapshot.byId().get(tenantId));
+    }
+
+    public boolean isActive(UUID tenantId) {
+        Entry entry = snapshot.byId().get(tenantId);
+        return entry != null && entry.active();
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${api.tenants.registry.refresh-interval:5m}",
+            initialDelayString = "${api.tenants.registry.refresh-interval:5m}")
+    public synchronized void refresh() {
+        Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+        Map<String, UUID> idsBySlug = new ConcurrentHashMap<>();
+        for (Tenant tenant : tenantRepository.findAll()) {
+            Entry entry = Entry.from(tenant);
+            byId.put(entry.id(), entry);
+            idsBySlug.put(entry.slug(), entry.id());
+        }
+        snapshot = new Snapshot(byId, idsBySlug);
+    }
+
+    public synchronized void register(Tenant tenant) {
+        Entry entry = Entry.from(tenant);
+        Snapshot current = snapshot;
+        Entry previous = current.byId().put(entry.id(), entry);
+        if (previous != null && !previous.slug().equals(entry.slug())) {
+            current.idsBySlug().remove(previous.slug());
+        }
+        current.idsBySlug().put(entry.slug(), entry.id());
+    }
+
+    private static UUID parseUuid(String value) {
+        if (value.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public record Entry(UUID id, String slug, boolean active) {
+
+        static Entry from(Tenant tenant) {
+            return new Entry(tenant.getId(), tenant.getSlug(), Boolean.TRUE.equals(tenant.getActive()));
+        }
+    }
+
+    private record Snapshot(Map<UUID, Entry> byId, Map<String, UUID> idsBySlug) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.projeto.subscription.modules.tenant.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projeto.subscription.modules.billing.repository.SubscriptionRepository;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.plan.repository.PlanRepository;
+import com.projeto.subscription.modules.tenant.dto.TenantOverviewDTO;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.dto.TenantResponseDTO;
+import com.projeto.subscription.modules.tenant.dto.TenantRowCount;
+import com.projeto.subscription.modules.tenant.model.Tenant;
+import com.projeto.subscription.modules.tenant.repository.TenantRepository;
+import com.projeto.subscription.shared.exception.ResourceConflictException;
+import com.projeto.subscription.shared.exception.ResourceNotFoundException;
+import com.projeto.subscription.shared.sharding.ShardContext;
+import com.projeto.subscription.shared.sharding.ShardMoveReport;
+import com.projeto.subscription.shared.sharding.ShardOperations;
+import com.projeto.subscription.shared.util.TransactionHooks;
+
+@Service
+public class TenantService {
+
+    // Índices das contagens em overview()
+    private static final int USERS = 0;
+    private static final int PLANS = 1;
+    private static final int SUBSCRIPTIONS = 2;
+
+    private final TenantRepository tenantRepository;
+    private final TenantRegistry tenantRegistry;
+    private final ShardOperations shardOperations;
+    private final UserRepository userRepository;
+    private final PlanRepository planRepository;
+    private final SubscriptionRepository subscriptionRepository;
+
+    public TenantService(TenantRepository tenantRepository, TenantRegistry tenantRegistry,
+            ShardOperations shardOperations, UserRepository userRepository, PlanRepository planRepository,
+            SubscriptionRepository subscriptionRepository) {
+        this.tenantRepository = tenantRepository;
+        this.tenantRegistry = tenantRegistry;
+        this.shardOperations = shardOperations;
+        this.userRepository = userRepository;
+        this.planRepository = planRepository;
+        this.subscriptionRepository = subscriptionRepository;
+    }
+
+    @Transactional
+    public TenantResponseDTO create(TenantRequestDTO dto) {
+        if (tenantRepository.existsBySlug(dto.slug())) {
+            throw new ResourceConflictException("Já existe um tenant com o slug " + dto.slug());
+        }
+
+        Tenant tenant = tenantRepository.save(Tenant.builder()
+                .name(dto.name())
+                .slug(dto.slug())
+                .build());
+        TransactionHooks.afterCommit(() -> {
+            tenantRegistry.register(tenant);
+            shardOperations.pinTenant(tenant.getId());
+        });
+
+        return TenantResponseDTO.from(tenant);
+    }
+
+    @Transactional
+    public TenantResponseDTO updateStatus(UUID id, boolean active) {
+        Tenant tenant = tenantRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tenant não encontrado"));
+        tenant.setActive(active);
+        TransactionHooks.afterCommit(() -> tenantRegistry.register(tenant));
+
+        return TenantResponseDTO.from(tenant);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TenantResponseDTO> list() {
+        return tenantRepository.findAll(Sort.by("name")).stream()
+                .map(TenantResponseDTO::from)
+                .toList();
+    }
+
+    // Não é transacional: os tenants vêm do shard padrão e as contagens de uma consulta paralela em todos os shards.
+    // Linhas de um tenant num shard que não é o dele (sobras de uma migração) ficam de fora.
+    public List<TenantOverviewDTO> overview() {
+        Map<UUID, long[]> totals = new HashMap<>();
+        for (ShardUsage usage : shardOperations.fanOut(this::usageOnCurrentShard)) {
+            if (usage.shard().equals(shardOperations.shardOf(usage.tenantId()))) {
+                long[] counts = totals.computeIfAbsent(usage.tenantId(), id -> new long[3]);
+                counts[usage.kind()] += usage.total();
+            }
+        }
+
+        return tenantRepository.findAll(Sort.by("name")).stream()
+                .map(tenant -> {
+                    long[] counts = totals.getOrDefault(tenant.getId(), new long[3]);
+                    return new TenantOverviewDTO(tenant.getId(), tenant.getName(), tenant.getSlug(),
+                            Boolean.TRUE.equals(tenant.getActive()), shardOperations.shardOf(tenant.getId()),
+                            counts[USERS], counts[PLANS], counts[SUBSCRIPTIONS]);
+                })
+                .toList();
+    }
+
+    public ShardMoveReport moveToShard(UUID id, String shard) {
+        if (!tenantRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Tenant não encontrado");
+        }
+        return shardOperations.moveTenant(id, shard);
+    }
+
+    private List<ShardUsage> usageOnCurrentShard() {
+        String shard = ShardContext.getCurrentShard() != null ? ShardContext.getCurrentShard()
+                : ShardOperations.SINGLE_SHARD;
+        List<ShardUsage> usage = new ArrayList<>();
+        userRepository.countByTenant().forEach(row -> usage.add(ShardUsage.of(shard, USERS, row)));
+        planRepository.countByTenant().forEach(row -> usage.add(ShardUsage.of(shard, PLANS, row)));
+        subscriptionRepository.countByTenant().forEach(row -> usage.add(ShardUsage.of(shard, SUBSCRIPTIONS, row)));
+        return usage;
+    }
+
+    private record ShardUsage(String shard, UUID tenantId, int kind, long total) {
+
+        static ShardUsage of(String shard, int kind, TenantRowCount row) {
+            return new ShardUsage(shard, row.tenantId(), kind, row.total());
+        }
+    }
+}
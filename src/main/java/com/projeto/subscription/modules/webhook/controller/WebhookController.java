@@ -0,0 +1,48 @@
+package com.projeto.subscription.modules.webhook.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projeto.subscription.modules.webhook.dto.WebhookEndpointCreatedDTO;
+import com.projeto.subscription.modules.webhook.dto.WebhookEndpointRequestDTO;
+import com.projeto.subscription.modules.webhook.dto.WebhookEndpointResponseDTO;
+import com.projeto.subscription.modules.webhook.service.WebhookService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/webhooks")
+public class WebhookController {
+    private final WebhookService webhookService;
+
+    public WebhookController(WebhookService webhookService) {
+        this.webhookService = webhookService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebhookEndpointCreatedDTO register(@RequestBody @Valid WebhookEndpointRequestDTO endpoint) {
+        return webhookService.register(endpoint);
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<WebhookEndpointResponseDTO> list() {
+        return webhookService.list();
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebhookEndpointResponseDTO deactivate(@PathVariable UUID id) {
+        return webhookService.deactivate(id);
+    }
+}
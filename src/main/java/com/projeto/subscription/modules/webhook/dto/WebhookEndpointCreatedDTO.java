@@ -0,0 +1,7 @@
+package com.projeto.subscription.modules.webhook.dto;
+
+// Única resposta que traz o segredo do HMAC: o cliente deve guardá-lo no cadastro
+public record WebhookEndpointCreatedDTO(
+        WebhookEndpointResponseDTO endpoint,
+        String secret) {
+}
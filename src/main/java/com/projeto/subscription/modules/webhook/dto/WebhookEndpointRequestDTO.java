@@ -0,0 +1,17 @@
+package com.projeto.subscription.modules.webhook.dto;
+
+import java.util.Set;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+// eventTypes: subscription.created, subscription.changed, subscription.renewed, subscription.cancelled, plan.created.
+// maxConcurrency é o número de envios simultâneos para o endpoint (padrão em api.webhooks.default-max-concurrency).
+public record WebhookEndpointRequestDTO(
+        @NotBlank @Size(max = 2048) String url,
+        @NotEmpty Set<@NotBlank String> eventTypes,
+        @Min(1) @Max(16) Integer maxConcurrency) {
+}
@@ -0,0 +1,22 @@
+package com.projeto.subscription.modules.webhook.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.projeto.subscription.modules.webhook.model.WebhookEndpoint;
+
+public record WebhookEndpointResponseDTO(
+        UUID id,
+        String url,
+        List<String> eventTypes,
+        int maxConcurrency,
+        boolean active,
+        Instant createdAt) {
+
+    public static WebhookEndpointResponseDTO from(WebhookEndpoint endpoint) {
+        return new WebhookEndpointResponseDTO(endpoint.getId(), endpoint.getUrl(),
+                List.of(endpoint.getEventTypes().split(",")), endpoint.getMaxConcurrency(), endpoint.isActive(),
+                endpoint.getCreatedAt());
+    }
+}
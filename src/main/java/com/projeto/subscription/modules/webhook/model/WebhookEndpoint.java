@@ -0,0 +1,53 @@
+package com.projeto.subscription.modules.webhook.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.projeto.subscription.shared.util.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// URL e tipos de evento não mudam depois do cadastro: para alterar, desativa-se o endpoint e cadastra-se outro.
+// eventTypes guarda os tipos separados por vírgula.
+@Entity
+@Table(name = "webhook_endpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookEndpoint extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 2048)
+    private String url;
+
+    // Chave do HMAC das entregas; só é devolvida na resposta do cadastro
+    @Column(nullable = false, length = 100)
+    private String secret;
+
+    @Column(name = "event_types", nullable = false, length = 500)
+    private String eventTypes;
+
+    @Column(name = "max_concurrency", nullable = false)
+    private int maxConcurrency;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
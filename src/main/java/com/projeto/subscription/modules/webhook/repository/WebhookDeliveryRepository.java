@@ -0,0 +1,158 @@
+package com.projeto.subscription.modules.webhook.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.projeto.subscription.modules.webhook.service.PendingDelivery;
+import com.projeto.subscription.shared.util.Enums.WebhookDeliveryStatus;
+
+// Fila de entregas em JDBC puro, fora de transação (cada comando faz o próprio commit). Roda no shard do contexto:
+// pelo tenant do evento no consumidor do outbox, pelo shard da varredura no WebhookDeliveryEngine.
+@Repository
+public class WebhookDeliveryRepository {
+
+    private static final int PENDING = WebhookDeliveryStatus.PENDING.ordinal();
+    private static final int DELIVERED = WebhookDeliveryStatus.DELIVERED.ordinal();
+    private static final int FAILED = WebhookDeliveryStatus.FAILED.ordinal();
+
+    // Reentrega do mesmo evento do outbox não duplica a linha
+    private static final String ENQUEUE = "MERGE INTO webhook_deliveries d "
+            + "USING (VALUES (CAST(? AS UUID), CAST(? AS BIGINT))) AS s (endpoint_id, event_id) "
+            + "ON d.endpoint_id = s.endpoint_id AND d.event_id = s.event_id "
+            + "WHEN NOT MATCHED THEN INSERT (id, tenant_id, endpoint_id, event_id, event_type, payload, created_at, "
+            + "status, attempts, next_attempt_at) "
+            + "VALUES (?, ?, s.endpoint_id, s.event_id, ?, ?, ?, ?, 0, ?)";
+
+    // No máximo perEndpoint linhas por endpoint (lote x concorrência dele): um endpoint com fila grande não ocupa
+    // a leitura inteira e os demais seguem sendo atendidos
+    private static final String FIND_DUE = "SELECT d.id, d.tenant_id, d.endpoint_id, d.event_id, d.event_type, "
+            + "d.payload, d.created_at, d.attempts, e.url, e.secret, e.max_concurrency "
+            + "FROM (SELECT q.*, ROW_NUMBER() OVER (PARTITION BY q.endpoint_id "
+            + "ORDER BY q.next_attempt_at, q.event_id) AS position "
+            + "FROM webhook_deliveries q WHERE q.status = ? AND q.next_attempt_at <= ?%s) d "
+            + "JOIN webhook_endpoints e ON e.id = d.endpoint_id AND e.active = TRUE "
+            + "WHERE d.position <= e.max_concurrency * ? "
+            + "ORDER BY d.next_attempt_at, d.event_id FETCH FIRST ? ROWS ONLY";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WebhookDeliveryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void enqueue(UUID tenantId, Collection<UUID> endpointIds, long eventId, String eventType, String payload,
+            Instant createdAt, Instant now) {
+        List<Object[]> rows = endpointIds.stream()
+                .map(endpointId -> new Object[] { endpointId, eventId, UUID.randomUUID(), tenantId, eventType, payload,
+                        utc(createdAt), PENDING, utc(now) })
+                .toList();
+        jdbcTemplate.batchUpdate(ENQUEUE, rows);
+    }
+
+    public List<PendingDelivery> findDue(Instant now, Collection<UUID> excludedEndpoints, int perEndpoint, int limit) {
+        List<Object> args = new ArrayList<>();
+        args.add(PENDING);
+        args.add(utc(now));
+        String exclusion = "";
+        if (!excludedEndpoints.isEmpty()) {
+            exclusion = " AND q.endpoint_id NOT IN (" + String.join(", ",
+                    Collections.nCopies(excludedEndpoints.size(), "?")) + ")";
+            args.addAll(excludedEndpoints);
+        }
+        args.add(perEndpoint);
+        args.add(limit);
+        return jdbcTemplate.query(FIND_DUE.formatted(exclusion), WebhookDeliveryRepository::mapDelivery,
+                args.toArray());
+    }
+
+    // Reserva as linhas até leaseUntil: se a instância cair no meio do envio, elas voltam a vencer e são reenviadas.
+    // A reserva só pega linhas ainda pendentes e vencidas em now; uma linha que outra varredura reservou depois da
+    // leitura fica de fora. Devolve os ids efetivamente reservados, os únicos que podem ser enviados.
+    public Set<UUID> claim(List<UUID> ids, Instant now, Instant leaseUntil) {
+        OffsetDateTime until = utc(leaseUntil);
+        OffsetDateTime due = utc(now);
+        int[] counts = jdbcTemplate.batchUpdate("UPDATE webhook_deliveries SET next_attempt_at = ? "
+                + "WHERE id = ? AND status = ? AND next_attempt_at <= ?",
+                ids.stream().map(id -> new Object[] { until, id, PENDING, due }).toList());
+        Set<UUID> claimed = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 1) {
+                claimed.add(ids.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    public void markDelivered(Collection<UUID> ids, Instant now) {
+        OffsetDateTime deliveredAt = utc(now);
+        jdbcTemplate.batchUpdate("UPDATE webhook_deliveries SET status = ?, attempts = attempts + 1, "
+                + "delivered_at = ?, next_attempt_at = ?, last_error = NULL WHERE id = ?",
+                ids.stream().map(id -> new Object[] { DELIVERED, deliveredAt, deliveredAt, id }).toList());
+    }
+
+    public void reschedule(Map<UUID, Instant> nextAttempts, String error) {
+        String lastError = truncate(error);
+        jdbcTemplate.batchUpdate("UPDATE webhook_deliveries SET attempts = attempts + 1, next_attempt_at = ?, "
+                + "last_error = ? WHERE id = ?",
+                nextAttempts.entrySet().stream()
+                        .map(next -> new Object[] { utc(next.getValue()), lastError, next.getKey() })
+                        .toList());
+    }
+
+    public void giveUp(Collection<UUID> ids, String error, Instant now) {
+        String lastError = truncate(error);
+        OffsetDateTime at = utc(now);
+        jdbcTemplate.batchUpdate("UPDATE webhook_deliveries SET status = ?, attempts = attempts + 1, "
+                + "next_attempt_at = ?, last_error = ? WHERE id = ?",
+                ids.stream().map(id -> new Object[] { FAILED, at, lastError, id }).toList());
+    }
+
+    // Endpoint desativado: o que estava pendente não será mais enviado
+    public int cancelPending(UUID endpointId, String reason, Instant now) {
+        return jdbcTemplate.update("UPDATE webhook_deliveries SET status = ?, next_attempt_at = ?, last_error = ? "
+                + "WHERE endpoint_id = ? AND status = ?", FAILED, utc(now), truncate(reason), endpointId, PENDING);
+    }
+
+    // Nas linhas finalizadas next_attempt_at guarda o momento da finalização, e a exclusão usa o mesmo índice da fila
+    public int purgeFinishedBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM webhook_deliveries WHERE status IN (?, ?) AND next_attempt_at < ?",
+                DELIVERED, FAILED, utc(cutoff));
+    }
+
+    private static PendingDelivery mapDelivery(ResultSet rs, int rowNum) throws SQLException {
+        return new PendingDelivery(
+                rs.getObject("id", UUID.class),
+                rs.getObject("tenant_id", UUID.class),
+                rs.getObject("endpoint_id", UUID.class),
+                rs.getLong("event_id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                rs.getInt("attempts"),
+                rs.getString("url"),
+                rs.getString("secret"),
+                rs.getInt("max_concurrency"));
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,22 @@
+package com.projeto.subscription.modules.webhook.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projeto.subscription.modules.webhook.model.WebhookEndpoint;
+
+@Transactional(readOnly = true)
+public interface WebhookEndpointRepository extends JpaRepository<WebhookEndpoint, UUID> {
+
+    @Query("select e from WebhookEndpoint e order by e.createdAt, e.id")
+    List<WebhookEndpoint> findAllOrdered();
+
+    // Tenant explícito: o consumidor do outbox consulta por tenant do evento, não pelo filtro da sessão
+    @Query("select e from WebhookEndpoint e where e.tenantId = :tenantId and e.active = true")
+    List<WebhookEndpoint> findActiveByTenant(@Param("tenantId") UUID tenantId);
+}
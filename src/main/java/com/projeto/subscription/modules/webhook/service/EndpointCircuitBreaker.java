@@ -0,0 +1,82 @@
+package com.projeto.subscription.modules.webhook.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Circuito por endpoint, em memória. Depois de failureThreshold lotes seguidos com falha o endpoint fica aberto por
+// openDuration: as entregas dele nem são lidas, então não gastam tentativas. Vencido o prazo, um único lote passa
+// como teste (meio aberto); sucesso fecha o circuito, falha abre de novo.
+final class EndpointCircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openUntil = Instant.MIN;
+    private boolean trialInFlight;
+
+    EndpointCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    // true se um lote pode ser enviado agora. No meio aberto, só o primeiro pedido leva o teste.
+    synchronized boolean tryAcquire(Instant now) {
+        if (state == State.OPEN) {
+            if (now.isBefore(openUntil)) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    // Desfaz um tryAcquire cujo lote não chegou a ser enviado
+    synchronized void abandon() {
+        trialInFlight = false;
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    // true se esta falha abriu o circuito
+    synchronized boolean onFailure(Instant now) {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openUntil = now.plus(openDuration);
+            return true;
+        }
+        return false;
+    }
+
+    synchronized boolean isBlocked(Instant now) {
+        return switch (state) {
+            case CLOSED -> false;
+            case OPEN -> now.isBefore(openUntil);
+            case HALF_OPEN -> trialInFlight;
+        };
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
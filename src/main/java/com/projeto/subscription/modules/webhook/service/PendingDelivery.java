@@ -0,0 +1,19 @@
+package com.projeto.subscription.modules.webhook.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Entrega pendente já com os dados do endpoint, lida pelo WebhookDeliveryEngine
+public record PendingDelivery(
+        UUID id,
+        UUID tenantId,
+        UUID endpointId,
+        long eventId,
+        String eventType,
+        String payload,
+        Instant createdAt,
+        int attempts,
+        String url,
+        String secret,
+        int maxConcurrency) {
+}
@@ -0,0 +1,51 @@
+package com.projeto.subscription.modules.webhook.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.projeto.subscription.shared.exception.InvalidRequestException;
+
+// Proteção contra SSRF: a URL de um webhook é escolhida pelo tenant, então o host não pode apontar para a rede interna
+// (loopback, redes privadas, link-local como o 169.254.169.254 dos metadados de nuvem, unique-local IPv6, multicast).
+// Todos os endereços do nome são verificados no cadastro e de novo antes de cada envio, porque o DNS pode passar a
+// responder outro endereço depois do cadastro. api.webhooks.allow-private-addresses libera esses endereços (testes
+// com um servidor local).
+@Component
+public class WebhookAddressGuard {
+
+    private final boolean allowPrivateAddresses;
+
+    public WebhookAddressGuard(@Value("${api.webhooks.allow-private-addresses:false}") boolean allowPrivateAddresses) {
+        this.allowPrivateAddresses = allowPrivateAddresses;
+    }
+
+    public void check(String host) {
+        if (allowPrivateAddresses) {
+            return;
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw new InvalidRequestException("Host do webhook não encontrado: " + host);
+        }
+        for (InetAddress address : addresses) {
+            if (isInternal(address)) {
+                throw new InvalidRequestException("O host do webhook aponta para um endereço interno: " + host);
+            }
+        }
+    }
+
+    static boolean isInternal(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isSiteLocalAddress() || address.isLinkLocalAddress()
+                || address.isAnyLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        // fc00::/7 (unique-local IPv6) e 0.0.0.0/8, que o isAnyLocalAddress só reconhece no endereço exato
+        return bytes.length == 16 ? (bytes[0] & 0xfe) == 0xfc : bytes[0] == 0;
+    }
+}
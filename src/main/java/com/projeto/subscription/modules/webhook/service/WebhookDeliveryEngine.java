@@ -0,0 +1,331 @@
+package com.projeto.subscription.modules.webhook.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.subscription.modules.webhook.repository.WebhookDeliveryRepository;
+import com.projeto.subscription.shared.sharding.ShardContext;
+import com.projeto.subscription.shared.sharding.ShardOperations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Envia as entregas pendentes de webhook. A cada poll lê as entregas vencidas de cada shard, agrupa por endpoint e
+// manda lotes de até max-batch-size eventos num único POST: uma rajada de eventos do mesmo tenant vira poucas
+// requisições, e o intervalo do poll faz as vezes de janela de agrupamento. Cada lote roda numa thread virtual; o
+// número de lotes simultâneos por endpoint é limitado pelo max_concurrency dele, e endpoints sem vaga ou com o
+// circuito aberto (EndpointCircuitBreaker) ficam fora da leitura.
+//
+// Falha (não 2xx, timeout, erro de rede) reagenda o lote com backoff exponencial e jitter até max-attempts; depois
+// disso a entrega é desistida. A entrega é at-least-once: o receptor deve ignorar ids de evento repetidos. A reserva
+// (lease) é condicional à linha ainda estar vencida, então uma linha lida por duas varreduras só é enviada por uma; já
+// os circuitos e as vagas por endpoint são desta instância, então, como o dispatcher do outbox, só uma instância deve
+// ter api.webhooks.delivery.enabled ligado.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "api.webhooks.delivery.enabled", havingValue = "true", matchIfMissing = true)
+public class WebhookDeliveryEngine {
+
+    private final WebhookDeliveryRepository deliveryRepository;
+    private final WebhookAddressGuard addressGuard;
+    private final ShardOperations shardOperations;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("webhook-sender-", 0).factory());
+
+    // Vagas e circuito por endpoint; max_concurrency não muda depois do cadastro
+    private final Cache<UUID, EndpointState> endpoints = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    private final int fetchSize;
+    private final int maxBatchSize;
+    private final Duration requestTimeout;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Duration retention;
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter givenUp;
+    private final Timer successfulRequests;
+    private final Timer failedRequests;
+
+    public WebhookDeliveryEngine(WebhookDeliveryRepository deliveryRepository, WebhookAddressGuard addressGuard,
+            ShardOperations shardOperations, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${api.webhooks.fetch-size:500}") int fetchSize,
+            @Value("${api.webhooks.max-batch-size:50}") int maxBatchSize,
+            @Value("${api.webhooks.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${api.webhooks.request-timeout:10s}") Duration requestTimeout,
+            @Value("${api.webhooks.lease:1m}") Duration lease,
+            @Value("${api.webhooks.max-attempts:12}") int maxAttempts,
+            @Value("${api.webhooks.initial-backoff:10s}") Duration initialBackoff,
+            @Value("${api.webhooks.max-backoff:6h}") Duration maxBackoff,
+            @Value("${api.webhooks.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${api.webhooks.circuit.open-duration:1m}") Duration openDuration,
+            @Value("${api.webhooks.retention:7d}") Duration retention) {
+        this.deliveryRepository = deliveryRepository;
+        this.addressGuard = addressGuard;
+        this.shardOperations = shardOperations;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.requestTimeout = requestTimeout;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.retention = retention;
+
+        // Redirecionamento não é seguido: a URL cadastrada é a única que recebe o segredo assinado
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+        this.delivered = Counter.builder("webhooks.deliveries").tag("result", "delivered").register(meterRegistry);
+        this.retried = Counter.builder("webhooks.deliveries").tag("result", "retried").register(meterRegistry);
+        this.givenUp = Counter.builder("webhooks.deliveries").tag("result", "failed").register(meterRegistry);
+        this.successfulRequests = Timer.builder("webhooks.request")
+                .description("Duração dos POSTs de webhook")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedRequests = Timer.builder("webhooks.request")
+                .description("Duração dos POSTs de webhook")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        meterRegistry.gauge("webhooks.circuits.open", endpoints, cache -> cache.asMap().values().stream()
+                .filter(state -> state.breaker().state() != EndpointCircuitBreaker.State.CLOSED)
+                .count());
+    }
+
+    @Scheduled(fixedDelayString = "${api.webhooks.poll-interval:1s}")
+    public void poll() {
+        shardOperations.forEachShard(this::pollShard);
+    }
+
+    @Scheduled(cron = "${api.webhooks.purge-cron:0 0 5 * * *}")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        shardOperations.forEachShard(() -> deliveryRepository.purgeFinishedBefore(cutoff));
+    }
+
+    // Lotes em andamento têm até request-timeout para terminar; o que sobrar volta a vencer quando a reserva expirar
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        senders.shutdown();
+        if (!senders.awaitTermination(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            senders.shutdownNow();
+        }
+    }
+
+    private void pollShard(String shard) {
+        Instant now = Instant.now();
+        List<PendingDelivery> due = deliveryRepository.findDue(now, blockedEndpoints(now), maxBatchSize, fetchSize);
+
+        Map<UUID, List<PendingDelivery>> byEndpoint = new LinkedHashMap<>();
+        for (PendingDelivery delivery : due) {
+            byEndpoint.computeIfAbsent(delivery.endpointId(), id -> new ArrayList<>()).add(delivery);
+        }
+
+        for (List<PendingDelivery> deliveries : byEndpoint.values()) {
+            PendingDelivery first = deliveries.get(0);
+            // As linhas de um tenant em migração estão sendo copiadas para outro shard: o resultado do envio se perderia
+            if (shardOperations.isMoving(first.tenantId())) {
+                continue;
+            }
+            EndpointState state = endpoints.get(first.endpointId(), id -> new EndpointState(
+                    new Semaphore(Math.max(1, first.maxConcurrency())),
+                    new EndpointCircuitBreaker(failureThreshold, openDuration)));
+
+            for (int from = 0; from < deliveries.size(); from += maxBatchSize) {
+                if (!state.permits().tryAcquire()) {
+                    break;
+                }
+                if (!state.breaker().tryAcquire(now)) {
+                    state.permits().release();
+                    break;
+                }
+                List<PendingDelivery> read = deliveries.subList(from,
+                        Math.min(from + maxBatchSize, deliveries.size()));
+                try {
+                    // Só vai no lote o que esta varredura conseguiu reservar
+                    Set<UUID> claimed = deliveryRepository.claim(ids(read), now, now.plus(lease));
+                    List<PendingDelivery> batch = read.stream()
+                            .filter(delivery -> claimed.contains(delivery.id()))
+                            .toList();
+                    if (batch.isEmpty()) {
+                        state.breaker().abandon();
+                        state.permits().release();
+                        continue;
+                    }
+                    senders.execute(() -> ShardContext.runOnShard(shard, () -> send(state, batch)));
+                } catch (RuntimeException e) {
+                    state.breaker().abandon();
+                    state.permits().release();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Set<UUID> blockedEndpoints(Instant now) {
+        return endpoints.asMap().entrySet().stream()
+                .filter(entry -> entry.getValue().permits().availablePermits() == 0
+                        || entry.getValue().breaker().isBlocked(now))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private void send(EndpointState state, List<PendingDelivery> batch) {
+        PendingDelivery first = batch.get(0);
+        long start = System.nanoTime();
+        try {
+            // O host é verificado de novo a cada envio: o DNS pode ter mudado desde o cadastro
+            URI url = URI.create(first.url());
+            addressGuard.check(url.getHost());
+            byte[] body = render(batch);
+            long timestamp = Instant.now().getEpochSecond();
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .header(WebhookSigner.TIMESTAMP_HEADER, Long.toString(timestamp))
+                    .header(WebhookSigner.SIGNATURE_HEADER, WebhookSigner.sign(first.secret(), timestamp, body))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 200 && status < 300) {
+                successfulRequests.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                succeeded(state, batch);
+            } else {
+                failedRequests.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                failed(state, batch, "HTTP " + status);
+            }
+        } catch (InterruptedException e) {
+            // Desligamento: a reserva expira e o lote é reenviado
+            Thread.currentThread().interrupt();
+            state.breaker().abandon();
+        } catch (IOException | RuntimeException e) {
+            failedRequests.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            failed(state, batch, e.getClass().getSimpleName() + ": " + Objects.toString(e.getMessage(), ""));
+        } finally {
+            state.permits().release();
+        }
+    }
+
+    // {"events":[{"id","type","createdAt","data"}]}. O id é o da entrega, o mesmo em todas as tentativas.
+    private byte[] render(List<PendingDelivery> batch) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode events = root.putArray("events");
+        for (PendingDelivery delivery : batch) {
+            ObjectNode event = events.addObject();
+            event.put("id", delivery.id().toString());
+            event.put("type", delivery.eventType());
+            event.put("createdAt", delivery.createdAt().toString());
+            event.set("data", objectMapper.readTree(delivery.payload()));
+        }
+        return objectMapper.writeValueAsBytes(root);
+    }
+
+    private void succeeded(EndpointState state, List<PendingDelivery> batch) {
+        state.breaker().onSuccess();
+        try {
+            deliveryRepository.markDelivered(ids(batch), Instant.now());
+            delivered.increment(batch.size());
+        } catch (RuntimeException e) {
+            // O lote volta a vencer quando a reserva expirar e é reenviado
+            log.warn("Falha ao registrar a entrega de {} eventos ao webhook {}", batch.size(),
+                    batch.get(0).endpointId(), e);
+        }
+    }
+
+    private void failed(EndpointState state, List<PendingDelivery> batch, String error) {
+        Instant now = Instant.now();
+        UUID endpointId = batch.get(0).endpointId();
+        if (state.breaker().onFailure(now)) {
+            log.warn("Circuito do webhook {} aberto por {} após falhas seguidas ({})", endpointId, openDuration, error);
+        } else {
+            log.debug("Falha ao enviar {} eventos ao webhook {}: {}", batch.size(), endpointId, error);
+        }
+
+        Map<UUID, Instant> retries = new LinkedHashMap<>();
+        List<UUID> exhausted = new ArrayList<>();
+        for (PendingDelivery delivery : batch) {
+            int attempt = delivery.attempts() + 1;
+            if (attempt >= maxAttempts) {
+                exhausted.add(delivery.id());
+            } else {
+                retries.put(delivery.id(), now.plus(backoff(attempt)));
+            }
+        }
+
+        try {
+            if (!retries.isEmpty()) {
+                deliveryRepository.reschedule(retries, error);
+                retried.increment(retries.size());
+            }
+            if (!exhausted.isEmpty()) {
+                deliveryRepository.giveUp(exhausted, error, now);
+                givenUp.increment(exhausted.size());
+                log.warn("Desistindo de {} entregas ao webhook {} após {} tentativas ({})", exhausted.size(),
+                        endpointId, maxAttempts, error);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao reagendar {} entregas ao webhook {}", batch.size(), endpointId, e);
+        }
+    }
+
+    // Metade fixa e metade aleatória: lotes que falharam juntos não voltam todos no mesmo instante
+    private Duration backoff(int attempt) {
+        Duration base = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        long millis = (base.compareTo(maxBackoff) > 0 ? maxBackoff : base).toMillis();
+        long half = millis / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private static List<UUID> ids(List<PendingDelivery> batch) {
+        return batch.stream().map(PendingDelivery::id).toList();
+    }
+
+    private record EndpointState(Semaphore permits, EndpointCircuitBreaker breaker) {
+    }
+}
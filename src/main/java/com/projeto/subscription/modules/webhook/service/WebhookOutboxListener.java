@@ -0,0 +1,38 @@
+package com.projeto.subscription.modules.webhook.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.projeto.subscription.modules.webhook.repository.WebhookDeliveryRepository;
+import com.projeto.subscription.shared.outbox.OutboxMessage;
+
+// Transforma os eventos do outbox em entregas pendentes, uma por endpoint inscrito. Só grava na fila: o envio fica
+// com o WebhookDeliveryEngine, e um endpoint lento nunca segura o dispatcher do outbox. Se a gravação falhar, a
+// exceção faz o dispatcher tentar o evento de novo; o MERGE por (endpoint, evento) torna a reentrega inofensiva.
+@Component
+public class WebhookOutboxListener {
+
+    private final WebhookService webhookService;
+    private final WebhookDeliveryRepository deliveryRepository;
+
+    public WebhookOutboxListener(WebhookService webhookService, WebhookDeliveryRepository deliveryRepository) {
+        this.webhookService = webhookService;
+        this.deliveryRepository = deliveryRepository;
+    }
+
+    @EventListener
+    public void onOutboxMessage(OutboxMessage message) {
+        if (message.tenantId() == null || !WebhookService.EVENT_TYPES.contains(message.eventType())) {
+            return;
+        }
+        List<UUID> endpoints = webhookService.subscribedEndpoints(message.tenantId(), message.eventType());
+        if (!endpoints.isEmpty()) {
+            deliveryRepository.enqueue(message.tenantId(), endpoints, message.id(), message.eventType(),
+                    message.payload(), message.createdAt(), Instant.now());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.projeto.subscription.modules.webhook.service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.subscription.modules.billing.service.SubscriptionEvents;
+import com.projeto.subscription.modules.plan.service.PlanEvents;
+import com.projeto.subscription.modules.webhook.dto.WebhookEndpointCreatedDTO;
+import com.projeto.subscription.modules.webhook.dto.WebhookEndpointRequestDTO;
+import com.projeto.subscription.modules.webhook.dto.WebhookEndpointResponseDTO;
+import com.projeto.subscription.modules.webhook.model.WebhookEndpoint;
+import com.projeto.subscription.modules.webhook.repository.WebhookDeliveryRepository;
+import com.projeto.subscription.modules.webhook.repository.WebhookEndpointRepository;
+import com.projeto.subscription.shared.exception.InvalidRequestException;
+import com.projeto.subscription.shared.exception.ResourceConflictException;
+import com.projeto.subscription.shared.exception.ResourceNotFoundException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.TransactionHooks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Cadastro dos endpoints de webhook do tenant. Os endpoints ativos de cada tenant ficam em cache para o consumidor do
+// outbox; o cache é invalidado após o commit nesta instância, e cadastros feitos em outras instâncias aparecem em até
+// endpoint-cache-ttl.
+@Service
+public class WebhookService {
+
+    public static final Set<String> EVENT_TYPES = Set.of(SubscriptionEvents.CREATED, SubscriptionEvents.CHANGED,
+            SubscriptionEvents.RENEWED, SubscriptionEvents.CANCELLED, PlanEvents.CREATED);
+
+    private static final String SECRET_PREFIX = "whsec_";
+
+    private final WebhookEndpointRepository endpointRepository;
+    private final WebhookDeliveryRepository deliveryRepository;
+    private final WebhookAddressGuard addressGuard;
+    private final Cache<UUID, List<Subscriber>> activeEndpoints;
+    private final SecureRandom random = new SecureRandom();
+    private final boolean requireHttps;
+    private final int defaultMaxConcurrency;
+
+    public WebhookService(WebhookEndpointRepository endpointRepository, WebhookDeliveryRepository deliveryRepository,
+            WebhookAddressGuard addressGuard, MeterRegistry meterRegistry,
+            @Value("${api.webhooks.require-https:true}") boolean requireHttps,
+            @Value("${api.webhooks.default-max-concurrency:2}") int defaultMaxConcurrency,
+            @Value("${api.webhooks.endpoint-cache-ttl:30s}") Duration endpointCacheTtl) {
+        this.endpointRepository = endpointRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.addressGuard = addressGuard;
+        this.requireHttps = requireHttps;
+        this.defaultMaxConcurrency = defaultMaxConcurrency;
+        this.activeEndpoints = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(endpointCacheTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, activeEndpoints, "webhookEndpoints");
+    }
+
+    @Transactional
+    public WebhookEndpointCreatedDTO register(WebhookEndpointRequestDTO request) {
+        UUID tenantId = requireTenant();
+        String url = validateUrl(request.url());
+        Set<String> eventTypes = validateEventTypes(request.eventTypes());
+
+        byte[] key = new byte[32];
+        random.nextBytes(key);
+        String secret = SECRET_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(key);
+
+        WebhookEndpoint endpoint = WebhookEndpoint.builder()
+                .url(url)
+                .secret(secret)
+                .eventTypes(String.join(",", eventTypes))
+                .maxConcurrency(request.maxConcurrency() != null ? request.maxConcurrency() : defaultMaxConcurrency)
+                .active(true)
+                .createdAt(Instant.now())
+                .build();
+        endpoint.setTenantId(tenantId);
+
+        WebhookEndpoint saved = endpointRepository.save(endpoint);
+        invalidateAfterCommit(tenantId);
+        return new WebhookEndpointCreatedDTO(WebhookEndpointResponseDTO.from(saved), secret);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WebhookEndpointResponseDTO> list() {
+        requireTenant();
+        return endpointRepository.findAllOrdered().stream()
+                .map(WebhookEndpointResponseDTO::from)
+                .toList();
+    }
+
+    // As entregas pendentes do endpoint são canceladas na mesma transação
+    @Transactional
+    public WebhookEndpointResponseDTO deactivate(UUID id) {
+        UUID tenantId = requireTenant();
+        WebhookEndpoint endpoint = endpointRepository.findById(id)
+                .filter(found -> tenantId.equals(found.getTenantId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Webhook não encontrado"));
+
+        if (endpoint.isActive()) {
+            endpoint.setActive(false);
+            deliveryRepository.cancelPending(endpoint.getId(), "Endpoint desativado", Instant.now());
+            invalidateAfterCommit(tenantId);
+        }
+        return WebhookEndpointResponseDTO.from(endpoint);
+    }
+
+    // Endpoints ativos do tenant inscritos no tipo de evento
+    public List<UUID> subscribedEndpoints(UUID tenantId, String eventType) {
+        return activeEndpoints.get(tenantId, this::loadSubscribers).stream()
+                .filter(subscriber -> subscriber.eventTypes().contains(eventType))
+                .map(Subscriber::endpointId)
+                .toList();
+    }
+
+    private List<Subscriber> loadSubscribers(UUID tenantId) {
+        return endpointRepository.findActiveByTenant(tenantId).stream()
+                .map(endpoint -> new Subscriber(endpoint.getId(), Set.of(endpoint.getEventTypes().split(","))))
+                .toList();
+    }
+
+    private void invalidateAfterCommit(UUID tenantId) {
+        TransactionHooks.afterCommit(() -> activeEndpoints.invalidate(tenantId));
+    }
+
+    private String validateUrl(String url) {
+        URI uri;
+        try {
+            uri = new URI(url.strip());
+        } catch (URISyntaxException e) {
+            throw new InvalidRequestException("URL do webhook inválida");
+        }
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "";
+        if (!"https".equals(scheme) && (requireHttps || !"http".equals(scheme))) {
+            throw new InvalidRequestException(requireHttps
+                    ? "A URL do webhook deve usar https"
+                    : "A URL do webhook deve usar http ou https");
+        }
+        if (uri.getHost() == null || uri.getRawUserInfo() != null) {
+            throw new InvalidRequestException("URL do webhook inválida");
+        }
+        addressGuard.check(uri.getHost());
+        return uri.toString();
+    }
+
+    // Ordenados, para o cadastro e a listagem saírem sempre iguais
+    private static Set<String> validateEventTypes(Set<String> requested) {
+        Set<String> eventTypes = new TreeSet<>();
+        for (String eventType : requested) {
+            String normalized = eventType.strip().toLowerCase(Locale.ROOT);
+            if (!EVENT_TYPES.contains(normalized)) {
+                throw new InvalidRequestException("Tipo de evento não suportado: " + eventType
+                        + " (suportados: " + String.join(", ", new TreeSet<>(EVENT_TYPES)) + ")");
+            }
+            eventTypes.add(normalized);
+        }
+        return eventTypes;
+    }
+
+    private static UUID requireTenant() {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new ResourceConflictException("Webhooks precisam de um tenant no contexto (X-Tenant-ID)");
+        }
+        return tenantId;
+    }
+
+    private record Subscriber(UUID endpointId, Set<String> eventTypes) {
+    }
+}
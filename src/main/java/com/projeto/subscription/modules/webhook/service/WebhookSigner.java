@@ -0,0 +1,33 @@
+package com.projeto.subscription.modules.webhook.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// Assinatura das entregas: X-Webhook-Signature = "v1=" + HMAC-SHA256 em hex de "<timestamp>.<corpo>", com o segredo do
+// endpoint como chave. O timestamp (X-Webhook-Timestamp, em segundos) entra na assinatura para que o receptor possa
+// recusar requisições antigas reenviadas por terceiros.
+public final class WebhookSigner {
+
+    public static final String TIMESTAMP_HEADER = "X-Webhook-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private WebhookSigner() {
+    }
+
+    public static String sign(String secret, long timestamp, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            mac.update((timestamp + ".").getBytes(StandardCharsets.UTF_8));
+            return "v1=" + HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponível", e);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.projeto.subscription.shared.config;
 
-import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.identity.model.AuthenticatedUser;
+import com.projeto.subscription.modules.identity.service.PrincipalCache;
+import com.projeto.subscription.modules.identity.service.TokenRevocationService;
+import com.projeto.subscription.modules.tenant.service.TenantRegistry;
+import com.projeto.subscription.shared.exception.ErrorResponseWriter;
+import com.projeto.subscription.shared.metrics.FilterMetrics;
 import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.tenant_context.TenantFilter;
 
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -21,44 +30,93 @@ import java.util.UUID;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Mesmo repositório que a sessão STATELESS usa no SecurityContextHolderFilter: o contexto fica num atributo da
+    // requisição e é restaurado no despacho ASYNC de uma resposta em streaming (ex.: /exports), que este filtro pula
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
     private final TokenService tokenService;
-    private final UserRepository userRepository;
-
-    public JwtAuthenticationFilter(TokenService tokenService, UserRepository userRepository) {
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final TenantRegistry tenantRegistry;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final FilterMetrics filterMetrics;
+
+    public JwtAuthenticationFilter(TokenService tokenService, PrincipalCache principalCache,
+            TokenRevocationService tokenRevocationService, TenantRegistry tenantRegistry,
+            ErrorResponseWriter errorResponseWriter, FilterMetrics filterMetrics) {
         this.tokenService = tokenService;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.tenantRegistry = tenantRegistry;
+        this.errorResponseWriter = errorResponseWriter;
+        this.filterMetrics = filterMetrics;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
         String token = recoveryToken(request);
+        Claims claims = tokenService.getClaims(token);
 
-        try {
-            Claims claims = tokenService.getClaims(token);
+        if (claims == null) {
+            filterMetrics.record("jwt", TenantContext.getCurrentTenant(), start);
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-            if (claims != null) {
+        String login = claims.getSubject();
+        String tenantIdClaim = claims.get("tenantId", String.class);
+        UUID tenantId = tenantIdClaim != null ? UUID.fromString(tenantIdClaim) : null;
 
-                String login = claims.getSubject();
-                String tenantId = claims.get("tenantId", String.class);
+        // Token de um tenant desativado deixa de valer imediatamente, sem esperar a expiração
+        if (tenantId != null && !tenantRegistry.isActive(tenantId)) {
+            filterMetrics.record("jwt", tenantId, start);
+            errorResponseWriter.write(response, HttpStatus.FORBIDDEN, "Tenant inativo");
+            return;
+        }
 
-                if (tenantId != null) {
-                    TenantContext.setCurrentTenant(UUID.fromString(tenantId));
-                }
+        // O TenantFilter roda antes e já pôs no contexto o X-Tenant-ID válido. Token de um tenant só vale nele: um
+        // header apontando para outro tenant é recusado. Só tokens globais (sem o claim) escolhem o tenant pelo header.
+        UUID headerTenant = TenantContext.getCurrentTenant();
+        if (tenantId != null && headerTenant != null && !headerTenant.equals(tenantId)) {
+            filterMetrics.record("jwt", tenantId, start);
+            errorResponseWriter.write(response, HttpStatus.FORBIDDEN, "O token não pertence ao tenant informado");
+            return;
+        }
+        UUID scopedTenant = tenantId != null ? tenantId : headerTenant;
+
+        // O principal é buscado no tenant do token (o de um token global não está no filtro do tenant do header)
+        AuthenticatedUser user = TenantContext.callWithTenant(tenantId,
+                () -> principalCache.resolve(tenantId, login).orElse(null));
 
-                userRepository.findByEmail(login).ifPresent(user -> {
-                    var authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
+        try (TenantContext.Scope scope = TenantContext.open(scopedTenant)) {
 
-                    var authentication = new UsernamePasswordAuthenticationToken(user, null, List.of(authority));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                });
+            // Revogação checada em memória (bloom filter); só um "talvez" vai ao banco
+            if (user != null && tokenRevocationService.isRevoked(jti(claims), user.id())) {
+                filterMetrics.record("jwt", scopedTenant, start);
+                errorResponseWriter.write(response, HttpStatus.UNAUTHORIZED, "Token revogado");
+                return;
             }
-            filterChain.doFilter(request, response);
 
-        } finally {
-            TenantContext.clear();
+            if (user != null) {
+                var authority = new SimpleGrantedAuthority("ROLE_" + user.role().name());
+
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, List.of(authority));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                securityContextRepository.saveContext(SecurityContextHolder.getContext(), request, response);
+            }
+
+            if (scopedTenant != null) {
+                request.setAttribute(TenantFilter.TENANT_ATTRIBUTE, scopedTenant);
+            }
+            filterMetrics.record("jwt", scopedTenant, start);
+
+            filterChain.doFilter(request, response);
         }
+    }
 
+    private static UUID jti(Claims claims) {
+        return claims.getId() != null ? UUID.fromString(claims.getId()) : null;
     }
 
     private String recoveryToken(HttpServletRequest request) {
@@ -0,0 +1,117 @@
+package com.projeto.subscription.shared.config;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.NativeDetector;
+
+import com.projeto.subscription.modules.billing.dto.SubscriptionOwnerDTO;
+import com.projeto.subscription.modules.billing.dto.SubscriptionResponseDTO;
+import com.projeto.subscription.modules.billing.dto.UsageRecordDTO;
+import com.projeto.subscription.modules.billing.model.RenewalCheckpoint;
+import com.projeto.subscription.modules.billing.model.Subscription;
+import com.projeto.subscription.modules.billing.model.UsageRecord;
+import com.projeto.subscription.modules.identity.dto.UserRequestDTO;
+import com.projeto.subscription.modules.identity.dto.UserResponseDTO;
+import com.projeto.subscription.modules.identity.model.RefreshToken;
+import com.projeto.subscription.modules.identity.model.RevokedToken;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.plan.dto.PlanResponseDTO;
+import com.projeto.subscription.modules.plan.model.Plan;
+import com.projeto.subscription.modules.tenant.dto.TenantRowCount;
+import com.projeto.subscription.modules.tenant.model.Tenant;
+import com.projeto.subscription.modules.webhook.model.WebhookEndpoint;
+import com.projeto.subscription.shared.datasource.SkipLockedH2Dialect;
+import com.projeto.subscription.shared.exception.ErrorResponseDTO;
+import com.projeto.subscription.shared.outbox.OutboxEvent;
+import com.projeto.subscription.shared.pagination.CursorPageDTO;
+import com.projeto.subscription.shared.util.BaseEntity;
+
+import db.migration.V5__Shard_sequence_ranges;
+
+// O que o AOT do Spring não descobre sozinho e a imagem nativa precisa saber de antemão. Na JVM (com ou sem
+// spring.aot.enabled) nada disto muda o comportamento.
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+public class NativeImageConfig {
+
+    // Na imagem nativa o Flyway não consegue varrer o classpath atrás de migrações Java; as SQL o Spring Boot já
+    // resolve. Na JVM a varredura acha a V5 e registrá-la de novo duplicaria a versão.
+    @Bean
+    public FlywayConfigurationCustomizer nativeJavaMigrations() {
+        return configuration -> {
+            if (NativeDetector.inNativeImage()) {
+                configuration.javaMigrations(new V5__Shard_sequence_ranges());
+            }
+        };
+    }
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        // O jjwt-api instancia a implementação pelo nome (Classes.newInstance) e acha o serializador JSON pelo
+        // ServiceLoader
+        static final List<String> JJWT_IMPLEMENTATION = List.of(
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+                "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+                "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+                "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+                "io.jsonwebtoken.impl.security.JwksBridge",
+                "io.jsonwebtoken.impl.security.KeysBridge",
+                "io.jsonwebtoken.impl.security.StandardCurves",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+        // Entidades (getters/setters e builders gerados pelo Lombok) lidas e escritas pelo Hibernate por reflexão,
+        // inclusive a superclasse que declara o tenantFilter
+        static final List<Class<?>> ENTITIES = List.of(BaseEntity.class, User.class, RefreshToken.class,
+                RevokedToken.class, Tenant.class, Plan.class, Subscription.class, RenewalCheckpoint.class,
+                UsageRecord.class, OutboxEvent.class, WebhookEndpoint.class);
+
+        // Instanciados pelo Hibernate nas consultas "select new"
+        static final List<Class<?>> QUERY_PROJECTIONS = List.of(UserResponseDTO.class, PlanResponseDTO.class,
+                SubscriptionOwnerDTO.class, UsageRecordDTO.class, TenantRowCount.class);
+
+        // Serializados pelo ObjectMapper fora dos controllers (payloads do outbox, catálogo em cache, erros dos
+        // filtros, linhas da importação), onde o AOT não enxerga o tipo
+        static final List<Class<?>> JSON_OUTSIDE_CONTROLLERS = List.of(UserResponseDTO.class, PlanResponseDTO.class,
+                SubscriptionResponseDTO.class, CursorPageDTO.class, ErrorResponseDTO.class, UserRequestDTO.class);
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            JJWT_IMPLEMENTATION.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            Stream.concat(ENTITIES.stream(), QUERY_PROJECTIONS.stream()).forEach(type -> hints.reflection()
+                    .registerType(type, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                            MemberCategory.INVOKE_DECLARED_METHODS));
+
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    JSON_OUTSIDE_CONTROLLERS.toArray(Class<?>[]::new));
+
+            // Instanciado pelo Hibernate a partir de spring.jpa.database-platform
+            hints.reflection().registerType(SkipLockedH2Dialect.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
@@ -1,26 +1,71 @@
 package com.projeto.subscription.shared.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.projeto.subscription.modules.identity.model.AuthenticatedUser;
+import com.projeto.subscription.shared.ratelimit.RateLimitFilter;
+import com.projeto.subscription.shared.tenant_context.TenantFilter;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final TenantFilter tenantFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final Integer managementPort;
+    private final int serverPort;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, TenantFilter tenantFilter,
+            RateLimitFilter rateLimitFilter,
+            @Value("${management.server.port:#{null}}") Integer managementPort,
+            @Value("${server.port:8080}") int serverPort) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.tenantFilter = tenantFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.managementPort = managementPort;
+        this.serverPort = serverPort;
+    }
+
+    // Os filtros abaixo rodam só dentro da cadeia do Spring Security, não como filtros de servlet avulsos
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilterRegistration() {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(tenantFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(
+                jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
     }
 
     @Bean
@@ -34,11 +79,32 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(org.springframework.http.HttpMethod.POST, "/auth/login").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.POST, "/auth/login", "/auth/refresh", "/auth/logout")
+                        .permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.POST, "/users").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/actuator/prometheus")
+                        .access(scrapeAccess())
                         .anyRequest().authenticated())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(tenantFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
+
+    // As métricas têm o id de cada tenant nas tags. Na porta de gerenciamento (management.server.port, fora do
+    // alcance público) o scraper entra sem token; na porta da API, só um ADMIN global (sem tenant).
+    private AuthorizationManager<RequestAuthorizationContext> scrapeAccess() {
+        return (authentication, context) -> {
+            if (managementPort != null && managementPort != serverPort
+                    && context.getRequest().getLocalPort() == managementPort) {
+                return new AuthorizationDecision(true);
+            }
+            Authentication current = authentication.get();
+            return new AuthorizationDecision(current != null
+                    && current.getPrincipal() instanceof AuthenticatedUser user
+                    && user.tenantId() == null && user.role() == UserRole.ADMIN);
+        };
+    }
 }
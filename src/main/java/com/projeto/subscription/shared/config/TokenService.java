@@ -1,51 +1,139 @@
 package com.projeto.subscription.shared.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.projeto.subscription.modules.identity.model.User;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret:my-secret-key-that-must-be-long-enough}")
-    private String secret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Cache<TokenDigest, Claims> verifiedClaims;
+    private final Duration accessTokenTtl;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public TokenService(@Value("${api.security.token.secret:my-secret-key-that-must-be-long-enough}") String secret,
+            @Value("${api.security.token.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${api.security.token.cache.max-size:50000}") long cacheMaxSize,
+            @Value("${api.security.token.access-ttl:15m}") Duration accessTokenTtl) {
+        this.accessTokenTtl = accessTokenTtl;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedClaims = cacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfter(new ExpireWithToken())
+                        .build()
+                : null;
     }
 
+    // Token de acesso curto; o jti permite revogar um token específico (logout) antes de expirar
     public String generateToken(User user) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(user.getEmail())
                 .claim("tenantId", user.getTenantId())
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + 86400000)) // 24h
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + accessTokenTtl.toMillis()))
+                .signWith(signingKey)
                 .compact();
     }
 
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
     public Claims getClaims(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (Exception e) {
-            return null; // TODO: handle exception
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        if (verifiedClaims == null) {
+            return parse(token);
+        }
+
+        // A chave é o digest do token inteiro: qualquer alteração no token gera outra entrada e passa pela verificação HMAC
+        TokenDigest digest = TokenDigest.of(token);
+        Claims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
         }
+
+        Claims claims = parse(token);
+        if (claims != null) {
+            verifiedClaims.put(digest, claims);
+        }
+        return claims;
     }
 
     public String validateToken(String token) {
         Claims claims = getClaims(token);
         return claims != null ? claims.getSubject() : null;
     }
+
+    private Claims parse(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+                ByteBuffer buffer = ByteBuffer.wrap(hash);
+                return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static class ExpireWithToken implements Expiry<TokenDigest, Claims> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
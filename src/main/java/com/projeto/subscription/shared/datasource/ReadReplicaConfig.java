@@ -0,0 +1,74 @@
+package com.projeto.subscription.shared.datasource;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Ligado por api.datasource.replica.enabled. O primário continua configurado por spring.datasource.*; a réplica tem
+// pool próprio (api.datasource.replica.hikari.*). Os dois pools aparecem separados nas métricas do Hikari.
+@Configuration
+@ConditionalOnProperty(name = "api.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("api.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${api.datasource.replica.url}") String url,
+            @Value("${api.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${api.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        if (properties.getDriverClassName() != null) {
+            dataSource.setDriverClassName(properties.getDriverClassName());
+        }
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealth replicaHealth(HikariDataSource replicaDataSource, MeterRegistry meterRegistry,
+            @Value("${api.datasource.replica.health-query:}") String healthQuery,
+            @Value("${api.datasource.replica.health-timeout:2s}") Duration timeout) {
+        ReplicaHealth health = new ReplicaHealth(replicaDataSource, healthQuery, (int) Math.max(1, timeout.toSeconds()));
+        meterRegistry.gauge("datasource.replica.healthy", health, h -> h.isHealthy() ? 1 : 0);
+        return health;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(
+            @Value("${api.datasource.replica.read-your-writes-window:0s}") Duration window) {
+        return new ReadYourWrites(window, 100_000);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+            ReplicaHealth replicaHealth, ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource,
+                replicaHealth, readYourWrites, meterRegistry));
+    }
+}
@@ -0,0 +1,72 @@
+package com.projeto.subscription.shared.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Transações read-only vão para a réplica; o resto (escritas e acesso fora de transação, como o Flyway) vai para o
+// primário. Precisa estar atrás de um LazyConnectionDataSourceProxy: a conexão física só é pedida no primeiro
+// statement, quando a flag read-only da transação já está definida.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaHealth replicaHealth;
+    private final ReadYourWrites readYourWrites;
+    private final Counter toPrimary;
+    private final Counter toReplica;
+    private final Counter fallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealth replicaHealth,
+            ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.replicaHealth = replicaHealth;
+        this.readYourWrites = readYourWrites;
+        this.toPrimary = routeCounter(meterRegistry, "primary");
+        this.toReplica = routeCounter(meterRegistry, "replica");
+        this.fallbacks = Counter.builder("datasource.routing.fallbacks")
+                .description("Leituras read-only desviadas para o primário (réplica indisponível ou read-your-writes)")
+                .register(meterRegistry);
+
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordAfterCommit(TenantContext.getCurrentTenant());
+            }
+            toPrimary.increment();
+            return Route.PRIMARY;
+        }
+
+        if (!replicaHealth.isHealthy() || readYourWrites.recentlyWrote(TenantContext.getCurrentTenant())) {
+            fallbacks.increment();
+            toPrimary.increment();
+            return Route.PRIMARY;
+        }
+
+        toReplica.increment();
+        return Route.REPLICA;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing")
+                .description("Conexões entregues por destino")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
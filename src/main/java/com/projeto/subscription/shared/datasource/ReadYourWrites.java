@@ -0,0 +1,40 @@
+package com.projeto.subscription.shared.datasource;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.subscription.shared.util.TransactionHooks;
+
+// Depois que um tenant commita uma transação de escrita, as leituras dele ficam no primário durante a janela,
+// para não ler da réplica um estado anterior à própria escrita. Janela zero desliga o mecanismo.
+public class ReadYourWrites {
+
+    private static final UUID NO_TENANT = new UUID(0L, 0L);
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window, long maxTenants) {
+        this.recentWriters = window.isZero()
+                ? null
+                : Caffeine.newBuilder()
+                        .maximumSize(maxTenants)
+                        .expireAfterWrite(window)
+                        .build();
+    }
+
+    public void recordAfterCommit(UUID tenantId) {
+        if (recentWriters != null) {
+            TransactionHooks.afterCommit(() -> recentWriters.put(key(tenantId), Boolean.TRUE));
+        }
+    }
+
+    public boolean recentlyWrote(UUID tenantId) {
+        return recentWriters != null && recentWriters.getIfPresent(key(tenantId)) != null;
+    }
+
+    private static UUID key(UUID tenantId) {
+        return tenantId != null ? tenantId : NO_TENANT;
+    }
+}
@@ -0,0 +1,68 @@
+package com.projeto.subscription.shared.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Checagem periódica da réplica. Com health-query vazia basta a conexão ser válida; com uma consulta, a réplica só
+// é considerada saudável se ela retornar ao menos uma linha, o que permite embutir um limite de atraso de replicação
+// (ex.: no PostgreSQL, SELECT 1 WHERE now() - pg_last_xact_replay_timestamp() < interval '5 seconds').
+@Slf4j
+public class ReplicaHealth {
+
+    private final DataSource replica;
+    private final String healthQuery;
+    private final int timeoutSeconds;
+    private final AtomicBoolean healthy = new AtomicBoolean(false);
+
+    public ReplicaHealth(DataSource replica, String healthQuery, int timeoutSeconds) {
+        this.replica = replica;
+        this.healthQuery = healthQuery;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    public boolean isHealthy() {
+        return healthy.get();
+    }
+
+    // Também roda na subida: a réplica só recebe leituras depois de uma checagem bem-sucedida
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${api.datasource.replica.health-check-interval:5s}")
+    public void check() {
+        boolean ok = probe();
+        if (healthy.getAndSet(ok) != ok) {
+            if (ok) {
+                log.info("Réplica de leitura voltou; leituras read-only voltam para ela");
+            } else {
+                log.warn("Réplica de leitura indisponível; leituras read-only vão para o primário");
+            }
+        }
+    }
+
+    private boolean probe() {
+        try (Connection connection = replica.getConnection()) {
+            if (healthQuery == null || healthQuery.isBlank()) {
+                return connection.isValid(timeoutSeconds);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(healthQuery)) {
+                statement.setQueryTimeout(timeoutSeconds);
+                try (ResultSet result = statement.executeQuery()) {
+                    return result.next();
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Falha na checagem da réplica", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.projeto.subscription.shared.datasource;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+
+// O H2 aceita FOR UPDATE SKIP LOCKED desde a 2.2, mas o H2Dialect do Hibernate não declara suporte e troca o
+// lock.timeout SKIP_LOCKED por um FOR UPDATE comum. Sem isto a renovação (SubscriptionRepository.findDueForRenewal)
+// esperaria, no H2, pelas linhas travadas em vez de pulá-las. No PostgreSQL o dialeto padrão já gera SKIP LOCKED.
+public class SkipLockedH2Dialect extends H2Dialect {
+
+    public SkipLockedH2Dialect() {
+        super();
+    }
+
+    public SkipLockedH2Dialect(DialectResolutionInfo info) {
+        super(info);
+    }
+
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String getForUpdateSkipLockedString() {
+        return " for update skip locked";
+    }
+
+    @Override
+    public String getForUpdateSkipLockedString(String aliases) {
+        return getForUpdateSkipLockedString();
+    }
+}
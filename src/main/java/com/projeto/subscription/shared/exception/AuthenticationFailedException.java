@@ -0,0 +1,9 @@
+package com.projeto.subscription.shared.exception;
+
+// Sem stack trace: é um fluxo esperado (credenciais erradas) e pode ocorrer em rajadas
+public class AuthenticationFailedException extends RuntimeException {
+
+    public AuthenticationFailedException(String message) {
+        super(message, null, false, false);
+    }
+}
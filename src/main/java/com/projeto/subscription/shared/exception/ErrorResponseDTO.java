@@ -0,0 +1,4 @@
+package com.projeto.subscription.shared.exception;
+
+public record ErrorResponseDTO(String message) {
+}
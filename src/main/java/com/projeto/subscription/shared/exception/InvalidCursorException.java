@@ -0,0 +1,8 @@
+package com.projeto.subscription.shared.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        super("Cursor de paginação inválido", null, false, false);
+    }
+}
@@ -0,0 +1,9 @@
+package com.projeto.subscription.shared.exception;
+
+// Requisição bem formada mas com valores que o serviço recusa (validações além do Bean Validation)
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.projeto.subscription.shared.exception;
+
+public class ResourceConflictException extends RuntimeException {
+
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+}
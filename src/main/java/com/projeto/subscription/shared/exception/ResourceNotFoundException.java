@@ -0,0 +1,8 @@
+package com.projeto.subscription.shared.exception;
+
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.projeto.subscription.shared.metrics;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Tempo gasto dentro de cada filtro de servlet, sem contar o resto da cadeia
+@Component
+public class FilterMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final TenantTagLimiter tenantTags;
+
+    public FilterMetrics(MeterRegistry meterRegistry, TenantTagLimiter tenantTags) {
+        this.meterRegistry = meterRegistry;
+        this.tenantTags = tenantTags;
+    }
+
+    public void record(String filter, UUID tenantId, long startNanos) {
+        Timer.builder("http.server.filter")
+                .description("Tempo de processamento próprio de cada filtro")
+                .tag("filter", filter)
+                .tag(TenantTagLimiter.TAG, tenantTags.tagFor(tenantId))
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
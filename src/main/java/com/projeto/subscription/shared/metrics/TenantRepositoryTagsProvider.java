@@ -0,0 +1,27 @@
+package com.projeto.subscription.shared.metrics;
+
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.stereotype.Component;
+
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+// Tags do spring.data.repository.invocations com o tenant da chamada
+@Component
+public class TenantRepositoryTagsProvider extends DefaultRepositoryTagsProvider {
+
+    private final TenantTagLimiter tenantTags;
+
+    public TenantRepositoryTagsProvider(TenantTagLimiter tenantTags) {
+        this.tenantTags = tenantTags;
+    }
+
+    @Override
+    public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+        return Tags.of(super.repositoryTags(invocation))
+                .and(TenantTagLimiter.TAG, tenantTags.tagFor(TenantContext.getCurrentTenant()));
+    }
+}
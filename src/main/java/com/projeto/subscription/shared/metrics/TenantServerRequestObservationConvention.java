@@ -0,0 +1,29 @@
+package com.projeto.subscription.shared.metrics;
+
+import java.util.UUID;
+
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import com.projeto.subscription.shared.tenant_context.TenantFilter;
+
+import io.micrometer.common.KeyValues;
+
+// Acrescenta a tag "tenant" ao http.server.requests de todos os endpoints. O tenant é lido do atributo que os
+// filtros gravam no request, porque quando a observação termina o TenantContext da requisição já foi fechado.
+@Component
+public class TenantServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private final TenantTagLimiter tenantTags;
+
+    public TenantServerRequestObservationConvention(TenantTagLimiter tenantTags) {
+        this.tenantTags = tenantTags;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        UUID tenantId = (UUID) context.getCarrier().getAttribute(TenantFilter.TENANT_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context).and(TenantTagLimiter.TAG, tenantTags.record(tenantId));
+    }
+}
@@ -0,0 +1,103 @@
+package com.projeto.subscription.shared.metrics;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Limita a cardinalidade da tag "tenant": só os N tenants com mais requisições na última janela ganham série
+// própria, o resto vai para "other". A cada janela o ranking é refeito e as séries dos tenants rebaixados são
+// removidas do registry, então a memória fica limitada a N tenants independentemente de quantos existam.
+@Component
+public class TenantTagLimiter {
+
+    public static final String TAG = "tenant";
+    public static final String OTHER = "other";
+    public static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxTenants;
+    private final Cache<UUID, LongAdder> requestCounts;
+
+    private volatile Set<UUID> tagged = ConcurrentHashMap.newKeySet();
+
+    public TenantTagLimiter(MeterRegistry meterRegistry,
+            @Value("${api.metrics.tenant-tags.max-tenants:20}") int maxTenants,
+            @Value("${api.metrics.tenant-tags.max-tracked:10000}") long maxTracked) {
+        this.meterRegistry = meterRegistry;
+        this.maxTenants = maxTenants;
+        this.requestCounts = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .build();
+    }
+
+    // Conta a requisição para o ranking e devolve o valor da tag para esse tenant
+    public String record(UUID tenantId) {
+        if (tenantId == null) {
+            return NONE;
+        }
+        requestCounts.get(tenantId, id -> new LongAdder()).increment();
+        return tagFor(tenantId);
+    }
+
+    public String tagFor(UUID tenantId) {
+        if (tenantId == null) {
+            return NONE;
+        }
+        Set<UUID> current = tagged;
+        if (current.contains(tenantId)) {
+            return tenantId.toString();
+        }
+        // Enquanto há vaga, o tenant entra direto sem esperar o próximo ranking
+        if (current.size() < maxTenants) {
+            synchronized (this) {
+                if (tagged.size() < maxTenants) {
+                    tagged.add(tenantId);
+                    return tenantId.toString();
+                }
+            }
+        }
+        return OTHER;
+    }
+
+    @Scheduled(fixedDelayString = "${api.metrics.tenant-tags.rerank-interval:1m}")
+    public synchronized void rerank() {
+        Map<UUID, Long> counts = requestCounts.asMap().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sumThenReset()));
+        requestCounts.asMap().values().removeIf(count -> count.sum() == 0);
+
+        Set<UUID> top = ConcurrentHashMap.newKeySet();
+        counts.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<UUID, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(maxTenants)
+                .forEach(entry -> top.add(entry.getKey()));
+
+        Set<String> demoted = tagged.stream()
+                .filter(tenantId -> !top.contains(tenantId))
+                .map(UUID::toString)
+                .collect(Collectors.toSet());
+        tagged = top;
+
+        if (!demoted.isEmpty()) {
+            for (Meter meter : meterRegistry.getMeters()) {
+                if (demoted.contains(meter.getId().getTag(TAG))) {
+                    meterRegistry.remove(meter);
+                }
+            }
+        }
+    }
+}
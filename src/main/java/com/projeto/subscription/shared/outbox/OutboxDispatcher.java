@@ -0,0 +1,175 @@
+package com.projeto.subscription.shared.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.shared.sharding.ShardOperations;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Drena o outbox em lotes fora do caminho da requisição. Dentro de um lote os eventos são agrupados por tenant e
+// entregues em ordem de tenantSequence (ver OutboxPublisher); se um evento falha, os seguintes do mesmo tenant esperam
+// (os demais tenants seguem) e o tenant entra em backoff exponencial. Eventos entregues são apagados, então um evento
+// só é reentregue se o dispatcher cair entre a entrega e o delete (at-least-once). O backoff por tenant é desta
+// instância: ligar api.outbox.dispatcher.enabled em só uma.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "api.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardOperations shardOperations;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final Map<UUID, Instant> blockedUntil = new ConcurrentHashMap<>();
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    private final Timer lag;
+    private final Counter published;
+    private final Counter failures;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, ApplicationEventPublisher eventPublisher,
+            ShardOperations shardOperations, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${api.outbox.dispatcher.batch-size:200}") int batchSize,
+            @Value("${api.outbox.dispatcher.max-batches-per-poll:50}") int maxBatchesPerPoll,
+            @Value("${api.outbox.dispatcher.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${api.outbox.dispatcher.max-backoff:5m}") Duration maxBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.shardOperations = shardOperations;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        this.lag = Timer.builder("outbox.lag")
+                .description("Tempo entre a gravação do evento e a entrega")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.published").register(meterRegistry);
+        this.failures = Counter.builder("outbox.failures").register(meterRegistry);
+        meterRegistry.gauge("outbox.oldest.age", oldestPendingMillis, age -> age.get() / 1000.0);
+    }
+
+    // Com sharding cada shard tem o próprio outbox: são drenados um após o outro, cada um com o seu limite de lotes
+    @Scheduled(fixedDelayString = "${api.outbox.dispatcher.poll-interval:1s}")
+    public void dispatch() {
+        AtomicLong oldest = new AtomicLong();
+        shardOperations.forEachShard(() -> oldest.accumulateAndGet(dispatchShard(), Math::max));
+        oldestPendingMillis.set(oldest.get());
+    }
+
+    // Retorna a idade, em ms, do evento pendente mais antigo do shard no início da drenagem
+    private long dispatchShard() {
+        long oldestPending = 0;
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            List<OutboxEvent> batch = fetchBatch();
+            if (i == 0) {
+                oldestPending = ageOfOldest(batch);
+            }
+            if (batch.isEmpty()) {
+                return oldestPending;
+            }
+
+            List<Long> delivered = new ArrayList<>(batch.size());
+            for (List<OutboxEvent> tenantEvents : groupByTenant(batch).values()) {
+                deliverInOrder(tenantEvents, delivered);
+            }
+
+            if (!delivered.isEmpty()) {
+                transaction.executeWithoutResult(status -> outboxEventRepository.deleteAllByIdInBatch(delivered));
+            }
+            if (batch.size() < batchSize || delivered.isEmpty()) {
+                return oldestPending;
+            }
+        }
+        return oldestPending;
+    }
+
+    private List<OutboxEvent> fetchBatch() {
+        Instant now = Instant.now();
+        blockedUntil.values().removeIf(until -> !until.isAfter(now));
+
+        return blockedUntil.isEmpty()
+                ? outboxEventRepository.findPending(Limit.of(batchSize))
+                : outboxEventRepository.findPendingExcluding(blockedUntil.keySet(), OutboxEvent.NO_TENANT,
+                        Limit.of(batchSize));
+    }
+
+    private void deliverInOrder(List<OutboxEvent> events, List<Long> delivered) {
+        for (OutboxEvent event : events) {
+            try {
+                TenantContext.runWithTenant(event.getTenantId(),
+                        () -> eventPublisher.publishEvent(OutboxMessage.from(event)));
+            } catch (RuntimeException e) {
+                failed(event, e);
+                return;
+            }
+            delivered.add(event.getId());
+            published.increment();
+            lag.record(Duration.between(event.getCreatedAt(), Instant.now()));
+        }
+    }
+
+    private void failed(OutboxEvent event, RuntimeException error) {
+        failures.increment();
+        int attempts = event.getAttempts() + 1;
+        log.warn("Falha ao entregar o evento {} ({}) do outbox, tentativa {}", event.getId(), event.getEventType(),
+                attempts, error);
+
+        String message = Objects.toString(error.getMessage(), error.getClass().getName());
+        outboxEventRepository.recordFailure(event.getId(), message.length() > 1000 ? message.substring(0, 1000) : message);
+
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration backoff = initialBackoff.multipliedBy(factor);
+        blockedUntil.put(tenantKey(event), Instant.now().plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff));
+    }
+
+    // O lote vem ordenado por tenant, não por data: o mais antigo pode estar em qualquer posição
+    private static long ageOfOldest(List<OutboxEvent> batch) {
+        return batch.stream()
+                .map(OutboxEvent::getCreatedAt)
+                .min(Instant::compareTo)
+                .map(oldest -> Math.max(0, Duration.between(oldest, Instant.now()).toMillis()))
+                .orElse(0L);
+    }
+
+    private static Map<UUID, List<OutboxEvent>> groupByTenant(List<OutboxEvent> batch) {
+        Map<UUID, List<OutboxEvent>> byTenant = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            byTenant.computeIfAbsent(tenantKey(event), key -> new ArrayList<>()).add(event);
+        }
+        return byTenant;
+    }
+
+    private static UUID tenantKey(OutboxEvent event) {
+        return OutboxEvent.tenantKey(event.getTenantId());
+    }
+}
@@ -0,0 +1,68 @@
+package com.projeto.subscription.shared.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Não estende BaseEntity: o dispatcher lê eventos de todos os tenants. A sequence com allocationSize 50 mantém os
+// inserts do outbox no mesmo batch JDBC da entidade. A ordem de entrega é a de tenantSequence (ver OutboxPublisher).
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    // Chave dos eventos sem tenant no contador e no backoff do dispatcher
+    static final UUID NO_TENANT = new UUID(0L, 0L);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Column(nullable = false)
+    private long tenantSequence;
+
+    @Column(nullable = false, length = 100)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    @Column(nullable = false, length = 100)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    static UUID tenantKey(UUID tenantId) {
+        return tenantId != null ? tenantId : NO_TENANT;
+    }
+}
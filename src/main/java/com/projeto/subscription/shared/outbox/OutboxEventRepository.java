@@ -0,0 +1,33 @@
+package com.projeto.subscription.shared.outbox;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Ordena pela posição do evento na fila do tenant e depois pelo id: o lote intercala os tenants e, de cada um,
+    // traz só os menores tenantSequence pendentes, nunca um evento sem os anteriores do mesmo tenant
+    @Query("select e from OutboxEvent e "
+            + "order by row_number() over (partition by e.tenantId order by e.tenantSequence), e.id")
+    List<OutboxEvent> findPending(Limit limit);
+
+    // Tenants em backoff ficam de fora para não ocuparem o lote inteiro com eventos que não podem sair.
+    // O tenant nulo (eventos globais) entra na lista como :none.
+    @Query("select e from OutboxEvent e where coalesce(e.tenantId, :none) not in :blocked "
+            + "order by row_number() over (partition by e.tenantId order by e.tenantSequence), e.id")
+    List<OutboxEvent> findPendingExcluding(@Param("blocked") Collection<UUID> blocked, @Param("none") UUID none,
+            Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.lastError = :error where e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+}
@@ -0,0 +1,24 @@
+package com.projeto.subscription.shared.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Evento entregue aos consumidores (@EventListener) pelo OutboxDispatcher. A entrega é at-least-once: o mesmo id
+// pode chegar de novo depois de uma falha, então consumidores devem ser idempotentes por id. tenantSequence cresce
+// de um em um dentro do tenant e é a ordem em que os eventos dele são entregues.
+public record OutboxMessage(
+        long id,
+        UUID tenantId,
+        long tenantSequence,
+        String aggregateType,
+        UUID aggregateId,
+        String eventType,
+        String payload,
+        Instant createdAt) {
+
+    static OutboxMessage from(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getTenantId(), event.getTenantSequence(),
+                event.getAggregateType(), event.getAggregateId(), event.getEventType(), event.getPayload(),
+                event.getCreatedAt());
+    }
+}
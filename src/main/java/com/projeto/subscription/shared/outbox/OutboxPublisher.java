@@ -0,0 +1,119 @@
+package com.projeto.subscription.shared.outbox;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Grava o evento na transação de quem chama (MANDATORY): o evento existe se, e somente se, a entidade foi
+// commitada. No caminho da requisição o custo é só mais um insert no mesmo batch; a entrega é do OutboxDispatcher.
+//
+// A ordem por tenant vem de tenantSequence, e não do id (os ids saem em blocos reservados por instância, e transações
+// concorrentes commitam fora da ordem dos ids). O primeiro evento de um tenant numa transação incrementa o contador
+// dele em outbox_sequences, o que trava a linha até o commit; os eventos seguintes do mesmo tenant são numerados em
+// memória e o último número é gravado no beforeCommit. Uma segunda transação do mesmo tenant espera na linha e só
+// recebe números depois do commit da primeira, e um rollback devolve os números: os eventos commitados de um tenant
+// são sempre uma sequência sem buracos, na ordem de commit. O preço é que transações do mesmo tenant que publicam
+// eventos se enfileiram do primeiro publish até o commit; tenants diferentes não se esperam.
+@Component
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSequenceRepository outboxSequenceRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository,
+            OutboxSequenceRepository outboxSequenceRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSequenceRepository = outboxSequenceRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(UUID tenantId, String aggregateType, UUID aggregateId, String eventType, Object payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .tenantId(tenantId)
+                .tenantSequence(nextSequence(OutboxEvent.tenantKey(tenantId)))
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(serialize(payload))
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private long nextSequence(UUID tenantKey) {
+        Reservations reservations = (Reservations) TransactionSynchronizationManager.getResource(this);
+        if (reservations == null) {
+            reservations = new Reservations();
+            TransactionSynchronizationManager.bindResource(this, reservations);
+            TransactionSynchronizationManager.registerSynchronization(reservations);
+        }
+        Reservation reservation = reservations.byTenant.get(tenantKey);
+        if (reservation == null) {
+            long first = outboxSequenceRepository.next(tenantKey);
+            reservations.byTenant.put(tenantKey, new Reservation(first));
+            return first;
+        }
+        return ++reservation.used;
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento do outbox", e);
+        }
+    }
+
+    private static final class Reservation {
+
+        private final long stored;
+        private long used;
+
+        Reservation(long stored) {
+            this.stored = stored;
+            this.used = stored;
+        }
+    }
+
+    // Números usados pela transação corrente, por tenant. Sai do thread junto com a transação quando uma
+    // REQUIRES_NEW a suspende, para que a interna tenha as próprias reservas.
+    private final class Reservations implements TransactionSynchronization {
+
+        private final Map<UUID, Reservation> byTenant = new HashMap<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(OutboxPublisher.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(OutboxPublisher.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            byTenant.forEach((tenantKey, reservation) -> {
+                if (reservation.used > reservation.stored) {
+                    outboxSequenceRepository.advance(tenantKey, reservation.used);
+                }
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxPublisher.this);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.projeto.subscription.shared.outbox;
+
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Contadores de outbox_sequences em JDBC, na conexão da transação de quem publica: não disparam o flush do Hibernate,
+// então os inserts do outbox continuam no mesmo batch da entidade.
+@Repository
+public class OutboxSequenceRepository {
+
+    private static final String NEXT = "MERGE INTO outbox_sequences s "
+            + "USING (VALUES (CAST(? AS UUID))) AS d (tenant_id) ON s.tenant_id = d.tenant_id "
+            + "WHEN MATCHED THEN UPDATE SET last_sequence = s.last_sequence + 1 "
+            + "WHEN NOT MATCHED THEN INSERT (tenant_id, last_sequence) VALUES (d.tenant_id, 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxSequenceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Incrementa e devolve o contador do tenant; a linha fica travada até o fim da transação
+    public long next(UUID tenantKey) {
+        jdbcTemplate.update(NEXT, tenantKey);
+        return jdbcTemplate.queryForObject("SELECT last_sequence FROM outbox_sequences WHERE tenant_id = ?",
+                Long.class, tenantKey);
+    }
+
+    // Grava o último número usado pela transação, que já tem a linha travada desde next()
+    public void advance(UUID tenantKey, long lastSequence) {
+        jdbcTemplate.update("UPDATE outbox_sequences SET last_sequence = ? WHERE tenant_id = ?", lastSequence,
+                tenantKey);
+    }
+}
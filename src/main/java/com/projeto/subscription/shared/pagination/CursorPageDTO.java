@@ -0,0 +1,8 @@
+package com.projeto.subscription.shared.pagination;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+        List<T> items,
+        String nextCursor) {
+}
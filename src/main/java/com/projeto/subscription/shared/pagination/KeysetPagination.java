@@ -0,0 +1,75 @@
+package com.projeto.subscription.shared.pagination;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.projeto.subscription.shared.exception.InvalidCursorException;
+
+// Paginação por keyset ordenada pelo id: cada página é um "id > :cursor order by id limit :size",
+// então o custo não cresce com a profundidade como acontece com OFFSET
+@Component
+public class KeysetPagination {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public KeysetPagination(@Value("${api.pagination.default-size:50}") int defaultSize,
+            @Value("${api.pagination.max-size:200}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public int resolveSize(Integer requested) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        return Math.clamp(requested, 1, maxSize);
+    }
+
+    // Busca um registro a mais que o tamanho da página para saber se existe próxima página
+    public Limit fetchLimit(int size) {
+        return Limit.of(size + 1);
+    }
+
+    public UUID decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            byte[] bytes = DECODER.decode(cursor);
+            if (bytes.length != 16) {
+                throw new InvalidCursorException();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public String encode(UUID id) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    public <E, T> CursorPageDTO<T> page(List<E> rows, int size, Function<E, UUID> idOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext ? encode(idOf.apply(pageRows.get(pageRows.size() - 1))) : null;
+        return new CursorPageDTO<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+}
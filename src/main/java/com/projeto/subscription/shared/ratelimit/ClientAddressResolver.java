@@ -0,0 +1,106 @@
+package com.projeto.subscription.shared.ratelimit;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Endereço do cliente para o limite de anônimos. Atrás de balanceador o remoteAddr é o do proxy, e todo anônimo
+// (inclusive o /auth/login de todos os tenants) cairia num bucket só. Quando a conexão vem de um proxy de
+// api.rate-limit.trusted-proxies, o X-Forwarded-For é lido da direita para a esquerda pulando os proxies confiáveis;
+// o primeiro endereço que não é de proxy é o cliente. O que o próprio cliente escreveu no header fica à esquerda dele
+// e é ignorado. Sem proxies configurados (ou conexão direta), vale o remoteAddr.
+@Component
+public class ClientAddressResolver {
+
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    // Só literais: um nome no header não pode disparar consulta de DNS
+    private static final String OCTET = "(25[0-5]|2[0-4]\\d|1?\\d?\\d)";
+    private static final Pattern IPV4 = Pattern.compile(OCTET + "(\\." + OCTET + "){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private final List<Network> trustedProxies;
+
+    public ClientAddressResolver(RateLimitProperties properties) {
+        this.trustedProxies = properties.trustedProxies().stream().map(Network::parse).toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (trustedProxies.isEmpty() || !isTrusted(remoteAddress)) {
+            return remoteAddress;
+        }
+        String client = remoteAddress;
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (forwardedFor == null) {
+            return client;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].strip();
+            if (literal(hop) == null) {
+                // Valor inválido: não dá para confiar no que está à esquerda dele
+                return client;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        InetAddress parsed = literal(address);
+        return parsed != null && trustedProxies.stream().anyMatch(network -> network.contains(parsed));
+    }
+
+    private static InetAddress literal(String address) {
+        if (address == null || !(IPV4.matcher(address).matches() || IPV6.matcher(address).matches())) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    // Endereço ou bloco CIDR ("10.0.0.0/8", "fd00::/8", "192.168.0.10")
+    private record Network(byte[] address, int prefix) {
+
+        static Network parse(String value) {
+            String[] parts = value.strip().split("/", 2);
+            InetAddress address = literal(parts[0]);
+            if (address == null) {
+                throw new IllegalArgumentException("Proxy confiável inválido em api.rate-limit.trusted-proxies: "
+                        + value);
+            }
+            int bits = address.getAddress().length * 8;
+            int prefix = parts.length == 2 ? Integer.parseInt(parts[1]) : bits;
+            if (prefix < 0 || prefix > bits) {
+                throw new IllegalArgumentException("Prefixo inválido em api.rate-limit.trusted-proxies: " + value);
+            }
+            return new Network(address.getAddress(), prefix);
+        }
+
+        boolean contains(InetAddress candidate) {
+            byte[] bytes = candidate.getAddress();
+            if (bytes.length != address.length) {
+                return false;
+            }
+            for (int bit = 0; bit < prefix; bit += 8) {
+                int mask = prefix - bit >= 8 ? 0xff : 0xff << (8 - (prefix - bit)) & 0xff;
+                if ((bytes[bit / 8] & mask) != (address[bit / 8] & mask)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
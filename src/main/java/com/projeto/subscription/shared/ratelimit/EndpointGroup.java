@@ -0,0 +1,21 @@
+package com.projeto.subscription.shared.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Grupos de endpoints com cotas independentes
+public enum EndpointGroup {
+    LOGIN,
+    READ,
+    WRITE;
+
+    public static EndpointGroup of(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("POST".equals(method) && request.getRequestURI().startsWith("/auth/")) {
+            return LOGIN;
+        }
+        return switch (method) {
+            case "GET", "HEAD", "OPTIONS" -> READ;
+            default -> WRITE;
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.projeto.subscription.shared.ratelimit;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.projeto.subscription.modules.identity.model.AuthenticatedUser;
+import com.projeto.subscription.shared.exception.ErrorResponseWriter;
+import com.projeto.subscription.shared.metrics.TenantTagLimiter;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Roda na cadeia do Spring Security logo depois do JwtAuthenticationFilter, quando tenant e usuário já são conhecidos.
+// Requisições sem tenant (login global, cadastro) ou sem usuário autenticado são limitadas pelo IP do cliente
+// (ClientAddressResolver, que atrás de proxy confiável lê o X-Forwarded-For).
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ClientAddressResolver clientAddressResolver;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final TenantTagLimiter tenantTags;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties,
+            ClientAddressResolver clientAddressResolver, ErrorResponseWriter errorResponseWriter,
+            TenantTagLimiter tenantTags, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.clientAddressResolver = clientAddressResolver;
+        this.errorResponseWriter = errorResponseWriter;
+        this.tenantTags = tenantTags;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        EndpointGroup group = EndpointGroup.of(request);
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(tenantId, subject(tenantId, request), group);
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+
+        if (!decision.allowed()) {
+            long retryAfterSeconds = Math.max(1, (decision.retryAfterNanos() + 999_999_999) / 1_000_000_000);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            rejected(tenantId, group).increment();
+            errorResponseWriter.write(response, HttpStatus.TOO_MANY_REQUESTS, "Limite de requisições excedido");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // O bucket compartilhado do tenant é só de quem se autenticou nele. Sem principal (login, token inválido ou
+    // ausente) o bucket é por IP, mesmo com X-Tenant-ID: um anônimo que só conhece o id não esgota a cota do tenant.
+    private String subject(UUID tenantId, HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (tenantId == null || authentication == null
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            return clientAddressResolver.resolve(request);
+        }
+        return properties.perUser() ? user.id().toString() : null;
+    }
+
+    private Counter rejected(UUID tenantId, EndpointGroup group) {
+        return Counter.builder("http.server.rate_limited")
+                .description("Requisições rejeitadas pelo limitador de taxa")
+                .tag("group", group.name().toLowerCase())
+                .tag(TenantTagLimiter.TAG, tenantTags.tagFor(tenantId))
+                .register(meterRegistry);
+    }
+}
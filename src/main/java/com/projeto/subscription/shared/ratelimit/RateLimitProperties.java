@@ -0,0 +1,48 @@
+package com.projeto.subscription.shared.ratelimit;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// api.rate-limit.defaults.<grupo> vale para todos os tenants; api.rate-limit.tenants.<id ou slug>.<grupo>
+// sobrescreve a cota de um tenant específico. trusted-proxies são os endereços ou blocos CIDR dos proxies cujo
+// X-Forwarded-For é aceito (ClientAddressResolver).
+@ConfigurationProperties("api.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("false") boolean perUser,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("100000") long maxBuckets,
+        Map<EndpointGroup, Quota> defaults,
+        Map<String, Map<EndpointGroup, Quota>> tenants,
+        List<String> trustedProxies) {
+
+    private static final Map<EndpointGroup, Quota> BUILT_IN = new EnumMap<>(Map.of(
+            EndpointGroup.LOGIN, new Quota(20, Duration.ofMinutes(1), 10),
+            EndpointGroup.READ, new Quota(100, Duration.ofSeconds(1), 200),
+            EndpointGroup.WRITE, new Quota(20, Duration.ofSeconds(1), 40)));
+
+    public RateLimitProperties {
+        Map<EndpointGroup, Quota> merged = new EnumMap<>(BUILT_IN);
+        if (defaults != null) {
+            merged.putAll(defaults);
+        }
+        defaults = merged;
+        tenants = tenants != null ? tenants : Map.of();
+        trustedProxies = trustedProxies != null ? List.copyOf(trustedProxies) : List.of();
+    }
+
+    // requests por period, com até burst requisições seguidas
+    public record Quota(long requests, Duration period, int burst) {
+
+        public Quota {
+            if (requests <= 0 || burst <= 0 || period == null || period.isZero() || period.isNegative()) {
+                throw new IllegalArgumentException("Cota de rate limit inválida: requests, period e burst são obrigatórios");
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.projeto.subscription.shared.ratelimit;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projeto.subscription.modules.tenant.service.TenantRegistry;
+import com.projeto.subscription.shared.ratelimit.RateLimitProperties.Quota;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Token bucket na forma GCRA: o estado de cada bucket é um único long (o "theoretical arrival time") atualizado
+// por CAS, sem lock. Buckets sem uso por idle-timeout são descartados pelo Caffeine.
+@Component
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final TenantRegistry tenantRegistry;
+    private final Cache<BucketKey, Bucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties, TenantRegistry tenantRegistry, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tenantRegistry = tenantRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+    }
+
+    // subject identifica o cliente dentro do tenant (usuário ou IP); null compartilha o bucket do tenant
+    public Decision tryAcquire(UUID tenantId, String subject, EndpointGroup group) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(new BucketKey(tenantId, subject, group),
+                key -> new Bucket(quotaFor(tenantId, group), now));
+        return bucket.tryAcquire(now);
+    }
+
+    private Quota quotaFor(UUID tenantId, EndpointGroup group) {
+        if (tenantId != null && !properties.tenants().isEmpty()) {
+            Map<EndpointGroup, Quota> overrides = properties.tenants().get(tenantId.toString());
+            if (overrides == null) {
+                overrides = tenantRegistry.get(tenantId)
+                        .map(entry -> properties.tenants().get(entry.slug()))
+                        .orElse(null);
+            }
+            if (overrides != null && overrides.containsKey(group)) {
+                return overrides.get(group);
+            }
+        }
+        return properties.defaults().get(group);
+    }
+
+    public record Decision(boolean allowed, int limit, long remaining, long retryAfterNanos) {
+    }
+
+    private record BucketKey(UUID tenantId, String subject, EndpointGroup group) {
+    }
+
+    private static final class Bucket {
+
+        private final int limit;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final AtomicLong theoreticalArrival;
+
+        Bucket(Quota quota, long now) {
+            this.limit = quota.burst();
+            this.intervalNanos = Math.max(1, quota.period().toNanos() / quota.requests());
+            this.toleranceNanos = intervalNanos * quota.burst();
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        Decision tryAcquire(long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long debt = next - now;
+                if (debt > toleranceNanos) {
+                    return new Decision(false, limit, 0, debt - toleranceNanos);
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return new Decision(true, limit, (toleranceNanos - debt) / intervalNanos, 0);
+                }
+            }
+        }
+    }
+}
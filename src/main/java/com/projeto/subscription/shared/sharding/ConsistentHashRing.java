@@ -0,0 +1,50 @@
+package com.projeto.subscription.shared.sharding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Anel de hash consistente com nós virtuais: incluir um shard novo só muda o destino de ~1/N dos tenants. Os pontos
+// dos shards saem de MD5(nome#i), estáveis entre instâncias e reinícios.
+public final class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("O anel precisa de ao menos um shard");
+        }
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(point(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    public String shardFor(UUID tenantId) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(tenantId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long point(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Finalizador do SplitMix64 sobre os dois longs do UUID
+    private static long mix(UUID tenantId) {
+        long z = tenantId.getMostSignificantBits() ^ Long.rotateLeft(tenantId.getLeastSignificantBits(), 32);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,38 @@
+package com.projeto.subscription.shared.sharding;
+
+import java.util.function.Supplier;
+
+// Shard explícito para trabalho sem tenant que precisa passar por todos os bancos (jobs, consultas administrativas).
+// Com um tenant no TenantContext o shard dele prevalece; sem nenhum dos dois, vale o shard padrão.
+public final class ShardContext {
+
+    private static final ThreadLocal<String> currentShard = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String getCurrentShard() {
+        return currentShard.get();
+    }
+
+    public static void runOnShard(String shard, Runnable action) {
+        callOnShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T callOnShard(String shard, Supplier<T> action) {
+        String previous = currentShard.get();
+        currentShard.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                currentShard.remove();
+            } else {
+                currentShard.set(previous);
+            }
+        }
+    }
+}
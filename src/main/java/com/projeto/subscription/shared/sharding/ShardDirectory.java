@@ -0,0 +1,105 @@
+package com.projeto.subscription.shared.sharding;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Onde cada tenant mora. Ordem de resolução: tenant_shards (gravada no shard padrão, alterada pelo rebalanceamento),
+// api.sharding.tenants.* e por fim o anel de hash. Tenants novos são fixados em tenant_shards logo após a criação,
+// então incluir um shard no anel não muda o destino de quem já existe: mover dados é sempre explícito.
+//
+// A tabela é lida via JDBC direto no pool do shard padrão, sem passar pelo roteamento nem pelo JPA, e recarregada a
+// cada directory-refresh-interval para pegar mudanças feitas por outras instâncias.
+@Slf4j
+public class ShardDirectory {
+
+    private final JdbcTemplate control;
+    private final ConsistentHashRing ring;
+    private final Map<UUID, String> configured;
+    private final Set<String> shards;
+
+    private volatile Map<UUID, Assignment> assignments = Map.of();
+
+    public ShardDirectory(JdbcTemplate control, ConsistentHashRing ring, Map<UUID, String> configured,
+            Set<String> shards) {
+        this.control = control;
+        this.ring = ring;
+        this.configured = Map.copyOf(configured);
+        this.shards = Set.copyOf(shards);
+    }
+
+    public String shardFor(UUID tenantId) {
+        Assignment assignment = assignments.get(tenantId);
+        if (assignment != null) {
+            return assignment.shard();
+        }
+        String shard = configured.get(tenantId);
+        return shard != null ? shard : ring.shardFor(tenantId);
+    }
+
+    public boolean isMoving(UUID tenantId) {
+        Assignment assignment = assignments.get(tenantId);
+        return assignment != null && assignment.moving();
+    }
+
+    public boolean isPinned(UUID tenantId) {
+        return assignments.containsKey(tenantId);
+    }
+
+    @Scheduled(fixedDelayString = "${api.sharding.directory-refresh-interval:5s}",
+            initialDelayString = "${api.sharding.directory-refresh-interval:5s}")
+    public synchronized void refresh() {
+        Map<UUID, Assignment> loaded = new HashMap<>();
+        control.query("SELECT tenant_id, shard, moving FROM tenant_shards", row -> {
+            UUID tenantId = row.getObject("tenant_id", UUID.class);
+            String shard = row.getString("shard");
+            if (!shards.contains(shard)) {
+                log.warn("Tenant {} atribuído ao shard {}, que não está configurado; usando a regra padrão",
+                        tenantId, shard);
+                return;
+            }
+            loaded.put(tenantId, new Assignment(shard, row.getBoolean("moving")));
+        });
+        assignments = loaded;
+    }
+
+    public synchronized void pin(UUID tenantId) {
+        if (!assignments.containsKey(tenantId)) {
+            save(tenantId, shardFor(tenantId), false);
+        }
+    }
+
+    // Enquanto moving = true as transações de escrita do tenant são recusadas (ver TenantShardRoutingDataSource)
+    public synchronized void markMoving(UUID tenantId, String shard) {
+        save(tenantId, shard, true);
+    }
+
+    public synchronized void assign(UUID tenantId, String shard) {
+        save(tenantId, shard, false);
+    }
+
+    private void save(UUID tenantId, String shard, boolean moving) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int updated = control.update("UPDATE tenant_shards SET shard = ?, moving = ?, updated_at = ? WHERE tenant_id = ?",
+                shard, moving, now, tenantId);
+        if (updated == 0) {
+            control.update("INSERT INTO tenant_shards (tenant_id, shard, moving, updated_at) VALUES (?, ?, ?, ?)",
+                    tenantId, shard, moving, now);
+        }
+
+        Map<UUID, Assignment> next = new HashMap<>(assignments);
+        next.put(tenantId, new Assignment(shard, moving));
+        assignments = next;
+    }
+
+    private record Assignment(String shard, boolean moving) {
+    }
+}
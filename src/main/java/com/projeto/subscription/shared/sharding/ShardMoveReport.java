@@ -0,0 +1,13 @@
+package com.projeto.subscription.shared.sharding;
+
+import java.time.Duration;
+import java.util.UUID;
+
+// rows soma as linhas copiadas de todas as tabelas com tenant_id
+public record ShardMoveReport(
+        UUID tenantId,
+        String from,
+        String to,
+        long rows,
+        Duration elapsed) {
+}
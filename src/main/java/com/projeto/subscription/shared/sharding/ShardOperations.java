@@ -0,0 +1,131 @@
+package com.projeto.subscription.shared.sharding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.projeto.subscription.shared.exception.ResourceConflictException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+// Ponto único para o código de negócio lidar com shards. Com o sharding desligado existe um só shard ("default") e
+// tudo roda direto na thread atual, então jobs e consultas administrativas escrevem o mesmo código nos dois modos.
+// Tanto forEachShard quanto fanOut rodam sem tenant no contexto, isto é, enxergando todos os tenants do shard.
+public class ShardOperations {
+
+    public static final String SINGLE_SHARD = "default";
+
+    private final List<String> shards;
+    private final ShardDirectory directory;
+    private final ShardRebalancer rebalancer;
+    private final Duration fanOutTimeout;
+
+    private ShardOperations(List<String> shards, ShardDirectory directory, ShardRebalancer rebalancer,
+            Duration fanOutTimeout) {
+        this.shards = List.copyOf(shards);
+        this.directory = directory;
+        this.rebalancer = rebalancer;
+        this.fanOutTimeout = fanOutTimeout;
+    }
+
+    public static ShardOperations singleDatabase() {
+        return new ShardOperations(List.of(SINGLE_SHARD), null, null, Duration.ZERO);
+    }
+
+    public static ShardOperations sharded(List<String> shards, ShardDirectory directory, ShardRebalancer rebalancer,
+            Duration fanOutTimeout) {
+        return new ShardOperations(shards, directory, rebalancer, fanOutTimeout);
+    }
+
+    public boolean isSharded() {
+        return directory != null;
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    public String shardOf(UUID tenantId) {
+        return directory != null ? directory.shardFor(tenantId) : SINGLE_SHARD;
+    }
+
+    public boolean isMoving(UUID tenantId) {
+        return directory != null && directory.isMoving(tenantId);
+    }
+
+    // Chamado após a criação do tenant: grava o shard escolhido pelo anel para que ele não mude se o anel mudar
+    public void pinTenant(UUID tenantId) {
+        if (directory != null) {
+            directory.pin(tenantId);
+        }
+    }
+
+    public ShardMoveReport moveTenant(UUID tenantId, String target) {
+        if (rebalancer == null) {
+            throw new ResourceConflictException("Sharding não está habilitado");
+        }
+        return rebalancer.move(tenantId, target);
+    }
+
+    // Um shard por vez, na thread atual. Para jobs que já controlam o próprio paralelismo.
+    public void forEachShard(Runnable action) {
+        forEachShard(shard -> action.run());
+    }
+
+    // Idem, recebendo o nome do shard: para separar dados já em memória pelo shard de cada tenant (ver shardOf)
+    public void forEachShard(Consumer<String> action) {
+        for (String shard : shards) {
+            ShardContext.runOnShard(shard, () -> TenantContext.runWithTenant(null, () -> action.accept(shard)));
+        }
+    }
+
+    // Mesma consulta em todos os shards em paralelo (uma thread virtual por shard), resultados concatenados na ordem
+    // dos shards. Falha ou estouro de fan-out-timeout em qualquer shard falha a consulta inteira.
+    public <T> List<T> fanOut(Supplier<? extends Collection<? extends T>> query) {
+        if (directory == null) {
+            return new ArrayList<>(TenantContext.callWithTenant(null, query));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<? extends Collection<? extends T>>> futures = new ArrayList<>(shards.size());
+            for (String shard : shards) {
+                futures.add(executor.submit(() -> ShardContext.callOnShard(shard, query)));
+            }
+
+            long deadline = System.nanoTime() + fanOutTimeout.toNanos();
+            List<T> merged = new ArrayList<>();
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    merged.addAll(await(futures.get(i), shards.get(i), deadline));
+                }
+            } catch (RuntimeException e) {
+                // Sem isso o close() do executor esperaria os shards restantes, anulando o timeout
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+            return merged;
+        }
+    }
+
+    private static <R> R await(Future<R> future, String shard, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na consulta ao shard " + shard, e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Consulta ao shard " + shard + " excedeu o tempo limite", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta ao shard " + shard + " interrompida", e);
+        }
+    }
+}
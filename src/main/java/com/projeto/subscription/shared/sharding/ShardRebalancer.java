@@ -0,0 +1,205 @@
+package com.projeto.subscription.shared.sharding;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.shared.exception.ResourceConflictException;
+import com.projeto.subscription.shared.exception.ResourceNotFoundException;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Move um tenant de shard:
+// 1. marca o tenant como em migração (escritas dele passam a receber 503) e espera move-drain, tempo para as outras
+//    instâncias recarregarem o diretório e para as transações de escrita já abertas terminarem;
+// 2. copia, numa única transação no destino, as linhas de todas as tabelas com coluna tenant_id;
+// 3. aponta o tenant para o destino e libera as escritas;
+// 4. apaga as linhas da origem. Se essa limpeza falhar os dados ficam órfãos na origem, mas nada mais é roteado para lá.
+//
+// Qualquer falha antes do passo 3 devolve o tenant à origem, intacta. As tabelas são descobertas pelos metadados do
+// banco, então tabelas novas com tenant_id entram no rebalanceamento sem mudança aqui.
+@Slf4j
+public class ShardRebalancer {
+
+    // Tabelas globais que têm tenant_id mas não pertencem a um tenant
+    private static final Set<String> GLOBAL_TABLES = Set.of("tenant_shards");
+
+    private final Map<String, DataSource> shards;
+    private final ShardDirectory directory;
+    private final Duration drain;
+    private final int batchSize;
+    private final Set<UUID> inProgress = ConcurrentHashMap.newKeySet();
+
+    public ShardRebalancer(Map<String, ? extends DataSource> shards, ShardDirectory directory, Duration drain,
+            int batchSize) {
+        this.shards = Map.copyOf(shards);
+        this.directory = directory;
+        this.drain = drain;
+        this.batchSize = batchSize;
+    }
+
+    public ShardMoveReport move(UUID tenantId, String target) {
+        if (!shards.containsKey(target)) {
+            throw new ResourceNotFoundException("Shard não encontrado: " + target);
+        }
+        String source = directory.shardFor(tenantId);
+        if (source.equals(target)) {
+            throw new ResourceConflictException("O tenant já está no shard " + target);
+        }
+        if (!inProgress.add(tenantId)) {
+            throw new ResourceConflictException("Já existe uma migração em andamento para este tenant");
+        }
+
+        Instant start = Instant.now();
+        long rows;
+        try {
+            directory.markMoving(tenantId, source);
+            try {
+                Thread.sleep(drain);
+                rows = copy(tenantId, source, target);
+                directory.assign(tenantId, target);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                directory.assign(tenantId, source);
+                throw new IllegalStateException("Migração do tenant interrompida", e);
+            } catch (RuntimeException e) {
+                directory.assign(tenantId, source);
+                throw e;
+            }
+        } finally {
+            inProgress.remove(tenantId);
+        }
+
+        purge(tenantId, source);
+        ShardMoveReport report = new ShardMoveReport(tenantId, source, target, rows,
+                Duration.between(start, Instant.now()));
+        log.info("Tenant {} movido de {} para {}: {} linhas em {}", tenantId, source, target, rows, report.elapsed());
+        return report;
+    }
+
+    private long copy(UUID tenantId, String source, String target) {
+        DataSource from = shards.get(source);
+        DataSource to = shards.get(target);
+        JdbcTemplate reader = new JdbcTemplate(from);
+        reader.setFetchSize(batchSize);
+        JdbcTemplate writer = new JdbcTemplate(to);
+        TransactionTemplate sourceTransaction = new TransactionTemplate(new DataSourceTransactionManager(from));
+        sourceTransaction.setReadOnly(true);
+
+        return new TransactionTemplate(new DataSourceTransactionManager(to)).execute(status -> {
+            long copied = 0;
+            for (String table : tenantTables(from)) {
+                // Restos de uma migração anterior que falhou na limpeza
+                writer.update("DELETE FROM " + table + " WHERE tenant_id = ?", tenantId);
+                copied += sourceTransaction.execute(readStatus -> copyTable(reader, writer, table, tenantId));
+            }
+            return copied;
+        });
+    }
+
+    private long copyTable(JdbcTemplate reader, JdbcTemplate writer, String table, UUID tenantId) {
+        AtomicLong copied = new AtomicLong();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        String[] insert = new String[1];
+
+        reader.query("SELECT * FROM " + table + " WHERE tenant_id = ?", row -> {
+            ResultSetMetaData metadata = row.getMetaData();
+            int columns = metadata.getColumnCount();
+            if (insert[0] == null) {
+                insert[0] = insertStatement(table, metadata);
+            }
+            Object[] values = new Object[columns];
+            for (int i = 0; i < columns; i++) {
+                values[i] = row.getObject(i + 1);
+            }
+            batch.add(values);
+            if (batch.size() == batchSize) {
+                writer.batchUpdate(insert[0], batch);
+                copied.addAndGet(batch.size());
+                batch.clear();
+            }
+        }, tenantId);
+
+        if (!batch.isEmpty()) {
+            writer.batchUpdate(insert[0], batch);
+            copied.addAndGet(batch.size());
+        }
+        return copied.get();
+    }
+
+    private void purge(UUID tenantId, String source) {
+        DataSource from = shards.get(source);
+        JdbcTemplate jdbc = new JdbcTemplate(from);
+        try {
+            new TransactionTemplate(new DataSourceTransactionManager(from)).executeWithoutResult(status -> {
+                for (String table : tenantTables(from)) {
+                    jdbc.update("DELETE FROM " + table + " WHERE tenant_id = ?", tenantId);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Tenant {} já movido, mas a limpeza no shard {} falhou; as linhas antigas ficaram órfãs",
+                    tenantId, source, e);
+        }
+    }
+
+    private List<String> tenantTables(DataSource dataSource) {
+        List<String> tables = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metadata = connection.getMetaData();
+            // Só tabelas comuns: as temporárias do Hibernate (HTE_*) também têm tenant_id
+            Set<String> baseTables = new HashSet<>();
+            try (ResultSet rows = metadata.getTables(connection.getCatalog(), connection.getSchema(), "%",
+                    new String[] { "TABLE" })) {
+                while (rows.next()) {
+                    baseTables.add(rows.getString("TABLE_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+            try (ResultSet columns = metadata.getColumns(connection.getCatalog(), connection.getSchema(), "%", "%")) {
+                while (columns.next()) {
+                    String table = columns.getString("TABLE_NAME").toLowerCase(Locale.ROOT);
+                    if ("tenant_id".equalsIgnoreCase(columns.getString("COLUMN_NAME"))
+                            && baseTables.contains(table) && !GLOBAL_TABLES.contains(table)
+                            && !tables.contains(table)) {
+                        tables.add(table);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao listar as tabelas com tenant_id", e);
+        }
+        return tables;
+    }
+
+    private static String insertStatement(String table, ResultSetMetaData metadata) throws SQLException {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (int i = 1; i <= metadata.getColumnCount(); i++) {
+            if (i > 1) {
+                columns.append(", ");
+                values.append(", ");
+            }
+            columns.append(metadata.getColumnName(i).toLowerCase(Locale.ROOT));
+            values.append('?');
+        }
+        return "INSERT INTO " + table + " (" + columns + ") VALUES (" + values + ")";
+    }
+}
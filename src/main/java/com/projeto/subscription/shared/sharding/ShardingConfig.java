@@ -0,0 +1,183 @@
+package com.projeto.subscription.shared.sharding;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+public class ShardingConfig {
+
+    // Lido pela migração V5 para deslocar as sequences de cada shard
+    public static final String SHARD_INDEX_PLACEHOLDER = "shard_index";
+
+    @Configuration
+    @ConditionalOnProperty(name = "api.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    static class SingleDatabase {
+
+        @Bean
+        public ShardOperations shardOperations() {
+            return ShardOperations.singleDatabase();
+        }
+    }
+
+    // Ligado por api.sharding.enabled. spring.datasource.url deixa de ser usado; usuário, senha e driver de
+    // spring.datasource.* valem como padrão para os shards. Não combina com a réplica de leitura (api.datasource.replica).
+    @Slf4j
+    @Configuration
+    @ConditionalOnProperty(name = "api.sharding.enabled", havingValue = "true")
+    static class Sharded {
+
+        @Bean
+        public ShardPools shardPools(ShardingProperties properties, DataSourceProperties dataSourceProperties,
+                Environment environment, MeterRegistry meterRegistry,
+                @Value("${api.datasource.replica.enabled:false}") boolean replicaEnabled) {
+            validate(properties, replicaEnabled);
+
+            Binder binder = Binder.get(environment);
+            Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+            properties.shards().entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> {
+                        ShardingProperties.Shard shard = entry.getValue();
+                        HikariDataSource dataSource = new HikariDataSource();
+                        dataSource.setJdbcUrl(shard.url());
+                        dataSource.setUsername(shard.username() != null ? shard.username()
+                                : dataSourceProperties.getUsername());
+                        dataSource.setPassword(shard.password() != null ? shard.password()
+                                : dataSourceProperties.getPassword());
+                        if (dataSourceProperties.getDriverClassName() != null) {
+                            dataSource.setDriverClassName(dataSourceProperties.getDriverClassName());
+                        }
+                        dataSource.setPoolName("shard-" + entry.getKey());
+                        binder.bind("api.sharding.shards." + entry.getKey() + ".hikari",
+                                Bindable.ofInstance(dataSource));
+                        // Os pools não são beans, então o binder de métricas do Boot não os vê
+                        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+                        pools.put(entry.getKey(), dataSource);
+                    });
+            return new ShardPools(pools);
+        }
+
+        @Bean
+        public ShardDirectory shardDirectory(ShardPools pools, ShardingProperties properties) {
+            return new ShardDirectory(new JdbcTemplate(pools.get(properties.defaultShard())),
+                    new ConsistentHashRing(pools.names(), properties.virtualNodes()), properties.tenants(),
+                    Set.copyOf(pools.names()));
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardPools pools, ShardDirectory directory, ShardingProperties properties,
+                MeterRegistry meterRegistry) {
+            return new LazyConnectionDataSourceProxy(new TenantShardRoutingDataSource(pools.byName(),
+                    properties.defaultShard(), directory, properties.moveDrain(), meterRegistry));
+        }
+
+        // Registrado no gerenciador de transações pelo Boot, como todo TransactionExecutionListener
+        @Bean
+        public TenantMoveGuard tenantMoveGuard(ShardDirectory directory, ShardingProperties properties) {
+            return new TenantMoveGuard(directory, properties.moveDrain());
+        }
+
+        @Bean
+        public ShardOperations shardOperations(ShardPools pools, ShardDirectory directory,
+                ShardingProperties properties) {
+            ShardRebalancer rebalancer = new ShardRebalancer(pools.byName(), directory, properties.moveDrain(),
+                    properties.moveBatchSize());
+            return ShardOperations.sharded(pools.names(), directory, rebalancer, properties.fanOutTimeout());
+        }
+
+        // O Flyway do Boot migraria só o shard padrão: aplica as mesmas migrações em todos, cada um com o seu index.
+        // O diretório é carregado logo depois, antes de o JPA subir e das primeiras consultas por tenant.
+        @Bean
+        public FlywayMigrationStrategy shardMigrations(ShardPools pools, ShardDirectory directory,
+                ShardingProperties properties) {
+            return flyway -> {
+                pools.byName().forEach((name, dataSource) -> {
+                    Map<String, String> placeholders = new HashMap<>(flyway.getConfiguration().getPlaceholders());
+                    placeholders.put(SHARD_INDEX_PLACEHOLDER, String.valueOf(properties.shards().get(name).index()));
+                    var result = Flyway.configure()
+                            .configuration(flyway.getConfiguration())
+                            .dataSource(dataSource)
+                            .placeholders(placeholders)
+                            .load()
+                            .migrate();
+                    log.info("Shard {}: {} migrações aplicadas", name, result.migrationsExecuted);
+                });
+                directory.refresh();
+            };
+        }
+
+        private static void validate(ShardingProperties properties, boolean replicaEnabled) {
+            if (replicaEnabled) {
+                throw new IllegalStateException("api.sharding e api.datasource.replica não podem ser ligados juntos");
+            }
+            if (properties.shards().isEmpty()) {
+                throw new IllegalStateException("api.sharding.shards precisa de ao menos um shard");
+            }
+            if (properties.defaultShard() == null || !properties.shards().containsKey(properties.defaultShard())) {
+                throw new IllegalStateException("api.sharding.default-shard precisa ser um dos shards configurados");
+            }
+            properties.shards().forEach((name, shard) -> {
+                if (shard.url() == null || shard.url().isBlank()) {
+                    throw new IllegalStateException("api.sharding.shards." + name + ".url é obrigatório");
+                }
+            });
+            Map<Integer, List<String>> byIndex = properties.shards().entrySet().stream()
+                    .collect(Collectors.groupingBy(entry -> entry.getValue().index(),
+                            Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+            byIndex.forEach((index, names) -> {
+                if (names.size() > 1) {
+                    throw new IllegalStateException("Shards com o mesmo index " + index + ": " + names);
+                }
+            });
+            properties.tenants().forEach((tenant, shard) -> {
+                if (!properties.shards().containsKey(shard)) {
+                    throw new IllegalStateException("Tenant " + tenant + " atribuído a um shard inexistente: " + shard);
+                }
+            });
+        }
+    }
+
+    // Pools dos shards em ordem de nome; fechados junto com o contexto
+    record ShardPools(Map<String, HikariDataSource> byName) implements AutoCloseable {
+
+        List<String> names() {
+            return List.copyOf(byName.keySet());
+        }
+
+        HikariDataSource get(String name) {
+            return byName.get(name);
+        }
+
+        @Override
+        public void close() {
+            byName.values().forEach(HikariDataSource::close);
+        }
+    }
+}
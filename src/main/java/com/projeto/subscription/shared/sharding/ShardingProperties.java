@@ -0,0 +1,33 @@
+package com.projeto.subscription.shared.sharding;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// api.sharding.shards.<nome>.* define cada banco (url, credenciais, index e hikari.*). O default-shard guarda os dados
+// globais (tenants, administradores sem tenant, tenant_shards). api.sharding.tenants.<id do tenant>=<shard> fixa um
+// tenant num shard; os demais são posicionados pelo anel de hash consistente ao serem criados.
+@ConfigurationProperties("api.sharding")
+public record ShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        String defaultShard,
+        Map<String, Shard> shards,
+        Map<UUID, String> tenants,
+        @DefaultValue("160") int virtualNodes,
+        @DefaultValue("10s") Duration fanOutTimeout,
+        @DefaultValue("5s") Duration directoryRefreshInterval,
+        @DefaultValue("10s") Duration moveDrain,
+        @DefaultValue("500") int moveBatchSize) {
+
+    public ShardingProperties {
+        shards = shards != null ? shards : Map.of();
+        tenants = tenants != null ? tenants : Map.of();
+    }
+
+    // index é estável e único por shard: separa as faixas das sequences para que ids não colidam entre bancos
+    public record Shard(String url, String username, String password, @DefaultValue("0") int index) {
+    }
+}
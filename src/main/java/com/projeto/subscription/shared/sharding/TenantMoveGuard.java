@@ -0,0 +1,35 @@
+package com.projeto.subscription.shared.sharding;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import com.projeto.subscription.shared.exception.ServiceUnavailableException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+// Recusa transações de escrita de um tenant em migração já no begin, antes de qualquer trabalho. O roteamento faz a
+// mesma checagem ao entregar a conexão, mas ali o erro só apareceria no flush do commit, embrulhado pelo JPA.
+public class TenantMoveGuard implements TransactionExecutionListener {
+
+    private final ShardDirectory directory;
+    private final Duration retryAfter;
+
+    public TenantMoveGuard(ShardDirectory directory, Duration retryAfter) {
+        this.directory = directory;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        if (tenantId != null && !transaction.isReadOnly() && directory.isMoving(tenantId)) {
+            throw rejected(retryAfter);
+        }
+    }
+
+    static ServiceUnavailableException rejected(Duration retryAfter) {
+        return new ServiceUnavailableException("Tenant em migração de shard; tente novamente em instantes", retryAfter);
+    }
+}
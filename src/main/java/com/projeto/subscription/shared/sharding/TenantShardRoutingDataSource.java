@@ -0,0 +1,66 @@
+package com.projeto.subscription.shared.sharding;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Escolhe o banco pelo tenant da transação: TenantContext -> ShardDirectory. Sem tenant, vale o ShardContext e, por
+// fim, o shard padrão. Assim como o roteamento de réplica, fica atrás de um LazyConnectionDataSourceProxy: a conexão
+// física só é pedida no primeiro statement, com o tenant e a flag read-only da transação já definidos.
+public class TenantShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ShardDirectory directory;
+    private final String defaultShard;
+    private final Duration retryAfter;
+    private final Map<String, Counter> routed = new HashMap<>();
+
+    public TenantShardRoutingDataSource(Map<String, ? extends DataSource> shards, String defaultShard,
+            ShardDirectory directory, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.defaultShard = defaultShard;
+        this.retryAfter = retryAfter;
+        shards.keySet().forEach(shard -> routed.put(shard, Counter.builder("datasource.shard.routing")
+                .description("Conexões entregues por shard")
+                .tag("shard", shard)
+                .register(meterRegistry)));
+
+        setTargetDataSources(Map.copyOf(shards));
+        setDefaultTargetDataSource(shards.get(defaultShard));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = resolve();
+        Counter counter = routed.get(shard);
+        if (counter != null) {
+            counter.increment();
+        }
+        return shard;
+    }
+
+    private String resolve() {
+        UUID tenantId = TenantContext.getCurrentTenant();
+        if (tenantId != null) {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() && directory.isMoving(tenantId)) {
+                throw TenantMoveGuard.rejected(retryAfter);
+            }
+            return directory.shardFor(tenantId);
+        }
+
+        String explicit = ShardContext.getCurrentShard();
+        return explicit != null ? explicit : defaultShard;
+    }
+}
@@ -1,7 +1,11 @@
 package com.projeto.subscription.shared.tenant_context;
 
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
+// O tenant fica associado à thread atual (plataforma ou virtual) apenas durante um escopo, e o valor anterior
+// é restaurado ao sair dele. Trabalho entregue a outra thread precisa levar o tenant explicitamente via propagate().
 public class TenantContext {
 
     private static final ThreadLocal<UUID> currentTenant = new ThreadLocal<>();
@@ -17,4 +21,54 @@ public class TenantContext {
     public static void clear() {
         currentTenant.remove();
     }
+
+    public static Scope open(UUID tenantId) {
+        UUID previous = currentTenant.get();
+        setCurrentTenant(tenantId);
+        return new Scope(previous);
+    }
+
+    public static void runWithTenant(UUID tenantId, Runnable action) {
+        try (Scope scope = open(tenantId)) {
+            action.run();
+        }
+    }
+
+    public static <T> T callWithTenant(UUID tenantId, Supplier<T> action) {
+        try (Scope scope = open(tenantId)) {
+            return action.get();
+        }
+    }
+
+    public static Runnable propagate(Runnable task) {
+        UUID tenantId = getCurrentTenant();
+        return () -> runWithTenant(tenantId, task);
+    }
+
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        UUID tenantId = getCurrentTenant();
+        return () -> {
+            try (Scope scope = open(tenantId)) {
+                return task.call();
+            }
+        };
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final UUID previous;
+
+        private Scope(UUID previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                clear();
+            } else {
+                setCurrentTenant(previous);
+            }
+        }
+    }
 }
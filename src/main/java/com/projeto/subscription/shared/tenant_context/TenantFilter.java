@@ -1,39 +1,71 @@
 package com.projeto.subscription.shared.tenant_context;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.projeto.subscription.modules.tenant.service.TenantRegistry;
+import com.projeto.subscription.shared.exception.ErrorResponseWriter;
+import com.projeto.subscription.shared.metrics.FilterMetrics;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+// Registrado na cadeia do Spring Security antes do JwtAuthenticationFilter (ver SecurityConfig). O X-Tenant-ID
+// aceita o id ou o slug do tenant e é validado no TenantRegistry, em memória.
 @Component
 public class TenantFilter extends OncePerRequestFilter {
 
+    // Tenant resolvido para a requisição, lido pelas métricas depois que o escopo do TenantContext já foi fechado
+    public static final String TENANT_ATTRIBUTE = TenantFilter.class.getName() + ".tenant";
+
     private static final String TENANT_HEADER = "X-Tenant-ID";
 
+    private final TenantRegistry tenantRegistry;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final FilterMetrics filterMetrics;
+
+    public TenantFilter(TenantRegistry tenantRegistry, ErrorResponseWriter errorResponseWriter,
+            FilterMetrics filterMetrics) {
+        this.tenantRegistry = tenantRegistry;
+        this.errorResponseWriter = errorResponseWriter;
+        this.filterMetrics = filterMetrics;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
 
         String tenantIdHeader = request.getHeader(TENANT_HEADER);
+        UUID tenantId = TenantContext.getCurrentTenant();
 
-        if (tenantIdHeader != null && !tenantIdHeader.isEmpty()) {
-            try {
-                UUID tenantId = UUID.fromString(tenantIdHeader);
-                TenantContext.setCurrentTenant(tenantId);
-            } catch (IllegalArgumentException e) {
+        if (tenantIdHeader != null && !tenantIdHeader.isBlank()) {
+            Optional<TenantRegistry.Entry> tenant = tenantRegistry.find(tenantIdHeader.trim());
+            if (tenant.isEmpty()) {
+                errorResponseWriter.write(response, HttpStatus.BAD_REQUEST, "Tenant não encontrado");
+                return;
+            }
+            if (!tenant.get().active()) {
+                errorResponseWriter.write(response, HttpStatus.FORBIDDEN, "Tenant inativo");
+                return;
             }
+            tenantId = tenant.get().id();
+        }
+
+        if (tenantId != null) {
+            request.setAttribute(TENANT_ATTRIBUTE, tenantId);
         }
+        filterMetrics.record("tenant", tenantId, start);
 
-        try {
+        try (TenantContext.Scope scope = TenantContext.open(tenantId)) {
             filterChain.doFilter(request, response);
-        } finally {
-            TenantContext.clear();
         }
 
     }
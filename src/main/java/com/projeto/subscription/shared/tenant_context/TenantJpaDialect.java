@@ -0,0 +1,36 @@
+package com.projeto.subscription.shared.tenant_context;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import jakarta.persistence.EntityManager;
+
+// Liga o tenantFilter uma única vez por transação, no início dela, em vez de a cada chamada de repositório.
+// Chamadas que entram numa transação existente (propagação REQUIRED) reaproveitam o filtro já ligado.
+public class TenantJpaDialect extends HibernateJpaDialect {
+
+    public static final String TENANT_FILTER = "tenantFilter";
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        bindTenant(entityManager.unwrap(Session.class));
+        return transactionData;
+    }
+
+    private void bindTenant(Session session) {
+        UUID tenantId = TenantContext.getCurrentTenant();
+
+        // A mesma Session pode atravessar várias transações (open-in-view), então o estado é sempre reaplicado
+        if (tenantId != null) {
+            session.enableFilter(TENANT_FILTER).setParameter("tenantId", tenantId);
+        } else if (session.getEnabledFilter(TENANT_FILTER) != null) {
+            session.disableFilter(TENANT_FILTER);
+        }
+    }
+}
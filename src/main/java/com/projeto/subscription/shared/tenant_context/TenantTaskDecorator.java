@@ -0,0 +1,14 @@
+package com.projeto.subscription.shared.tenant_context;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+// Aplicado pelo Spring Boot ao applicationTaskExecutor (plataforma ou virtual), inclusive nas respostas assíncronas do MVC
+@Component
+public class TenantTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContext.propagate(runnable);
+    }
+}
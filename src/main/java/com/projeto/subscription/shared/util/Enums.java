@@ -11,4 +11,32 @@ public class Enums {
         MONTHLY,
         YEARLY
     }
+
+    public enum SubscriptionStatus {
+        TRIAL,
+        ACTIVE,
+        CANCELLED,
+        PAST_DUE
+    }
+
+    public enum RevocationKind {
+        ACCESS_TOKEN,
+        USER
+    }
+
+    public enum ExportFormat {
+        CSV,
+        NDJSON
+    }
+
+    public enum SearchType {
+        USER,
+        PLAN
+    }
+
+    public enum WebhookDeliveryStatus {
+        PENDING,
+        DELIVERED,
+        FAILED
+    }
 }
@@ -0,0 +1,31 @@
+package db.migration;
+
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.projeto.subscription.shared.sharding.ShardingConfig;
+
+// Com sharding, o otimizador de sequence do Hibernate é um só para todos os bancos: um bloco de ids pego num shard
+// pode ser usado em outro. Cada shard começa então a sua sequence numa faixa própria (index << 40), o que mantém os
+// ids únicos entre shards e permite mover linhas de um banco para outro. Sem sharding (index 0) nada muda.
+public class V5__Shard_sequence_ranges extends BaseJavaMigration {
+
+    private static final String[] SEQUENCES = { "outbox_events_seq" };
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        String index = context.getConfiguration().getPlaceholders().get(ShardingConfig.SHARD_INDEX_PLACEHOLDER);
+        long shardIndex = index != null ? Long.parseLong(index) : 0L;
+        if (shardIndex == 0) {
+            return;
+        }
+
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String sequence : SEQUENCES) {
+                statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + ((shardIndex << 40) + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Versão do catálogo de planos por tenant (ver PlanService.catalogPage). Incrementada na mesma transação que altera
+-- os planos do tenant; o cache de cada instância e o ETag do catálogo derivam dela. Sem linha, a versão é 0.
+
+CREATE TABLE plan_catalog_versions (
+    tenant_id UUID NOT NULL,
+    version BIGINT NOT NULL,
+    CONSTRAINT pk_plan_catalog_versions PRIMARY KEY (tenant_id)
+);
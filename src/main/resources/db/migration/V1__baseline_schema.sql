@@ -0,0 +1,77 @@
+-- Esquema base. Enums são gravados como ordinal em smallint (@JdbcTypeCode(SMALLINT)), o mesmo tipo no H2 e no PostgreSQL.
+
+CREATE TABLE tenants (
+    id UUID NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    slug VARCHAR(255) NOT NULL,
+    active BOOLEAN NOT NULL,
+    CONSTRAINT pk_tenants PRIMARY KEY (id),
+    CONSTRAINT uk_tenants_slug UNIQUE (slug)
+);
+
+CREATE TABLE users (
+    id UUID NOT NULL,
+    tenant_id UUID,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role SMALLINT NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    -- Também atende o login: com o tenantFilter ligado a busca é tenant_id = ? AND email = ?
+    CONSTRAINT uk_users_tenant_id_email UNIQUE (tenant_id, email)
+);
+
+-- Listagem por keyset dentro do tenant: tenant_id = ? AND id > ? ORDER BY id
+CREATE INDEX idx_users_tenant_id_id ON users (tenant_id, id);
+
+-- Login sem tenant no contexto (SUPER_ADMIN): só email = ?
+CREATE INDEX idx_users_email ON users (email);
+
+CREATE TABLE plans (
+    id UUID NOT NULL,
+    tenant_id UUID,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    price NUMERIC(19, 2) NOT NULL,
+    active BOOLEAN NOT NULL,
+    billing_cycle SMALLINT NOT NULL,
+    CONSTRAINT pk_plans PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_plans_tenant_id_id ON plans (tenant_id, id);
+
+CREATE TABLE subscriptions (
+    id UUID NOT NULL,
+    tenant_id UUID,
+    user_id UUID NOT NULL,
+    plan_id UUID NOT NULL,
+    status SMALLINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE,
+    next_billing_date DATE NOT NULL,
+    price_snapshot NUMERIC(19, 2) NOT NULL,
+    billing_cycle_snapshot SMALLINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    external_id VARCHAR(255),
+    CONSTRAINT pk_subscriptions PRIMARY KEY (id),
+    CONSTRAINT uk_subscriptions_tenant_user_plan UNIQUE (tenant_id, user_id, plan_id)
+);
+
+CREATE INDEX idx_subscriptions_tenant_id_id ON subscriptions (tenant_id, id);
+
+-- Seleção de assinaturas devidas pelo motor de renovação
+CREATE INDEX idx_subscriptions_due ON subscriptions (tenant_id, next_billing_date, id);
+
+CREATE TABLE renewal_checkpoints (
+    id UUID NOT NULL,
+    run_date DATE NOT NULL,
+    tenant_id UUID NOT NULL,
+    last_subscription_id UUID,
+    processed BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_renewal_checkpoints PRIMARY KEY (id),
+    CONSTRAINT uk_renewal_checkpoints_run_date_tenant UNIQUE (run_date, tenant_id)
+);
+
+CREATE INDEX idx_renewal_checkpoints_completed ON renewal_checkpoints (completed);
@@ -0,0 +1,32 @@
+-- Tokens de acesso curtos + refresh tokens rotativos. O refresh token só é guardado como hash SHA-256.
+
+ALTER TABLE users ADD COLUMN active BOOLEAN DEFAULT TRUE NOT NULL;
+
+CREATE TABLE refresh_tokens (
+    id UUID NOT NULL,
+    tenant_id UUID,
+    user_id UUID NOT NULL,
+    family_id UUID NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    revoked BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash)
+);
+
+-- Revogação da família inteira (reuso detectado, logout) e de todos os tokens de um usuário desativado
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+-- Denylist de tokens de acesso: id é o jti (logout) ou o id do usuário (desativação). Cada entrada só precisa viver
+-- até o último token de acesso afetado expirar.
+CREATE TABLE revoked_tokens (
+    id UUID NOT NULL,
+    kind SMALLINT NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_revoked_tokens PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,17 @@
+-- Outbox transacional: eventos gravados na mesma transação da entidade e removidos depois de publicados.
+-- O id vem de uma sequence (incremento = allocationSize do Hibernate) e define a ordem de entrega por tenant.
+
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+    id BIGINT NOT NULL,
+    tenant_id UUID,
+    aggregate_type VARCHAR(100) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(1000),
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id)
+);
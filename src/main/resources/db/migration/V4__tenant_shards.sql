@@ -0,0 +1,11 @@
+-- Diretório de shards: em qual banco mora cada tenant (ver ShardDirectory). Só é usada no shard padrão, mas é criada
+-- em todos para que os shards compartilhem o mesmo histórico de migrações. moving = true bloqueia as escritas do
+-- tenant enquanto os dados dele são copiados para outro shard.
+
+CREATE TABLE tenant_shards (
+    tenant_id UUID NOT NULL,
+    shard VARCHAR(64) NOT NULL,
+    moving BOOLEAN NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_tenant_shards PRIMARY KEY (tenant_id)
+);
@@ -0,0 +1,21 @@
+-- Consumo medido: um contador por (tenant, assinatura, medidor, janela), somado pelos flushes do UsageFlusher.
+-- usage_flushes registra os segmentos do WAL já aplicados em cada shard, para que o replay após uma queda não some o
+-- mesmo segmento duas vezes.
+
+CREATE TABLE usage_records (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    subscription_id UUID NOT NULL,
+    meter VARCHAR(64) NOT NULL,
+    bucket_start TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    quantity BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_usage_records PRIMARY KEY (id),
+    CONSTRAINT uk_usage_records_bucket UNIQUE (tenant_id, subscription_id, meter, bucket_start)
+);
+
+CREATE TABLE usage_flushes (
+    segment_id UUID NOT NULL,
+    applied_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_usage_flushes PRIMARY KEY (segment_id)
+);
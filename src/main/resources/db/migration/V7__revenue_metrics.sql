@@ -0,0 +1,34 @@
+-- Métricas de receita mantidas incrementalmente pelo RevenueMetricsService, na mesma transação que cria, altera ou
+-- cancela a assinatura. Valores mensais normalizados (YEARLY / 12); contam as assinaturas ACTIVE e PAST_DUE.
+-- revenue_tenant_metrics também serve de trava do tenant: toda atualização passa por ela antes das outras tabelas.
+
+CREATE TABLE revenue_tenant_metrics (
+    tenant_id UUID NOT NULL,
+    active_subscriptions BIGINT NOT NULL,
+    mrr NUMERIC(19, 4) NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_revenue_tenant_metrics PRIMARY KEY (tenant_id)
+);
+
+CREATE TABLE revenue_plan_metrics (
+    tenant_id UUID NOT NULL,
+    plan_id UUID NOT NULL,
+    active_subscriptions BIGINT NOT NULL,
+    mrr NUMERIC(19, 4) NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_revenue_plan_metrics PRIMARY KEY (tenant_id, plan_id)
+);
+
+-- Movimento do mês: o estado no início de cada mês é derivado dos totais atuais e destes movimentos
+CREATE TABLE revenue_monthly_metrics (
+    tenant_id UUID NOT NULL,
+    month_start DATE NOT NULL,
+    new_subscriptions BIGINT NOT NULL,
+    churned_subscriptions BIGINT NOT NULL,
+    new_mrr NUMERIC(19, 4) NOT NULL,
+    expansion_mrr NUMERIC(19, 4) NOT NULL,
+    contraction_mrr NUMERIC(19, 4) NOT NULL,
+    churned_mrr NUMERIC(19, 4) NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_revenue_monthly_metrics PRIMARY KEY (tenant_id, month_start)
+);
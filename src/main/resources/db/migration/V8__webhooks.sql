@@ -0,0 +1,36 @@
+-- Webhooks por tenant. webhook_deliveries é a fila de entregas: uma linha por (endpoint, evento do outbox), criada
+-- pelo consumidor do outbox e enviada pelo WebhookDeliveryEngine. status: 0 = pendente, 1 = entregue, 2 = desistida
+-- (esgotou as tentativas). Enquanto uma entrega está em envio, next_attempt_at guarda o fim da reserva.
+
+CREATE TABLE webhook_endpoints (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    url VARCHAR(2048) NOT NULL,
+    secret VARCHAR(100) NOT NULL,
+    event_types VARCHAR(500) NOT NULL,
+    max_concurrency INTEGER NOT NULL,
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_webhook_endpoints PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_webhook_endpoints_tenant_id ON webhook_endpoints (tenant_id);
+
+CREATE TABLE webhook_deliveries (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    endpoint_id UUID NOT NULL,
+    event_id BIGINT NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    status SMALLINT NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_error VARCHAR(1000),
+    delivered_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_webhook_deliveries PRIMARY KEY (id),
+    CONSTRAINT uk_webhook_deliveries_endpoint_event UNIQUE (endpoint_id, event_id)
+);
+
+CREATE INDEX idx_webhook_deliveries_due ON webhook_deliveries (status, next_attempt_at);
@@ -0,0 +1,21 @@
+-- Ordem de entrega do outbox por tenant (ver OutboxPublisher). last_sequence é o último número dado a um evento do
+-- tenant; eventos sem tenant usam o UUID zero. Os eventos pendentes de antes desta migração mantêm a ordem por id.
+
+CREATE TABLE outbox_sequences (
+    tenant_id UUID NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    CONSTRAINT pk_outbox_sequences PRIMARY KEY (tenant_id)
+);
+
+ALTER TABLE outbox_events ADD COLUMN tenant_sequence BIGINT;
+
+UPDATE outbox_events SET tenant_sequence = id;
+
+INSERT INTO outbox_sequences (tenant_id, last_sequence)
+SELECT COALESCE(tenant_id, CAST('00000000-0000-0000-0000-000000000000' AS UUID)), MAX(id)
+FROM outbox_events
+GROUP BY COALESCE(tenant_id, CAST('00000000-0000-0000-0000-000000000000' AS UUID));
+
+ALTER TABLE outbox_events ALTER COLUMN tenant_sequence SET NOT NULL;
+
+CREATE UNIQUE INDEX uk_outbox_events_tenant_sequence ON outbox_events (tenant_id, tenant_sequence);
@@ -0,0 +1,254 @@
+package com.projeto.subscription.modules.billing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.modules.billing.dto.RenewalReport;
+import com.projeto.subscription.modules.billing.model.RenewalCheckpoint;
+import com.projeto.subscription.modules.billing.model.Subscription;
+import com.projeto.subscription.modules.billing.repository.RenewalCheckpointRepository;
+import com.projeto.subscription.modules.billing.repository.SubscriptionRepository;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.SubscriptionStatus;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Banco próprio: a renovação varre todos os tenants, e as assinaturas das outras classes de teste entrariam na conta.
+// Lotes de 2, três workers e uma conexão para o motor; o relógio de teste encerra a janela no meio da execução.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:renewal-engine;DB_CLOSE_DELAY=-1",
+        "api.outbox.dispatcher.enabled=false",
+        "api.billing.renewal.chunk-size=2",
+        "api.billing.renewal.parallelism=3",
+        "api.billing.renewal.max-connections=1" })
+class RenewalEngineTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private RenewalEngine renewalEngine;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private RenewalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestClock clock;
+
+    @Test
+    void interruptedRunResumesAndRenewsEverySubscriptionExactlyOnce() throws Exception {
+        LocalDate runDate = LocalDate.now();
+        List<UUID> tenants = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> subscriptions = new ArrayList<>();
+        tenants.forEach(tenantId -> subscriptions.addAll(seed(tenantId, 5, runDate)));
+
+        // A janela acaba depois de dois lotes; enquanto isso, mede as conexões em uso a cada leitura do relógio
+        double before = renewals();
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        AtomicInteger maxActive = new AtomicInteger();
+        clock.expireWhen(() -> renewals() - before >= 4);
+        clock.probe(() -> maxActive.accumulateAndGet(hikari.getHikariPoolMXBean().getActiveConnections(), Math::max));
+        RenewalReport interrupted;
+        try {
+            interrupted = run(runDate);
+        } finally {
+            clock.expireWhen(() -> false);
+            clock.probe(() -> {
+            });
+        }
+
+        assertThat(interrupted.deadlineReached()).isTrue();
+        assertThat(interrupted.renewed()).isBetween(4L, 14L);
+        // Três workers, mas o motor nunca passa de max-connections
+        assertThat(maxActive.get()).isEqualTo(1);
+        // Cada lote commitou junto com o checkpoint: o renovado de cada tenant é exatamente o que o checkpoint conta
+        long renewedSoFar = 0;
+        for (UUID tenantId : tenants) {
+            List<UUID> renewed = renewedOf(tenantId, runDate);
+            Optional<RenewalCheckpoint> checkpoint = checkpointRepository.findByRunDateAndTenantId(runDate, tenantId);
+            assertThat(checkpoint.map(RenewalCheckpoint::getProcessed).orElse(0L)).isEqualTo(renewed.size());
+            checkpoint.filter(saved -> saved.getProcessed() > 0)
+                    .ifPresent(saved -> assertThat(renewed).contains(saved.getLastSubscriptionId()));
+            renewedSoFar += renewed.size();
+        }
+        assertThat(renewedSoFar).isEqualTo(interrupted.renewed());
+        assertThat(checkpointRepository.findByCompletedFalse()).isNotEmpty();
+
+        // Retomada como no ApplicationReadyEvent: continua dos checkpoints e inclui os tenants que nem começaram
+        renewalEngine.resumeInterruptedRuns();
+        await().atMost(TIMEOUT).until(() -> tenants.stream().allMatch(tenantId -> checkpointRepository
+                .findByRunDateAndTenantId(runDate, tenantId).map(RenewalCheckpoint::isCompleted).orElse(false)));
+
+        tenants.forEach(tenantId -> assertThat(checkpointRepository.findByRunDateAndTenantId(runDate, tenantId))
+                .get()
+                .extracting(RenewalCheckpoint::getProcessed)
+                .isEqualTo(5L));
+        assertThat(jdbcTemplate.queryForList("SELECT next_billing_date FROM subscriptions WHERE tenant_id IN (?, ?, ?)",
+                LocalDate.class, tenants.toArray()))
+                .hasSize(15)
+                .containsOnly(runDate.plusMonths(1));
+        for (UUID subscriptionId : subscriptions) {
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events "
+                    + "WHERE aggregate_id = ? AND event_type = ?", Long.class, subscriptionId,
+                    SubscriptionEvents.RENEWED)).as(subscriptionId.toString()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void lockedSubscriptionIsSkippedInsteadOfBlockingTheChunk() throws Exception {
+        LocalDate runDate = LocalDate.now();
+        UUID tenantId = UUID.randomUUID();
+        List<UUID> subscriptions = seed(tenantId, 3, runDate);
+        UUID locked = subscriptions.get(1);
+
+        // Outra transação (ex.: um cancelamento) segura a linha durante toda a execução
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread locker = Thread.ofPlatform().start(() -> TenantContext.runWithTenant(tenantId,
+                () -> transaction().executeWithoutResult(status -> {
+                    subscriptionRepository.findByIdForUpdate(locked).orElseThrow();
+                    held.countDown();
+                    try {
+                        release.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })));
+        assertThat(held.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+        try {
+            run(runDate);
+        } finally {
+            release.countDown();
+            locker.join();
+        }
+
+        assertThat(renewedOf(tenantId, runDate)).containsExactlyInAnyOrder(subscriptions.get(0), subscriptions.get(2));
+        assertThat(checkpointRepository.findByRunDateAndTenantId(runDate, tenantId)).get()
+                .satisfies(checkpoint -> {
+                    assertThat(checkpoint.isCompleted()).isTrue();
+                    assertThat(checkpoint.getProcessed()).isEqualTo(2);
+                });
+    }
+
+    // A retomada em segundo plano de outro teste pode ainda estar terminando: run() devolve vazio até ela sair
+    private RenewalReport run(LocalDate runDate) {
+        return await().atMost(TIMEOUT).until(() -> renewalEngine.run(runDate), Optional::isPresent).orElseThrow();
+    }
+
+    private List<UUID> seed(UUID tenantId, int count, LocalDate runDate) {
+        return TenantContext.callWithTenant(tenantId, () -> transaction().execute(status -> {
+            List<Subscription> due = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Subscription subscription = Subscription.builder()
+                        .userId(UUID.randomUUID())
+                        .planId(UUID.randomUUID())
+                        .status(SubscriptionStatus.ACTIVE)
+                        .startDate(runDate.minusMonths(1))
+                        .nextBillingDate(runDate)
+                        .priceSnapshot(BigDecimal.TEN)
+                        .billingCycleSnapshot(BillingCycle.MONTHLY)
+                        .build();
+                subscription.setTenantId(tenantId);
+                due.add(subscription);
+            }
+            return subscriptionRepository.saveAll(due).stream().map(Subscription::getId).toList();
+        }));
+    }
+
+    private List<UUID> renewedOf(UUID tenantId, LocalDate runDate) {
+        return jdbcTemplate.queryForList("SELECT id FROM subscriptions WHERE tenant_id = ? AND next_billing_date > ?",
+                UUID.class, tenantId, runDate);
+    }
+
+    private double renewals() {
+        return meterRegistry.get("billing.renewals").counter().count();
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    @TestConfiguration
+    static class ClockConfig {
+
+        @Bean
+        TestClock testClock() {
+            return new TestClock();
+        }
+    }
+
+    // Hora real, ou um dia à frente (janela encerrada) quando a condição vale; o probe roda a cada leitura
+    static class TestClock extends Clock {
+
+        private volatile BooleanSupplier expired = () -> false;
+        private volatile Runnable probe = () -> {
+        };
+
+        void expireWhen(BooleanSupplier condition) {
+            this.expired = condition;
+        }
+
+        void probe(Runnable action) {
+            this.probe = action;
+        }
+
+        @Override
+        public Instant instant() {
+            probe.run();
+            Instant now = Instant.now();
+            return expired.getAsBoolean() ? now.plus(Duration.ofDays(1)) : now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
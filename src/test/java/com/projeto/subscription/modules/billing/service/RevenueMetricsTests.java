@@ -0,0 +1,107 @@
+package com.projeto.subscription.modules.billing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.projeto.subscription.modules.billing.dto.RevenueDashboardDTO;
+import com.projeto.subscription.modules.billing.dto.RevenueMonthDTO;
+import com.projeto.subscription.modules.billing.dto.SubscriptionChangeDTO;
+import com.projeto.subscription.modules.billing.dto.SubscriptionRequestDTO;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.plan.dto.PlanRequestDTO;
+import com.projeto.subscription.modules.plan.service.PlanService;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+@SpringBootTest(properties = "api.outbox.dispatcher.enabled=false")
+class RevenueMetricsTests {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private PlanService planService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private RevenueMetricsService revenueMetricsService;
+
+    @Test
+    void aggregatesFollowSubscriptionChangesAndMatchARebuild() {
+        UUID tenantId = TenantContext.callWithTenant(null, () -> tenantService
+                .create(new TenantRequestDTO("Receita", "receita-" + System.nanoTime()))).id();
+        UUID monthly = inTenant(tenantId, () -> planService
+                .create(new PlanRequestDTO("Mensal", "Mensal", new BigDecimal("10.00"), BillingCycle.MONTHLY)).id());
+        UUID yearly = inTenant(tenantId, () -> planService
+                .create(new PlanRequestDTO("Anual", "Anual", new BigDecimal("120.00"), BillingCycle.YEARLY)).id());
+
+        UUID first = subscribe(tenantId, monthly, 2, 0);
+        UUID second = subscribe(tenantId, yearly, 1, 0);
+        UUID third = subscribe(tenantId, monthly, 1, 0);
+        subscribe(tenantId, yearly, 1, 14);
+
+        // 2x10 + 120/12 + 10 = 40; o trial não conta
+        RevenueDashboardDTO dashboard = inTenant(tenantId, () -> revenueMetricsService.dashboard(1));
+        assertThat(dashboard.activeSubscriptions()).isEqualTo(3);
+        assertThat(dashboard.mrr()).isEqualByComparingTo("40");
+        assertThat(dashboard.arr()).isEqualByComparingTo("480");
+
+        inTenant(tenantId, () -> subscriptionService.change(first, new SubscriptionChangeDTO(null, 3)));
+        inTenant(tenantId, () -> subscriptionService.change(second, new SubscriptionChangeDTO(monthly, null)));
+        inTenant(tenantId, () -> subscriptionService.cancel(third));
+
+        // 3x10 + 10 = 40: +10 de expansão, mensal no lugar do anual, -10 de churn
+        dashboard = inTenant(tenantId, () -> revenueMetricsService.dashboard(1));
+        assertThat(dashboard.activeSubscriptions()).isEqualTo(2);
+        assertThat(dashboard.mrr()).isEqualByComparingTo("40");
+        assertThat(dashboard.plans()).singleElement().satisfies(plan -> {
+            assertThat(plan.planId()).isEqualTo(monthly);
+            assertThat(plan.activeSubscriptions()).isEqualTo(2);
+        });
+
+        RevenueMonthDTO month = dashboard.months().getFirst();
+        assertThat(month.activeAtStart()).isZero();
+        assertThat(month.newSubscriptions()).isEqualTo(3);
+        assertThat(month.churnedSubscriptions()).isEqualTo(1);
+        assertThat(month.newMrr()).isEqualByComparingTo("40");
+        assertThat(month.expansionMrr()).isEqualByComparingTo("10");
+        assertThat(month.churnedMrr()).isEqualByComparingTo("10");
+
+        assertThat(inTenant(tenantId, revenueMetricsService::rebuild).corrected()).isZero();
+    }
+
+    private UUID subscribe(UUID tenantId, UUID planId, int quantity, int trialDays) {
+        return inTenant(tenantId, () -> {
+            User user = User.builder()
+                    .name("Cliente")
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("x")
+                    .role(UserRole.CLIENT)
+                    .build();
+            user.setTenantId(tenantId);
+            UUID userId = userRepository.save(user).getId();
+            return subscriptionService.create(new SubscriptionRequestDTO(userId, planId, quantity, trialDays, null))
+                    .id();
+        });
+    }
+
+    private static <T> T inTenant(UUID tenantId, Supplier<T> action) {
+        return TenantContext.callWithTenant(tenantId, action);
+    }
+}
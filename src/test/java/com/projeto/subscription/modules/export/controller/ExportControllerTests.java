@@ -0,0 +1,294 @@
+package com.projeto.subscription.modules.export.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.subscription.modules.export.service.ExportService;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.config.TokenService;
+import com.projeto.subscription.shared.exception.TooManyRequestsException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.ExportFormat;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+
+// Uma exportação por vez e blocos de 200 bytes, para que poucas linhas já cruzem vários blocos. O corpo em streaming
+// roda num executor manual: cada teste decide se ele é escrito, e quando.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exports;DB_CLOSE_DELAY=-1",
+        "api.outbox.dispatcher.enabled=false",
+        "api.exports.chunk-size=200B",
+        "api.exports.max-concurrent=1",
+        "api.exports.retry-after=7s" })
+@AutoConfigureMockMvc
+class ExportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ManualExecutor executor;
+
+    @AfterEach
+    void discardPendingBodies() {
+        executor.discard();
+    }
+
+    @Test
+    void streamsEveryRowOfTheTenantAcrossChunks() throws Exception {
+        UUID tenantId = createTenant("exporta");
+        List<String> emails = new ArrayList<>();
+        User admin = createUser(tenantId, UserRole.ADMIN);
+        emails.add(admin.getEmail());
+        for (int i = 0; i < 9; i++) {
+            emails.add(createUser(tenantId, UserRole.CLIENT).getEmail());
+        }
+        createUser(createTenant("vizinho"), UserRole.CLIENT);
+        String token = "Bearer " + tokenService.generateToken(admin);
+
+        // O despacho ASYNC que fecha a resposta passa pela autorização com o contexto salvo no REQUEST
+        MvcResult csv = mockMvc.perform(get("/exports/users").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        executor.runAll();
+        mockMvc.perform(asyncDispatch(csv)).andExpect(status().isOk());
+
+        String[] lines = csv.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines[0]).isEqualTo("id,name,email,role,active");
+        assertThat(Arrays.stream(lines).skip(1).map(line -> line.split(",")[2]))
+                .containsExactlyInAnyOrderElementsOf(emails);
+
+        MvcResult ndjson = mockMvc.perform(get("/exports/users").param("format", ExportFormat.NDJSON.name())
+                .param("gzip", "true")
+                .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        executor.runAll();
+        mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        List<String> exported = new ArrayList<>();
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(ndjson.getResponse().getContentAsByteArray()))) {
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                JsonNode row = objectMapper.readTree(line);
+                assertThat(row.get("role").asText()).isIn(UserRole.ADMIN.name(), UserRole.CLIENT.name());
+                exported.add(row.get("email").asText());
+            }
+        }
+        assertThat(exported).containsExactlyInAnyOrderElementsOf(emails);
+    }
+
+    @Test
+    void exhaustedPermitsAreRejectedUntilTheRunningExportFinishes() throws Exception {
+        String token = adminToken("lotado");
+
+        MvcResult running = mockMvc.perform(get("/exports/plans").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(get("/exports/plans").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+
+        executor.runAll();
+        mockMvc.perform(asyncDispatch(running)).andExpect(status().isOk());
+        complete(running);
+
+        export(token);
+    }
+
+    @Test
+    void permitComesBackWhenTheBodyIsNeverWritten() throws Exception {
+        String token = adminToken("expirado");
+
+        // A resposta expira antes de o executor chegar ao corpo: 503, e a vaga volta no fim da resposta
+        MvcResult timedOut = mockMvc.perform(get("/exports/users").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) timedOut.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        // Sem o Callable rodar o MockMvc não registra resultado, e asyncDispatch() esperaria por ele: despacha direto
+        mockMvc.perform(servletContext -> {
+            MockHttpServletRequest dispatch = timedOut.getRequest();
+            dispatch.setDispatcherType(DispatcherType.ASYNC);
+            dispatch.setAsyncStarted(false);
+            return dispatch;
+        }).andExpect(status().isServiceUnavailable());
+        complete(timedOut);
+        executor.discard();
+
+        export(token);
+    }
+
+    @Test
+    void permitComesBackWhenTheClientDisconnects() throws Exception {
+        UUID tenantId = createTenant("desconecta");
+        for (int i = 0; i < 5; i++) {
+            createUser(tenantId, UserRole.CLIENT);
+        }
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        ExportService.Export export = TenantContext.callWithTenant(tenantId,
+                () -> exportService.open("users", ExportFormat.CSV));
+        assertThatThrownBy(() -> export.writeTo(disconnected)).isInstanceOf(IOException.class);
+        // O fim da resposta assíncrona fecha de novo: não pode devolver uma segunda vaga
+        export.close();
+
+        ExportService.Export next = TenantContext.callWithTenant(tenantId,
+                () -> exportService.open("users", ExportFormat.CSV));
+        try {
+            assertThatThrownBy(() -> TenantContext.callWithTenant(tenantId,
+                    () -> exportService.open("users", ExportFormat.CSV)))
+                    .isInstanceOf(TooManyRequestsException.class);
+        } finally {
+            next.close();
+        }
+    }
+
+    // Uma exportação completa, que só é aceita se a vaga estiver livre
+    private void export(String token) throws Exception {
+        MvcResult result = mockMvc.perform(get("/exports/plans").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        executor.runAll();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        complete(result);
+    }
+
+    // O container encerra a resposta depois do despacho ASYNC; o MockMvc não
+    private static void complete(MvcResult result) {
+        result.getRequest().getAsyncContext().complete();
+    }
+
+    private String adminToken(String slug) {
+        return "Bearer " + tokenService.generateToken(createUser(createTenant(slug), UserRole.ADMIN));
+    }
+
+    private UUID createTenant(String slug) {
+        return TenantContext.callWithTenant(null, () -> tenantService
+                .create(new TenantRequestDTO("Exportação", slug + "-" + System.nanoTime()))).id();
+    }
+
+    private User createUser(UUID tenantId, UserRole role) {
+        return TenantContext.callWithTenant(tenantId, () -> {
+            User user = User.builder()
+                    .name("Usuário")
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("x")
+                    .role(role)
+                    .build();
+            user.setTenantId(tenantId);
+            return userRepository.save(user);
+        });
+    }
+
+    @TestConfiguration
+    static class ExecutorConfig {
+
+        @Bean
+        ManualExecutor manualExecutor() {
+            return new ManualExecutor();
+        }
+
+        @Bean
+        WebMvcConfigurer manualAsyncSupport(ManualExecutor executor) {
+            return new WebMvcConfigurer() {
+                @Override
+                public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                    configurer.setTaskExecutor(executor);
+                }
+            };
+        }
+    }
+
+    // Guarda as tarefas das respostas assíncronas até o teste mandar rodar (ou descartar)
+    static class ManualExecutor implements AsyncTaskExecutor {
+
+        private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void execute(Runnable task) {
+            pending.add(task);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = pending.poll()) != null) {
+                task.run();
+            }
+        }
+
+        void discard() {
+            pending.clear();
+        }
+    }
+}
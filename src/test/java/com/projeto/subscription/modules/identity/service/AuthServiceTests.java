@@ -0,0 +1,131 @@
+package com.projeto.subscription.modules.identity.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.projeto.subscription.modules.identity.dto.AuthRequestDTO;
+import com.projeto.subscription.modules.identity.dto.AuthResponseDTO;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.config.TokenService;
+import com.projeto.subscription.shared.exception.AuthenticationFailedException;
+import com.projeto.subscription.shared.exception.TooManyRequestsException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+@SpringBootTest(properties = "api.outbox.dispatcher.enabled=false")
+@AutoConfigureMockMvc
+class AuthServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void refreshRotatesTheTokenAndReuseRevokesTheWholeFamily() {
+        UUID tenantId = createTenant("rotacao");
+        User user = createUser(tenantId);
+        String first = TenantContext.callWithTenant(tenantId, () -> refreshTokenService.issue(user));
+
+        AuthResponseDTO rotated = TenantContext.callWithTenant(tenantId, () -> authService.refresh(first));
+        assertThat(rotated.token()).isNotBlank();
+        assertThat(rotated.refreshToken()).isNotBlank().isNotEqualTo(first);
+
+        // O token antigo reapresentado (roubado) é recusado e derruba também o que acabou de ser emitido
+        assertThatThrownBy(() -> TenantContext.callWithTenant(tenantId, () -> authService.refresh(first)))
+                .isInstanceOf(AuthenticationFailedException.class);
+        assertThatThrownBy(() -> TenantContext.callWithTenant(tenantId,
+                () -> authService.refresh(rotated.refreshToken())))
+                .isInstanceOf(AuthenticationFailedException.class);
+    }
+
+    @Test
+    void logoutRevokesTheSessionAndDenylistsTheAccessToken() throws Exception {
+        UUID tenantId = createTenant("logout");
+        User user = createUser(tenantId);
+        String refreshToken = TenantContext.callWithTenant(tenantId, () -> refreshTokenService.issue(user));
+        String bearer = "Bearer " + tokenService.generateToken(user);
+
+        mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string(containsString("Token revogado")));
+        assertThatThrownBy(() -> TenantContext.callWithTenant(tenantId, () -> authService.refresh(refreshToken)))
+                .isInstanceOf(AuthenticationFailedException.class);
+    }
+
+    @Test
+    void failedLoginsCountTowardsTheSameBudgetWithAndWithoutTheTenantHeader() {
+        UUID tenantId = createTenant("throttle");
+        User user = createUser(tenantId);
+        AuthRequestDTO wrongPassword = new AuthRequestDTO(user.getEmail(), "errada");
+
+        // 5 falhas (api.security.login.max-failures) alternando com e sem X-Tenant-ID esgotam uma única cota
+        for (int i = 0; i < 5; i++) {
+            UUID header = i % 2 == 0 ? tenantId : null;
+            assertThatThrownBy(() -> TenantContext.callWithTenant(header, () -> authService.login(wrongPassword)))
+                    .isInstanceOf(AuthenticationFailedException.class);
+        }
+        assertThatThrownBy(() -> TenantContext.callWithTenant(null, () -> authService.login(wrongPassword)))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatThrownBy(() -> TenantContext.callWithTenant(tenantId, () -> authService.login(wrongPassword)))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    private UUID createTenant(String slug) {
+        return TenantContext.callWithTenant(null,
+                () -> tenantService.create(new TenantRequestDTO("Tenant " + slug, slug + "-" + System.nanoTime())))
+                .id();
+    }
+
+    private User createUser(UUID tenantId) {
+        return TenantContext.callWithTenant(tenantId, () -> {
+            User user = User.builder()
+                    .name("Cliente")
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("x")
+                    .role(UserRole.CLIENT)
+                    .build();
+            user.setTenantId(tenantId);
+            return userRepository.save(user);
+        });
+    }
+}
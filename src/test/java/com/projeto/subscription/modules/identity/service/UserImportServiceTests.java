@@ -0,0 +1,229 @@
+package com.projeto.subscription.modules.identity.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.doAnswer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.projeto.subscription.modules.identity.dto.UserImportErrorDTO;
+import com.projeto.subscription.modules.identity.dto.UserImportResultDTO;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.exception.TooManyRequestsException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+// Lotes de 3 linhas e uma importação por vez. O PasswordEncoder é espionado para simular um cadastro concorrente
+// entre a checagem de e-mails existentes e o insert do lote. Banco próprio: o dispatcher de outro contexto de teste
+// entregaria (e apagaria) os eventos de outbox contados aqui.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-import;DB_CLOSE_DELAY=-1",
+        "api.outbox.dispatcher.enabled=false",
+        "api.users.import.chunk-size=3",
+        "api.users.import.hash-threads=2",
+        "api.users.import.max-concurrent=1",
+        "api.users.import.retry-after=9s" })
+class UserImportServiceTests {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void ndjsonAndJsonArrayAreImportedAcrossChunkBoundaries() throws Exception {
+        for (boolean array : List.of(false, true)) {
+            UUID tenantId = createTenant(array ? "importa-json" : "importa-ndjson");
+            createUser(tenantId, "existente@example.com");
+            List<String> rows = List.of(
+                    row("a@example.com"),
+                    row("b@example.com"),
+                    "{\"name\":\"Curta\",\"email\":\"curta@example.com\",\"password\":\"123\",\"role\":\"CLIENT\"}",
+                    row("c@example.com"),
+                    row("a@example.com"),
+                    row("d@example.com"),
+                    row("existente@example.com"),
+                    row("e@example.com"),
+                    "{\"name\":\"Papel\",\"email\":\"papel@example.com\",\"password\":\"123456\",\"role\":\"NOPE\"}");
+            String body = array ? "[" + String.join(",\n", rows) + "]" : String.join("\n", rows) + "\n";
+
+            UserImportResultDTO result = importUsers(tenantId, trickle(body));
+
+            assertThat(result.received()).as("array=%s", array).isEqualTo(9);
+            assertThat(result.created()).isEqualTo(5);
+            assertThat(result.failed()).isEqualTo(4);
+            assertThat(result.errors())
+                    .extracting(UserImportErrorDTO::row, UserImportErrorDTO::email)
+                    .containsExactlyInAnyOrder(
+                            tuple(3, "curta@example.com"),
+                            tuple(5, "a@example.com"),
+                            tuple(7, "existente@example.com"),
+                            tuple(9, null));
+            assertThat(result.errors()).filteredOn(error -> error.row() == 7)
+                    .extracting(UserImportErrorDTO::message)
+                    .containsExactly("E-mail já cadastrado");
+            assertThat(emailsOf(tenantId)).containsExactlyInAnyOrder("existente@example.com", "a@example.com",
+                    "b@example.com", "c@example.com", "d@example.com", "e@example.com");
+        }
+    }
+
+    @Test
+    void concurrentDuplicateFailsOnlyItsRowAndKeepsTheRestOfTheChunk() throws Exception {
+        UUID tenantId = createTenant("importa-corrida");
+        // Outro cadastro grava o mesmo e-mail enquanto o lote gera os hashes: o batch inteiro falha no insert
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                createUser(tenantId, "corrida@example.com");
+            }
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).encode("senha-corrida");
+
+        String body = String.join("\n", row("a@example.com"), row("b@example.com"),
+                "{\"name\":\"Corrida\",\"email\":\"corrida@example.com\",\"password\":\"senha-corrida\","
+                        + "\"role\":\"CLIENT\"}",
+                row("d@example.com"));
+        UserImportResultDTO result = importUsers(tenantId, new ByteArrayInputStream(bytes(body)));
+
+        assertThat(raced).isTrue();
+        assertThat(result.created()).isEqualTo(3);
+        assertThat(result.errors())
+                .extracting(UserImportErrorDTO::row, UserImportErrorDTO::email, UserImportErrorDTO::message)
+                .containsExactly(tuple(3, "corrida@example.com", "E-mail já cadastrado"));
+        assertThat(emailsOf(tenantId)).containsExactlyInAnyOrder("a@example.com", "b@example.com",
+                "corrida@example.com", "d@example.com");
+        // Os eventos do batch desfeito saíram junto com ele: um por usuário criado pela importação
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE tenant_id = ? "
+                + "AND event_type = ?", Long.class, tenantId, UserEvents.CREATED)).isEqualTo(3);
+    }
+
+    @Test
+    void importIsRejectedWhileAnotherHoldsTheOnlyPermit() throws Exception {
+        UUID tenantId = createTenant("importa-vaga");
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream stalled = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                return read(new byte[1], 0, 1);
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                reading.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+        };
+
+        CompletableFuture<UserImportResultDTO> running = CompletableFuture.supplyAsync(() -> {
+            try {
+                return importUsers(tenantId, stalled);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(reading.await(30, TimeUnit.SECONDS)).isTrue();
+        try {
+            assertThatThrownBy(() -> importUsers(tenantId, new ByteArrayInputStream(bytes(row("x@example.com")))))
+                    .isInstanceOfSatisfying(TooManyRequestsException.class,
+                            e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(9)));
+        } finally {
+            release.countDown();
+        }
+        assertThat(running.get(30, TimeUnit.SECONDS).received()).isZero();
+
+        // Uma importação que falha na leitura também devolve a vaga
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("conexão encerrada");
+            }
+        };
+        assertThatThrownBy(() -> importUsers(tenantId, broken)).isInstanceOf(IOException.class);
+
+        assertThat(importUsers(tenantId, new ByteArrayInputStream(bytes(row("x@example.com")))).created())
+                .isEqualTo(1);
+    }
+
+    private UserImportResultDTO importUsers(UUID tenantId, InputStream body) throws IOException {
+        try (TenantContext.Scope scope = TenantContext.open(tenantId)) {
+            return userImportService.importUsers(body);
+        }
+    }
+
+    // O corpo chega em pedaços de 5 bytes, como numa rede lenta: linhas e valores cortados entre leituras
+    private static InputStream trickle(String body) {
+        return new ByteArrayInputStream(bytes(body)) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                return super.read(buffer, offset, Math.min(length, 5));
+            }
+        };
+    }
+
+    private static String row(String email) {
+        return "{\"name\":\"Importado\",\"email\":\"" + email + "\",\"password\":\"123456\",\"role\":\"CLIENT\"}";
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<String> emailsOf(UUID tenantId) {
+        return jdbcTemplate.queryForList("SELECT email FROM users WHERE tenant_id = ?", String.class, tenantId);
+    }
+
+    private UUID createTenant(String slug) {
+        return TenantContext.callWithTenant(null, () -> tenantService
+                .create(new TenantRequestDTO("Importação", slug + "-" + System.nanoTime()))).id();
+    }
+
+    private void createUser(UUID tenantId, String email) {
+        TenantContext.runWithTenant(tenantId, () -> {
+            User user = User.builder()
+                    .name("Cadastrado")
+                    .email(email)
+                    .password("x")
+                    .role(UserRole.CLIENT)
+                    .build();
+            user.setTenantId(tenantId);
+            userRepository.save(user);
+        });
+    }
+}
@@ -0,0 +1,184 @@
+package com.projeto.subscription.modules.plan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.plan.dto.PlanCatalogPage;
+import com.projeto.subscription.modules.plan.dto.PlanRequestDTO;
+import com.projeto.subscription.modules.plan.repository.PlanCatalogVersionRepository;
+import com.projeto.subscription.modules.plan.repository.PlanRepository;
+import com.projeto.subscription.modules.search.service.SearchService;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.config.TokenService;
+import com.projeto.subscription.shared.outbox.OutboxPublisher;
+import com.projeto.subscription.shared.pagination.KeysetPagination;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = "api.outbox.dispatcher.enabled=false")
+@AutoConfigureMockMvc
+class PlanCatalogTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlanService planService;
+
+    @Autowired
+    private PlanRepository planRepository;
+
+    @Autowired
+    private PlanCatalogVersionRepository catalogVersions;
+
+    @Autowired
+    private KeysetPagination pagination;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void catalogAnswersNotModifiedUntilAPlanIsCreated() throws Exception {
+        UUID tenantId = createTenant("etag");
+        createPlan(planService, tenantId, "Básico");
+        String token = "Bearer " + tokenService.generateToken(createAdmin(tenantId));
+
+        MvcResult first = mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        assertThat(first.getResponse().getContentAsString(StandardCharsets.UTF_8)).contains("Básico");
+
+        MvcResult unchanged = mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(unchanged.getResponse().getContentAsByteArray()).isEmpty();
+
+        mockMvc.perform(post("/plans").header(HttpHeaders.AUTHORIZATION, token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new PlanRequestDTO("Premium", "Catálogo", BigDecimal.TEN, BillingCycle.MONTHLY))))
+                .andExpect(status().isOk());
+
+        // O ETag antigo deixa de valer com o commit do plano
+        MvcResult changed = mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        String newEtag = changed.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag);
+        assertThat(changed.getResponse().getContentAsString(StandardCharsets.UTF_8)).contains("Básico", "Premium");
+
+        mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, token)
+                .header(HttpHeaders.IF_NONE_MATCH, newEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void planCreatedOnAnotherInstanceInvalidatesThisInstanceCache() {
+        UUID tenantId = createTenant("instancias");
+        createPlan(planService, tenantId, "Básico");
+        // Outra instância da aplicação: o mesmo banco, mas um cache próprio
+        PlanService otherInstance = new PlanService(planRepository, pagination, objectMapper, transactionManager,
+                new SimpleMeterRegistry(), outboxPublisher, searchService, catalogVersions, 100,
+                Duration.ofMinutes(10));
+
+        PlanCatalogPage cached = catalogPage(tenantId);
+        assertThat(catalogPage(tenantId)).isSameAs(cached);
+
+        // Um rollback não muda a versão: o cache continua valendo
+        assertThatThrownBy(() -> TenantContext.runWithTenant(tenantId, () -> transaction().executeWithoutResult(
+                status -> {
+                    otherInstance.create(new PlanRequestDTO("Desfeito", "Catálogo", BigDecimal.ONE,
+                            BillingCycle.MONTHLY));
+                    throw new IllegalStateException("rollback");
+                }))).isInstanceOf(IllegalStateException.class);
+        assertThat(catalogPage(tenantId)).isSameAs(cached);
+
+        createPlan(otherInstance, tenantId, "Premium");
+
+        PlanCatalogPage fresh = catalogPage(tenantId);
+        assertThat(fresh.etag()).isNotEqualTo(cached.etag());
+        assertThat(new String(fresh.body(), StandardCharsets.UTF_8)).contains("Básico", "Premium")
+                .doesNotContain("Desfeito");
+        assertThat(catalogPage(tenantId)).isSameAs(fresh);
+    }
+
+    private PlanCatalogPage catalogPage(UUID tenantId) {
+        return TenantContext.callWithTenant(tenantId, () -> planService.catalogPage(null, null));
+    }
+
+    // Numa transação de quem chama, como o proxy do bean faria: a outra instância não é um bean
+    private void createPlan(PlanService service, UUID tenantId, String name) {
+        TenantContext.runWithTenant(tenantId, () -> transaction().executeWithoutResult(status -> service.create(
+                new PlanRequestDTO(name, "Catálogo", BigDecimal.TEN, BillingCycle.MONTHLY))));
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private UUID createTenant(String slug) {
+        return TenantContext.callWithTenant(null, () -> tenantService
+                .create(new TenantRequestDTO("Catálogo", slug + "-" + System.nanoTime()))).id();
+    }
+
+    private User createAdmin(UUID tenantId) {
+        return TenantContext.callWithTenant(tenantId, () -> {
+            User user = User.builder()
+                    .name("Administrador")
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("x")
+                    .role(UserRole.ADMIN)
+                    .build();
+            user.setTenantId(tenantId);
+            return userRepository.save(user);
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.projeto.subscription.modules.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.projeto.subscription.modules.search.dto.SearchHitDTO;
+import com.projeto.subscription.shared.util.Enums.SearchType;
+
+class TenantSearchIndexTests {
+
+    private static final Set<SearchType> ALL = EnumSet.allOf(SearchType.class);
+
+    @Test
+    void matchesEveryTermByPrefixIgnoringAccentsAndRanksTitleMatchesFirst() {
+        TenantSearchIndex index = new TenantSearchIndex();
+        UUID joao = UUID.randomUUID();
+        UUID ana = UUID.randomUUID();
+        UUID plan = UUID.randomUUID();
+        index.put(SearchType.USER, joao, "João Souza", "joao.souza@acme.com");
+        index.put(SearchType.USER, ana, "Ana Lima", "ana@souza-consultoria.com");
+        index.put(SearchType.PLAN, plan, "Premium", "Plano para a equipe do João");
+        index.put(SearchType.USER, UUID.randomUUID(), "Pedro Alves", "pedro@acme.com");
+
+        assertThat(index.search("sou", ALL, 10, 100)).extracting(SearchHitDTO::id).containsExactly(joao, ana);
+        assertThat(index.search("JOAO", ALL, 10, 100)).extracting(SearchHitDTO::id).containsExactly(joao, plan);
+        assertThat(index.search("joa acme", ALL, 10, 100)).extracting(SearchHitDTO::id).containsExactly(joao);
+        assertThat(index.search("joao", EnumSet.of(SearchType.PLAN), 10, 100))
+                .extracting(SearchHitDTO::id).containsExactly(plan);
+        assertThat(index.search("xyz", ALL, 10, 100)).isEmpty();
+        assertThat(index.search("  --  ", ALL, 10, 100)).isEmpty();
+    }
+
+    @Test
+    void exactTermBeatsLongerTermWithTheSamePrefix() {
+        TenantSearchIndex index = new TenantSearchIndex();
+        UUID anabela = UUID.randomUUID();
+        UUID ana = UUID.randomUUID();
+        index.put(SearchType.USER, anabela, "Maria Anabela", "maria@acme.com");
+        index.put(SearchType.USER, ana, "Rocha Ana", "rocha@acme.com");
+
+        assertThat(index.search("ana", ALL, 10, 100)).extracting(SearchHitDTO::id).containsExactly(ana, anabela);
+        assertThat(index.search("ana", ALL, 1, 100)).extracting(SearchHitDTO::id).containsExactly(ana);
+    }
+
+    @Test
+    void putReplacesTheDocumentAndRemoveDropsIt() {
+        TenantSearchIndex index = new TenantSearchIndex();
+        UUID id = UUID.randomUUID();
+        index.put(SearchType.PLAN, id, "Básico", null);
+        long sizeBefore = index.estimatedBytes();
+
+        index.put(SearchType.PLAN, id, "Básico", null);
+        assertThat(index.estimatedBytes()).isEqualTo(sizeBefore);
+
+        index.put(SearchType.PLAN, id, "Empresarial", "Faturamento anual");
+        assertThat(index.search("bas", ALL, 10, 100)).isEmpty();
+        assertThat(index.search("anual", ALL, 10, 100)).extracting(SearchHitDTO::title).containsExactly("Empresarial");
+
+        index.remove(id);
+        assertThat(index.search("empresarial", ALL, 10, 100)).isEmpty();
+    }
+}
@@ -0,0 +1,33 @@
+package com.projeto.subscription.modules.webhook.service;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.projeto.subscription.shared.exception.InvalidRequestException;
+
+// Só literais de IP e localhost: o teste não depende de DNS externo
+class WebhookAddressGuardTests {
+
+    private final WebhookAddressGuard guard = new WebhookAddressGuard(false);
+
+    @Test
+    void rejectsHostsThatResolveToInternalAddresses() {
+        for (String host : new String[] { "localhost", "127.0.0.1", "10.1.2.3", "172.16.0.1", "192.168.0.10",
+                "169.254.169.254", "0.0.0.0", "[::1]", "[fe80::1]", "[fd00::1]", "224.0.0.1", "[::ffff:127.0.0.1]" }) {
+            assertThatThrownBy(() -> guard.check(host)).as(host).isInstanceOf(InvalidRequestException.class);
+        }
+    }
+
+    @Test
+    void acceptsPublicAddresses() {
+        assertThatCode(() -> guard.check("93.184.216.34")).doesNotThrowAnyException();
+        assertThatCode(() -> guard.check("[2606:2800:220:1::]")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void privateAddressesCanBeAllowedExplicitly() {
+        assertThatCode(() -> new WebhookAddressGuard(true).check("127.0.0.1")).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,284 @@
+package com.projeto.subscription.modules.webhook.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.subscription.modules.billing.dto.SubscriptionRequestDTO;
+import com.projeto.subscription.modules.billing.service.SubscriptionEvents;
+import com.projeto.subscription.modules.billing.service.SubscriptionService;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.plan.dto.PlanRequestDTO;
+import com.projeto.subscription.modules.plan.service.PlanEvents;
+import com.projeto.subscription.modules.plan.service.PlanService;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.modules.webhook.dto.WebhookEndpointCreatedDTO;
+import com.projeto.subscription.modules.webhook.dto.WebhookEndpointRequestDTO;
+import com.projeto.subscription.modules.webhook.repository.WebhookDeliveryRepository;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Um HttpServer local faz o papel do endpoint do cliente; cada teste usa o próprio tenant e o próprio caminho
+@SpringBootTest(properties = {
+        "api.outbox.dispatcher.poll-interval=100ms",
+        "api.webhooks.require-https=false",
+        "api.webhooks.allow-private-addresses=true",
+        "api.webhooks.poll-interval=100ms",
+        "api.webhooks.request-timeout=1m",
+        "api.webhooks.initial-backoff=100ms",
+        "api.webhooks.max-backoff=200ms" })
+class WebhookDeliveryTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static HttpServer server;
+    private static final Map<String, List<Received>> received = new ConcurrentHashMap<>();
+    private static final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private PlanService planService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private WebhookDeliveryRepository deliveryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", WebhookDeliveryTests::handle);
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void deliversSignedEventsOnlyForSubscribedTypes() throws Exception {
+        UUID tenantId = createTenant("assinado");
+        WebhookEndpointCreatedDTO endpoint = register(tenantId, "/signed", Set.of(SubscriptionEvents.CREATED), null);
+
+        UUID planId = createPlan(tenantId, "Mensal");
+        UUID subscriptionId = subscribe(tenantId, planId);
+
+        await().atMost(TIMEOUT).until(() -> events("/signed").size() == 1);
+        Received request = received.get("/signed").getFirst();
+        assertThat(request.signature()).isEqualTo(
+                "v1=" + hmac(endpoint.secret(), request.timestamp() + "." + request.body()));
+
+        JsonNode event = events("/signed").getFirst();
+        assertThat(event.get("type").asText()).isEqualTo(SubscriptionEvents.CREATED);
+        assertThat(event.get("data").get("id").asText()).isEqualTo(subscriptionId.toString());
+        // O plan.created, anterior no outbox, não é assinado por este endpoint e não gerou entrega
+        assertThat(countDeliveries(endpoint)).isEqualTo(1);
+    }
+
+    @Test
+    void retriesWithBackoffUntilTheEndpointRecovers() throws Exception {
+        UUID tenantId = createTenant("instavel");
+        AtomicInteger calls = new AtomicInteger();
+        handlers.put("/flaky", exchange -> calls.incrementAndGet() <= 2 ? 503 : 200);
+        WebhookEndpointCreatedDTO endpoint = register(tenantId, "/flaky", Set.of(PlanEvents.CREATED), null);
+
+        createPlan(tenantId, "Instável");
+
+        await().atMost(TIMEOUT).until(() -> "1".equals(deliveryState(endpoint, "status")));
+        assertThat(deliveryState(endpoint, "attempts")).isEqualTo("3");
+        // As três tentativas levam o mesmo id de evento
+        assertThat(received.get("/flaky")).hasSize(3);
+        assertThat(events("/flaky").stream().map(event -> event.get("id").asText()).distinct()).hasSize(1);
+    }
+
+    @Test
+    void burstsAreBatchedWithinTheEndpointConcurrencyLimit() throws Exception {
+        UUID tenantId = createTenant("rajada");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        handlers.put("/burst", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                release.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return 200;
+        });
+        WebhookEndpointCreatedDTO endpoint = register(tenantId, "/burst", Set.of(PlanEvents.CREATED), 1);
+
+        // O primeiro envio fica preso no servidor; com max_concurrency 1 os eventos seguintes esperam na fila
+        createPlan(tenantId, "Plano 0");
+        await().atMost(TIMEOUT).until(() -> inFlight.get() == 1);
+        for (int i = 1; i < 5; i++) {
+            createPlan(tenantId, "Plano " + i);
+        }
+        await().atMost(TIMEOUT).until(() -> countDeliveries(endpoint) == 5);
+        release.countDown();
+
+        await().atMost(TIMEOUT).until(() -> events("/burst").size() == 5);
+        assertThat(received.get("/burst")).hasSize(2);
+        assertThat(maxInFlight.get()).isEqualTo(1);
+    }
+
+    @Test
+    void aDeliveryIsClaimedByOnlyOneSweep() {
+        UUID tenantId = createTenant("reserva");
+        WebhookEndpointCreatedDTO endpoint = register(tenantId, "/claim", Set.of(PlanEvents.CREATED), null);
+        // Vencida só daqui a uma hora: o engine não toca nela durante o teste. Em milissegundos, porque a coluna
+        // guarda microssegundos e arredondaria os nanos para depois de dueAt.
+        Instant dueAt = Instant.now().plus(Duration.ofHours(1)).truncatedTo(ChronoUnit.MILLIS);
+        inTenant(tenantId, () -> {
+            deliveryRepository.enqueue(tenantId, List.of(endpoint.endpoint().id()), System.nanoTime(),
+                    PlanEvents.CREATED, "{}", dueAt, dueAt);
+            return null;
+        });
+        List<UUID> ids = jdbcTemplate.queryForList("SELECT id FROM webhook_deliveries WHERE endpoint_id = ?",
+                UUID.class, endpoint.endpoint().id());
+
+        // Duas varreduras leram a mesma linha vencida; só a primeira reserva leva
+        Instant leaseUntil = dueAt.plus(Duration.ofMinutes(1));
+        assertThat(deliveryRepository.claim(ids, dueAt, leaseUntil)).containsExactlyElementsOf(ids);
+        assertThat(deliveryRepository.claim(ids, dueAt, leaseUntil)).isEmpty();
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        received.computeIfAbsent(path, key -> new CopyOnWriteArrayList<>()).add(new Received(body,
+                exchange.getRequestHeaders().getFirst(WebhookSigner.TIMESTAMP_HEADER),
+                exchange.getRequestHeaders().getFirst(WebhookSigner.SIGNATURE_HEADER)));
+        int status;
+        try {
+            status = handlers.getOrDefault(path, ignored -> 200).status(exchange);
+        } catch (InterruptedException e) {
+            status = 500;
+        }
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private List<JsonNode> events(String path) throws IOException {
+        List<JsonNode> events = new ArrayList<>();
+        for (Received request : received.getOrDefault(path, List.of())) {
+            objectMapper.readTree(request.body()).get("events").forEach(events::add);
+        }
+        return events;
+    }
+
+    private WebhookEndpointCreatedDTO register(UUID tenantId, String path, Set<String> eventTypes,
+            Integer maxConcurrency) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + path;
+        return inTenant(tenantId,
+                () -> webhookService.register(new WebhookEndpointRequestDTO(url, eventTypes, maxConcurrency)));
+    }
+
+    // null enquanto o consumidor do outbox ainda não criou a entrega
+    private String deliveryState(WebhookEndpointCreatedDTO endpoint, String column) {
+        return jdbcTemplate.queryForList("SELECT CAST(" + column + " AS VARCHAR) FROM webhook_deliveries "
+                + "WHERE endpoint_id = ?", String.class, endpoint.endpoint().id()).stream().findFirst().orElse(null);
+    }
+
+    private int countDeliveries(WebhookEndpointCreatedDTO endpoint) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM webhook_deliveries WHERE endpoint_id = ?",
+                Integer.class, endpoint.endpoint().id());
+    }
+
+    private UUID createTenant(String slug) {
+        return TenantContext.callWithTenant(null,
+                () -> tenantService.create(new TenantRequestDTO("Webhooks " + slug, slug + "-" + System.nanoTime())))
+                .id();
+    }
+
+    private UUID createPlan(UUID tenantId, String name) {
+        return inTenant(tenantId, () -> planService
+                .create(new PlanRequestDTO(name, "Webhooks", BigDecimal.TEN, BillingCycle.MONTHLY)).id());
+    }
+
+    private UUID subscribe(UUID tenantId, UUID planId) {
+        return inTenant(tenantId, () -> {
+            User user = User.builder()
+                    .name("Cliente")
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("x")
+                    .role(UserRole.CLIENT)
+                    .build();
+            user.setTenantId(tenantId);
+            UUID userId = userRepository.save(user).getId();
+            return subscriptionService.create(new SubscriptionRequestDTO(userId, planId, 1, 0, null)).id();
+        });
+    }
+
+    private static String hmac(String secret, String content) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static <T> T inTenant(UUID tenantId, Supplier<T> action) {
+        return TenantContext.callWithTenant(tenantId, action);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        int status(HttpExchange exchange) throws InterruptedException;
+    }
+
+    private record Received(String body, String timestamp, String signature) {
+    }
+}
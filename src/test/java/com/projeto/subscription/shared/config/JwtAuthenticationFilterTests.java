@@ -0,0 +1,118 @@
+package com.projeto.subscription.shared.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.identity.service.UserService;
+import com.projeto.subscription.modules.plan.dto.PlanRequestDTO;
+import com.projeto.subscription.modules.plan.service.PlanService;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+// O tenant do token e o do X-Tenant-ID: o claim manda, o header só escolhe o tenant de tokens globais
+@SpringBootTest(properties = "api.outbox.dispatcher.enabled=false")
+@AutoConfigureMockMvc
+class JwtAuthenticationFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private PlanService planService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void tenantTokenIsRejectedWhenTheHeaderNamesAnotherTenant() throws Exception {
+        UUID tenantA = createTenant("claim-a");
+        UUID tenantB = createTenant("claim-b");
+        createPlan(tenantB, "Plano de B");
+        String token = tokenService.generateToken(createUser(tenantA));
+
+        // Primeira requisição sem header: o principal fica no cache, como no ataque descrito
+        mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header("X-Tenant-ID", tenantA.toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header("X-Tenant-ID", tenantB.toString()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void globalTokenUsesTheHeaderTenant() throws Exception {
+        UUID tenantId = createTenant("global");
+        createPlan(tenantId, "Plano do header");
+        String token = tokenService.generateToken(createUser(null));
+
+        mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header("X-Tenant-ID", tenantId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Plano do header")));
+    }
+
+    @Test
+    void deactivatedUserIsNoLongerAuthenticated() throws Exception {
+        UUID tenantId = createTenant("inativo");
+        User user = createUser(tenantId);
+        String token = tokenService.generateToken(user);
+
+        mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        TenantContext.runWithTenant(tenantId, () -> userService.deactivate(user.getId()));
+        mockMvc.perform(get("/plans").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    private UUID createTenant(String slug) {
+        return TenantContext.callWithTenant(null,
+                () -> tenantService.create(new TenantRequestDTO("Tenant " + slug, slug + "-" + System.nanoTime())))
+                .id();
+    }
+
+    private void createPlan(UUID tenantId, String name) {
+        TenantContext.runWithTenant(tenantId,
+                () -> planService.create(new PlanRequestDTO(name, "JWT", BigDecimal.TEN, BillingCycle.MONTHLY)));
+    }
+
+    private User createUser(UUID tenantId) {
+        return TenantContext.callWithTenant(tenantId, () -> {
+            User user = User.builder()
+                    .name("Admin")
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("x")
+                    .role(UserRole.ADMIN)
+                    .build();
+            user.setTenantId(tenantId);
+            return userRepository.save(user);
+        });
+    }
+}
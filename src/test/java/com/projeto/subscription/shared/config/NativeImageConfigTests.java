@@ -0,0 +1,47 @@
+package com.projeto.subscription.shared.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.plan.dto.PlanResponseDTO;
+import com.projeto.subscription.shared.datasource.SkipLockedH2Dialect;
+import com.projeto.subscription.shared.util.BaseEntity;
+
+class NativeImageConfigTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeImageConfigTests() {
+        new NativeImageConfig.Hints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    // Os nomes são strings: se uma atualização do jjwt mover uma classe, o teste aponta antes da imagem nativa
+    @Test
+    void jjwtImplementationClassesExistAndAreRegistered() throws Exception {
+        for (String type : NativeImageConfig.Hints.JJWT_IMPLEMENTATION) {
+            Class.forName(type);
+            assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+                .accepts(hints);
+    }
+
+    @Test
+    void entitiesAndProjectionsAreRegistered() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(BaseEntity.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(User.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(PlanResponseDTO.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(SkipLockedH2Dialect.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+    }
+}
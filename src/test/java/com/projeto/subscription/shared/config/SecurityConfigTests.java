@@ -0,0 +1,71 @@
+package com.projeto.subscription.shared.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+@SpringBootTest(properties = "api.outbox.dispatcher.enabled=false")
+@AutoConfigureMockMvc
+class SecurityConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void prometheusScrapeOnTheApiPortRequiresAGlobalAdmin() throws Exception {
+        UUID tenantId = TenantContext.callWithTenant(null, () -> tenantService
+                .create(new TenantRequestDTO("Métricas", "metricas-" + System.nanoTime()))).id();
+
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                .header(HttpHeaders.AUTHORIZATION, bearer(tenantId, UserRole.ADMIN)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                .header(HttpHeaders.AUTHORIZATION, bearer(null, UserRole.CLIENT)))
+                .andExpect(status().isForbidden());
+        // Nos testes o Spring Boot desliga o export do Prometheus (404): basta ter passado da autorização
+        mockMvc.perform(get("/actuator/prometheus")
+                .header(HttpHeaders.AUTHORIZATION, bearer(null, UserRole.ADMIN)))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isNotIn(401, 403));
+    }
+
+    private String bearer(UUID tenantId, UserRole role) {
+        User saved = TenantContext.callWithTenant(tenantId, () -> {
+            User user = User.builder()
+                    .name("Operador")
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("x")
+                    .role(role)
+                    .build();
+            user.setTenantId(tenantId);
+            return userRepository.save(user);
+        });
+        return "Bearer " + tokenService.generateToken(saved);
+    }
+}
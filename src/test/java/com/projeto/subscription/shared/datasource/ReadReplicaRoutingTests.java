@@ -0,0 +1,114 @@
+package com.projeto.subscription.shared.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.projeto.subscription.modules.plan.dto.PlanRequestDTO;
+import com.projeto.subscription.modules.plan.dto.PlanResponseDTO;
+import com.projeto.subscription.modules.plan.service.PlanService;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+
+// Primário e réplica são dois H2 independentes, sem replicação: um plano gravado direto na réplica só aparece
+// numa leitura se ela foi roteada para a réplica, e um plano criado pela API só existe no primário.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "api.datasource.replica.enabled=true",
+        "api.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "api.datasource.replica.health-query=SELECT COUNT(*) FROM plans",
+        "api.datasource.replica.health-check-interval=1h",
+        "api.datasource.replica.read-your-writes-window=1m" })
+class ReadReplicaRoutingTests {
+
+    @Autowired
+    private PlanService planService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private ReplicaHealth replicaHealth;
+
+    private final UUID tenantId = UUID.randomUUID();
+
+    // Numa réplica de verdade o esquema chega pela replicação; aqui é migrado à parte
+    @BeforeEach
+    void migrateReplica() {
+        Flyway.configure().dataSource(replica).load().migrate();
+        replicaHealth.check();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        insertPlan(replica, "Só na réplica");
+
+        // A escrita é de outro tenant: a janela de read-your-writes não afeta as leituras deste
+        PlanResponseDTO created = createPlan(UUID.randomUUID());
+
+        assertThat(planNames()).containsExactly("Só na réplica");
+        assertThat(countPlans(primary, created.id())).isEqualTo(1);
+        assertThat(countPlans(replica, created.id())).isZero();
+    }
+
+    @Test
+    void tenantReadsItsOwnWritesFromThePrimary() {
+        insertPlan(replica, "Só na réplica");
+
+        createPlan(tenantId);
+
+        assertThat(planNames()).containsExactly("Criado");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsUnhealthy() {
+        insertPlan(replica, "Só na réplica");
+        insertPlan(primary, "Só no primário");
+
+        new JdbcTemplate(replica).execute("DROP TABLE plans");
+        replicaHealth.check();
+
+        assertThat(replicaHealth.isHealthy()).isFalse();
+        assertThat(planNames()).containsExactly("Só no primário");
+
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    private PlanResponseDTO createPlan(UUID tenant) {
+        return TenantContext.callWithTenant(tenant,
+                () -> planService.create(new PlanRequestDTO("Criado", "Via API", BigDecimal.TEN, BillingCycle.MONTHLY)));
+    }
+
+    private List<String> planNames() {
+        return TenantContext.callWithTenant(tenantId, () -> planService.list(null, 50).items().stream()
+                .map(PlanResponseDTO::name)
+                .toList());
+    }
+
+    private void insertPlan(DataSource dataSource, String name) {
+        new JdbcTemplate(dataSource).update("INSERT INTO plans (id, tenant_id, name, description, price, active, "
+                + "billing_cycle) VALUES (?, ?, ?, 'teste', 10, TRUE, 0)", UUID.randomUUID(), tenantId, name);
+    }
+
+    private int countPlans(DataSource dataSource, UUID planId) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM plans WHERE id = ?", Integer.class,
+                planId);
+    }
+}
@@ -0,0 +1,199 @@
+package com.projeto.subscription.shared.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Banco próprio, para que os eventos deixados pendentes pelas outras classes de teste não entrem nos lotes. O poll
+// agendado fica para depois do teste: cada teste chama dispatch() quando quer uma rodada.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-dispatcher;DB_CLOSE_DELAY=-1",
+        "api.outbox.dispatcher.poll-interval=1h",
+        "api.outbox.dispatcher.batch-size=3",
+        "api.outbox.dispatcher.initial-backoff=1s",
+        "api.outbox.dispatcher.max-backoff=1s" })
+class OutboxDispatcherTests {
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxPublisher publisher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Recorder recorder;
+
+    @Test
+    void drainsEveryTenantInSequenceOrderAcrossBatches() {
+        UUID tenantA = UUID.randomUUID();
+        UUID tenantB = UUID.randomUUID();
+        double published = count("outbox.published");
+        long lagged = meterRegistry.get("outbox.lag").timer().count();
+
+        for (int i = 0; i < 4; i++) {
+            publish(tenantA, 1);
+            publish(tenantB, 1);
+        }
+        // Vários eventos na mesma transação e uma transação desfeita: a numeração segue sem buracos
+        publish(tenantA, 3);
+        assertThatThrownBy(() -> TenantContext.runWithTenant(tenantB, () -> transaction().executeWithoutResult(
+                status -> {
+                    publisher.publish(tenantB, "Teste", UUID.randomUUID(), "teste.desfeito", Map.of());
+                    throw new IllegalStateException("rollback");
+                }))).isInstanceOf(IllegalStateException.class);
+        publish(tenantB, 1);
+        // Ids na ordem inversa da numeração, como blocos de ids de duas instâncias: vale tenantSequence
+        UUID tenantC = UUID.randomUUID();
+        transaction().executeWithoutResult(status -> {
+            outboxEventRepository.save(event(tenantC, 2));
+            outboxEventRepository.save(event(tenantC, 1));
+        });
+
+        // 14 eventos em lotes de 3: uma rodada drena todos
+        dispatcher.dispatch();
+
+        assertThat(recorder.sequencesOf(tenantA)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(recorder.sequencesOf(tenantB)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(recorder.sequencesOf(tenantC)).containsExactly(1L, 2L);
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(count("outbox.published") - published).isEqualTo(14);
+        assertThat(meterRegistry.get("outbox.lag").timer().count() - lagged).isEqualTo(14);
+    }
+
+    @Test
+    void failedEventIsRedeliveredAfterBackoffWithoutHoldingOtherTenants() throws Exception {
+        UUID failing = UUID.randomUUID();
+        UUID healthy = UUID.randomUUID();
+        double failures = count("outbox.failures");
+        for (int i = 0; i < 3; i++) {
+            publish(failing, 1);
+            publish(healthy, 1);
+        }
+        recorder.failNext(failing, 1);
+
+        dispatcher.dispatch();
+
+        // O primeiro evento falhou e segura os seguintes do tenant; o outro tenant recebe tudo
+        assertThat(recorder.sequencesOf(failing)).containsExactly(1L);
+        assertThat(recorder.sequencesOf(healthy)).containsExactly(1L, 2L, 3L);
+        assertThat(count("outbox.failures") - failures).isEqualTo(1);
+        OutboxEvent failed = outboxEventRepository.findById(recorder.idsOf(failing).getFirst()).orElseThrow();
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isEqualTo("falha simulada");
+
+        // Ainda em backoff: nada do tenant sai
+        dispatcher.dispatch();
+        assertThat(recorder.sequencesOf(failing)).containsExactly(1L);
+
+        Thread.sleep(1_200);
+        dispatcher.dispatch();
+
+        // At-least-once: o evento que falhou chega de novo, antes dos seguintes
+        assertThat(recorder.sequencesOf(failing)).containsExactly(1L, 1L, 2L, 3L);
+        assertThat(outboxEventRepository.count()).isZero();
+        // A rodada começou com eventos de mais de 1s na fila; a seguinte, com a fila vazia
+        assertThat(meterRegistry.get("outbox.oldest.age").gauge().value()).isGreaterThanOrEqualTo(1.0);
+        dispatcher.dispatch();
+        assertThat(meterRegistry.get("outbox.oldest.age").gauge().value()).isZero();
+    }
+
+    private void publish(UUID tenantId, int events) {
+        TenantContext.runWithTenant(tenantId, () -> transaction().executeWithoutResult(status -> {
+            for (int i = 0; i < events; i++) {
+                publisher.publish(tenantId, "Teste", UUID.randomUUID(), "teste.criado", Map.of("n", i));
+            }
+        }));
+    }
+
+    private static OutboxEvent event(UUID tenantId, long tenantSequence) {
+        return OutboxEvent.builder()
+                .tenantId(tenantId)
+                .tenantSequence(tenantSequence)
+                .aggregateType("Teste")
+                .aggregateId(UUID.randomUUID())
+                .eventType("teste.criado")
+                .payload("{}")
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private double count(String counter) {
+        return meterRegistry.get(counter).counter().count();
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+
+        @Bean
+        Recorder recorder() {
+            return new Recorder();
+        }
+    }
+
+    // Registra tudo o que chega, inclusive as entregas que ele mesmo faz falhar
+    static class Recorder {
+
+        private final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+        private final Map<UUID, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+        @EventListener
+        public void onOutboxMessage(OutboxMessage message) {
+            received.add(message);
+            AtomicInteger remaining = failures.get(message.tenantId());
+            if (remaining != null && remaining.getAndDecrement() > 0) {
+                throw new IllegalStateException("falha simulada");
+            }
+        }
+
+        void failNext(UUID tenantId, int times) {
+            failures.put(tenantId, new AtomicInteger(times));
+        }
+
+        List<Long> sequencesOf(UUID tenantId) {
+            return received.stream()
+                    .filter(message -> tenantId.equals(message.tenantId()))
+                    .map(OutboxMessage::tenantSequence)
+                    .toList();
+        }
+
+        List<Long> idsOf(UUID tenantId) {
+            return received.stream()
+                    .filter(message -> tenantId.equals(message.tenantId()))
+                    .map(OutboxMessage::id)
+                    .toList();
+        }
+    }
+}
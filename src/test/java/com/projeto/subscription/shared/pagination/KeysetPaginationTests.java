@@ -0,0 +1,158 @@
+package com.projeto.subscription.shared.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.config.TokenService;
+import com.projeto.subscription.shared.exception.InvalidCursorException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+@SpringBootTest(properties = "api.outbox.dispatcher.enabled=false")
+@AutoConfigureMockMvc
+class KeysetPaginationTests {
+
+    private final KeysetPagination pagination = new KeysetPagination(50, 200);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void cursorRoundTripsTheId() {
+        UUID id = UUID.randomUUID();
+        String cursor = pagination.encode(id);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]{22}");
+        assertThat(pagination.decode(cursor)).isEqualTo(id);
+        assertThat(pagination.decode(null)).isNull();
+        assertThat(pagination.decode(" ")).isNull();
+    }
+
+    @Test
+    void malformedOrTruncatedCursorsAreRejected() {
+        String valid = pagination.encode(UUID.randomUUID());
+        byte[] fifteenBytes = ByteBuffer.allocate(15).array();
+
+        for (String cursor : List.of("não é base64", "A", valid.substring(0, valid.length() - 2),
+                Base64.getUrlEncoder().withoutPadding().encodeToString(fifteenBytes), valid + valid)) {
+            assertThatThrownBy(() -> pagination.decode(cursor)).as(cursor)
+                    .isInstanceOf(InvalidCursorException.class);
+        }
+    }
+
+    @Test
+    void sizeIsClampedBetweenOneAndTheMaximum() {
+        assertThat(pagination.resolveSize(null)).isEqualTo(50);
+        assertThat(pagination.resolveSize(20)).isEqualTo(20);
+        assertThat(pagination.resolveSize(0)).isEqualTo(1);
+        assertThat(pagination.resolveSize(-5)).isEqualTo(1);
+        assertThat(pagination.resolveSize(1_000)).isEqualTo(200);
+        assertThat(pagination.fetchLimit(200).max()).isEqualTo(201);
+    }
+
+    @Test
+    void nextCursorPointsAtTheLastItemOnlyWhenThereIsMore() {
+        List<UUID> rows = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        CursorPageDTO<UUID> full = pagination.page(rows, 2, Function.identity(), Function.identity());
+        assertThat(full.items()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(pagination.decode(full.nextCursor())).isEqualTo(rows.get(1));
+
+        CursorPageDTO<UUID> last = pagination.page(rows.subList(0, 2), 2, Function.identity(), Function.identity());
+        assertThat(last.items()).hasSize(2);
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void walkingTheUserListByCursorVisitsEveryRowOnceInTheSameOrder() throws Exception {
+        UUID tenantId = TenantContext.callWithTenant(null, () -> tenantService
+                .create(new TenantRequestDTO("Páginas", "paginas-" + System.nanoTime()))).id();
+        User admin = createUser(tenantId, UserRole.ADMIN);
+        for (int i = 0; i < 6; i++) {
+            createUser(tenantId, UserRole.CLIENT);
+        }
+        String bearer = "Bearer " + tokenService.generateToken(admin);
+
+        JsonNode single = list(bearer, "?size=200");
+        List<String> expected = ids(single);
+        assertThat(expected).hasSize(7).doesNotHaveDuplicates();
+
+        List<String> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = list(bearer, "?size=3" + (cursor != null ? "&cursor=" + cursor : ""));
+            walked.addAll(ids(page));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(walked).containsExactlyElementsOf(expected);
+
+        mockMvc.perform(get("/users?cursor=%%%").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor de paginação inválido"));
+    }
+
+    private JsonNode list(String bearer, String query) throws Exception {
+        String body = mockMvc.perform(get("/users" + query).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<String> ids(JsonNode page) {
+        List<String> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asText()));
+        return ids;
+    }
+
+    private User createUser(UUID tenantId, UserRole role) {
+        return TenantContext.callWithTenant(tenantId, () -> {
+            User user = User.builder()
+                    .name("Usuário")
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("x")
+                    .role(role)
+                    .build();
+            user.setTenantId(tenantId);
+            return userRepository.save(user);
+        });
+    }
+}
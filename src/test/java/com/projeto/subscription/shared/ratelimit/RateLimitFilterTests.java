@@ -0,0 +1,111 @@
+package com.projeto.subscription.shared.ratelimit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.projeto.subscription.modules.identity.model.User;
+import com.projeto.subscription.modules.identity.repository.UserRepository;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.config.TokenService;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.UserRole;
+
+@SpringBootTest(properties = {
+        "api.outbox.dispatcher.enabled=false",
+        "api.rate-limit.defaults.read.requests=1",
+        "api.rate-limit.defaults.read.period=1h",
+        "api.rate-limit.defaults.read.burst=2",
+        "api.rate-limit.trusted-proxies=" + RateLimitFilterTests.PROXY + ",fd00::/8" })
+@AutoConfigureMockMvc
+class RateLimitFilterTests {
+
+    static final String PROXY = "192.168.0.1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void anonymousRequestsDoNotDrainTheTenantBucket() throws Exception {
+        UUID tenantId = TenantContext.callWithTenant(null, () -> tenantService
+                .create(new TenantRequestDTO("Limite", "limite-" + System.nanoTime()))).id();
+        String token = "Bearer " + tokenService.generateToken(createUser(tenantId));
+
+        // Anônimo com o X-Tenant-ID da vítima esgota só o bucket do próprio IP
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(plans(tenantId, "10.0.0.1")).andExpect(status().isForbidden());
+        }
+        mockMvc.perform(plans(tenantId, "10.0.0.1")).andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(plans(tenantId, "10.0.0.2").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+        mockMvc.perform(plans(tenantId, "10.0.0.2")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void clientsBehindTheTrustedProxyGetTheirOwnBuckets() throws Exception {
+        UUID tenantId = TenantContext.callWithTenant(null, () -> tenantService
+                .create(new TenantRequestDTO("Proxy", "proxy-" + System.nanoTime()))).id();
+
+        // O que o cliente põe à esquerda do X-Forwarded-For não muda o endereço que o proxy acrescentou
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(plans(tenantId, PROXY).header("X-Forwarded-For", "198.51.100." + i + ", 203.0.113.1"))
+                    .andExpect(status().isForbidden());
+        }
+        mockMvc.perform(plans(tenantId, PROXY).header("X-Forwarded-For", "203.0.113.1"))
+                .andExpect(status().isTooManyRequests());
+
+        // Outro cliente atrás do mesmo proxy (e de um segundo proxy confiável) segue com o próprio bucket
+        mockMvc.perform(plans(tenantId, PROXY).header("X-Forwarded-For", "203.0.113.2, fd00::10"))
+                .andExpect(status().isForbidden());
+
+        // Fora dos proxies confiáveis o header é ignorado: quem o forja não escapa do próprio limite
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(plans(tenantId, "198.51.100.7").header("X-Forwarded-For", "203.0.113.9" + i))
+                    .andExpect(status().isForbidden());
+        }
+        mockMvc.perform(plans(tenantId, "198.51.100.7").header("X-Forwarded-For", "203.0.113.99"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    private static MockHttpServletRequestBuilder plans(UUID tenantId, String remoteAddress) {
+        return get("/plans")
+                .header("X-Tenant-ID", tenantId.toString())
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddress);
+                    return request;
+                });
+    }
+
+    private User createUser(UUID tenantId) {
+        return TenantContext.callWithTenant(tenantId, () -> {
+            User user = User.builder()
+                    .name("Admin")
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("x")
+                    .role(UserRole.ADMIN)
+                    .build();
+            user.setTenantId(tenantId);
+            return userRepository.save(user);
+        });
+    }
+}
@@ -0,0 +1,167 @@
+package com.projeto.subscription.shared.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.projeto.subscription.modules.plan.dto.PlanRequestDTO;
+import com.projeto.subscription.modules.plan.dto.PlanResponseDTO;
+import com.projeto.subscription.modules.plan.service.PlanService;
+import com.projeto.subscription.modules.tenant.dto.TenantOverviewDTO;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.exception.ServiceUnavailableException;
+import com.projeto.subscription.shared.tenant_context.TenantContext;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+
+// Dois H2 independentes como shards. O dispatcher do outbox fica desligado para que os eventos continuem na tabela e
+// entrem na cópia do rebalanceamento.
+@SpringBootTest(properties = {
+        "api.sharding.enabled=true",
+        "api.sharding.default-shard=a",
+        "api.sharding.shards.a.url=" + TenantShardingTests.SHARD_A,
+        "api.sharding.shards.a.index=0",
+        "api.sharding.shards.b.url=" + TenantShardingTests.SHARD_B,
+        "api.sharding.shards.b.index=1",
+        "api.sharding.move-drain=0s",
+        "api.outbox.dispatcher.enabled=false" })
+class TenantShardingTests {
+
+    static final String SHARD_A = "jdbc:h2:mem:shard-a;DB_CLOSE_DELAY=-1";
+    static final String SHARD_B = "jdbc:h2:mem:shard-b;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private PlanService planService;
+
+    @Autowired
+    private ShardOperations shardOperations;
+
+    @Autowired
+    private ShardDirectory directory;
+
+    private final Map<String, JdbcTemplate> shards = Map.of(
+            "a", new JdbcTemplate(new DriverManagerDataSource(SHARD_A, "sa", "")),
+            "b", new JdbcTemplate(new DriverManagerDataSource(SHARD_B, "sa", "")));
+
+    @Test
+    void tenantDataLivesOnItsShardAndAdminQueriesFanOut() {
+        // Cria tenants até o anel ter usado os dois shards
+        Map<String, UUID> tenantByShard = new HashMap<>();
+        for (int i = 0; i < 64 && tenantByShard.size() < 2; i++) {
+            UUID tenantId = createTenant("fanout-" + i);
+            tenantByShard.putIfAbsent(shardOperations.shardOf(tenantId), tenantId);
+        }
+        assertThat(tenantByShard).containsOnlyKeys("a", "b");
+
+        tenantByShard.forEach((shard, tenantId) -> {
+            createPlan(tenantId);
+            assertThat(countRows(shard, "plans", tenantId)).isEqualTo(1);
+            assertThat(countRows(other(shard), "plans", tenantId)).isZero();
+            assertThat(planNames(tenantId)).containsExactly("Plano");
+        });
+
+        // Tenants e diretório ficam só no shard padrão
+        assertThat(shards.get("b").queryForObject("SELECT COUNT(*) FROM tenants", Integer.class)).isZero();
+
+        List<TenantOverviewDTO> overview = TenantContext.callWithTenant(null, tenantService::overview);
+        tenantByShard.forEach((shard, tenantId) -> assertThat(overview)
+                .filteredOn(tenant -> tenant.id().equals(tenantId))
+                .singleElement()
+                .satisfies(tenant -> {
+                    assertThat(tenant.shard()).isEqualTo(shard);
+                    assertThat(tenant.plans()).isEqualTo(1);
+                }));
+    }
+
+    @Test
+    void movingATenantCopiesItsRowsAndSwitchesTheRoute() {
+        UUID tenantId = createTenant("moving");
+        createPlan(tenantId);
+        String source = shardOperations.shardOf(tenantId);
+        String target = other(source);
+
+        ShardMoveReport report = shardOperations.moveTenant(tenantId, target);
+
+        assertThat(report.from()).isEqualTo(source);
+        assertThat(report.to()).isEqualTo(target);
+        // O plano, o evento de outbox gravado junto com ele, o contador de eventos e a versão do catálogo do tenant
+        assertThat(report.rows()).isEqualTo(4);
+        assertThat(shardOperations.shardOf(tenantId)).isEqualTo(target);
+        assertThat(countRows(source, "plans", tenantId)).isZero();
+        assertThat(countRows(target, "plans", tenantId)).isEqualTo(1);
+        assertThat(countRows(target, "outbox_events", tenantId)).isEqualTo(1);
+        assertThat(planNames(tenantId)).containsExactly("Plano");
+
+        createPlan(tenantId);
+        assertThat(countRows(target, "plans", tenantId)).isEqualTo(2);
+        // A numeração dos eventos do tenant continua no shard novo
+        assertThat(shards.get(target).queryForList(
+                "SELECT tenant_sequence FROM outbox_events WHERE tenant_id = ? ORDER BY tenant_sequence", Long.class,
+                tenantId)).containsExactly(1L, 2L);
+        // E a versão do catálogo também, então o ETag não volta a um valor já entregue
+        assertThat(shards.get(target).queryForObject(
+                "SELECT version FROM plan_catalog_versions WHERE tenant_id = ?", Long.class, tenantId)).isEqualTo(2);
+    }
+
+    @Test
+    void writesAreRejectedWhileTheTenantIsMoving() {
+        UUID tenantId = createTenant("blocked");
+        String shard = shardOperations.shardOf(tenantId);
+
+        directory.markMoving(tenantId, shard);
+        try {
+            assertThatThrownBy(() -> createPlan(tenantId)).isInstanceOf(ServiceUnavailableException.class);
+            assertThat(planNames(tenantId)).isEmpty();
+        } finally {
+            directory.assign(tenantId, shard);
+        }
+        createPlan(tenantId);
+        assertThat(planNames(tenantId)).containsExactly("Plano");
+    }
+
+    @Test
+    void sequencesStartInSeparateRangesPerShard() {
+        long next = shards.get("b").queryForObject("SELECT NEXT VALUE FOR outbox_events_seq", Long.class);
+        assertThat(next).isGreaterThan(1L << 40);
+    }
+
+    private UUID createTenant(String slug) {
+        return TenantContext.callWithTenant(null,
+                () -> tenantService.create(new TenantRequestDTO("Tenant " + slug, slug + "-" + System.nanoTime())))
+                .id();
+    }
+
+    private void createPlan(UUID tenantId) {
+        TenantContext.runWithTenant(tenantId,
+                () -> planService.create(new PlanRequestDTO("Plano", "Sharding", BigDecimal.TEN, BillingCycle.MONTHLY)));
+    }
+
+    private List<String> planNames(UUID tenantId) {
+        return TenantContext.callWithTenant(tenantId, () -> planService.list(null, 50).items().stream()
+                .map(PlanResponseDTO::name)
+                .toList());
+    }
+
+    private int countRows(String shard, String table, UUID tenantId) {
+        return shards.get(shard).queryForObject("SELECT COUNT(*) FROM " + table + " WHERE tenant_id = ?",
+                Integer.class, tenantId);
+    }
+
+    private static String other(String shard) {
+        return "a".equals(shard) ? "b" : "a";
+    }
+}
@@ -0,0 +1,156 @@
+package com.projeto.subscription.shared.tenant_context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.subscription.modules.plan.dto.PlanRequestDTO;
+import com.projeto.subscription.modules.plan.model.Plan;
+import com.projeto.subscription.modules.plan.repository.PlanRepository;
+import com.projeto.subscription.modules.plan.service.PlanService;
+import com.projeto.subscription.modules.tenant.dto.TenantRequestDTO;
+import com.projeto.subscription.modules.tenant.service.TenantService;
+import com.projeto.subscription.shared.util.BaseEntity;
+import com.projeto.subscription.shared.util.Enums.BillingCycle;
+
+// O tenantFilter só é ligado pelo TenantJpaDialect no início de uma transação. Uma consulta no contexto de um tenant
+// não pode ver linhas de outro, com ou sem transação de fora, nem numa thread do pool que recebeu o trabalho.
+@SpringBootTest(properties = "api.outbox.dispatcher.enabled=false")
+class TenantIsolationTests {
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private PlanService planService;
+
+    @Autowired
+    private PlanRepository planRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Test
+    void repositoryCallWithoutAnOuterTransactionSeesOnlyTheContextTenant() {
+        UUID tenantA = createTenant("isolamento-a");
+        UUID tenantB = createTenant("isolamento-b");
+        UUID planA = createPlan(tenantA);
+        UUID planB = createPlan(tenantB);
+
+        assertThat(TenantContext.callWithTenant(tenantA, this::visiblePlans)).contains(planA).doesNotContain(planB);
+        assertThat(TenantContext.callWithTenant(tenantB, this::visiblePlans)).contains(planB).doesNotContain(planA);
+        // Sem tenant (rotinas globais) o filtro fica desligado
+        assertThat(TenantContext.callWithTenant(null, this::visiblePlans)).contains(planA, planB);
+    }
+
+    @Test
+    void repositoryCallInsideAnOuterTransactionSeesOnlyTheContextTenant() {
+        UUID tenantA = createTenant("transacao-a");
+        UUID tenantB = createTenant("transacao-b");
+        UUID planA = createPlan(tenantA);
+        UUID planB = createPlan(tenantB);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Duas transações seguidas na mesma thread: o filtro é reaplicado com o tenant de cada uma
+        List<UUID> seenByA = TenantContext.callWithTenant(tenantA, () -> transaction.execute(status -> visiblePlans()));
+        List<UUID> seenByB = TenantContext.callWithTenant(tenantB, () -> transaction.execute(status -> visiblePlans()));
+        List<UUID> seenGlobally = TenantContext.callWithTenant(null,
+                () -> transaction.execute(status -> visiblePlans()));
+
+        assertThat(seenByA).contains(planA).doesNotContain(planB);
+        assertThat(seenByB).contains(planB).doesNotContain(planA);
+        assertThat(seenGlobally).contains(planA, planB);
+    }
+
+    // Repositório de entidade com tenant sem @Transactional rodaria fora de transação, sem o filtro
+    @Test
+    void everyTenantFilteredRepositoryOpensItsOwnTransaction() {
+        Repositories repositories = new Repositories(applicationContext);
+        int checked = 0;
+        for (Class<?> domainType : repositories) {
+            if (!BaseEntity.class.isAssignableFrom(domainType)) {
+                continue;
+            }
+            Class<?> repositoryInterface = repositories.getRepositoryInformationFor(domainType).orElseThrow()
+                    .getRepositoryInterface();
+            assertThat(AnnotatedElementUtils.hasAnnotation(repositoryInterface, Transactional.class))
+                    .as(repositoryInterface.getSimpleName())
+                    .isTrue();
+            checked++;
+        }
+        assertThat(checked).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    void poolThreadsRunWithTheSubmittingTenantAndDoNotKeepIt() throws Exception {
+        UUID tenantA = createTenant("pool-a");
+        UUID tenantB = createTenant("pool-b");
+        UUID planA = createPlan(tenantA);
+        UUID planB = createPlan(tenantB);
+
+        Future<List<UUID>> fromA = TenantContext.callWithTenant(tenantA, () -> taskExecutor.submit(this::visiblePlans));
+        assertThat(fromA.get(10, TimeUnit.SECONDS)).contains(planA).doesNotContain(planB);
+
+        Future<UUID> tenantOnThePool = TenantContext.callWithTenant(tenantB,
+                () -> taskExecutor.submit(TenantContext::getCurrentTenant));
+        assertThat(tenantOnThePool.get(10, TimeUnit.SECONDS)).isEqualTo(tenantB);
+
+        // Depois da tarefa, a thread do pool volta sem tenant
+        Future<UUID> afterwards = TenantContext.callWithTenant(null,
+                () -> taskExecutor.submit(TenantContext::getCurrentTenant));
+        assertThat(afterwards.get(10, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void propagateRestoresThePreviousTenantOfTheRunningThread() {
+        UUID submitter = UUID.randomUUID();
+        UUID worker = UUID.randomUUID();
+        Runnable check = () -> assertThat(TenantContext.getCurrentTenant()).isEqualTo(submitter);
+        Runnable task = TenantContext.callWithTenant(submitter, () -> TenantContext.propagate(check));
+
+        TenantContext.runWithTenant(worker, () -> {
+            task.run();
+            assertThat(TenantContext.getCurrentTenant()).isEqualTo(worker);
+        });
+        assertThat(TenantContext.getCurrentTenant()).isNull();
+    }
+
+    private List<UUID> visiblePlans() {
+        return planRepository.findAll().stream().map(Plan::getId).toList();
+    }
+
+    private UUID createTenant(String slug) {
+        return TenantContext.callWithTenant(null,
+                () -> tenantService.create(new TenantRequestDTO("Tenant " + slug, slug + "-" + System.nanoTime())))
+                .id();
+    }
+
+    private UUID createPlan(UUID tenantId) {
+        return TenantContext.callWithTenant(tenantId, () -> planService
+                .create(new PlanRequestDTO("Plano " + tenantId, "Isolamento", BigDecimal.TEN, BillingCycle.MONTHLY))
+                .id());
+    }
+}
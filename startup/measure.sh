@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+# Mede a subida da aplicação em cada modo: tempo informado pelo Spring ("Started ... in") e tempo até a primeira
+# requisição respondida (GET /actuator/health), contado do lançamento do processo. Ver startup/README.md.
+#
+#   ./mvnw -Pfast-startup package -DskipTests
+#   startup/measure.sh            # RUNS=5 PORT=18080 por padrão
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+WORK=target/startup
+JAR=$(ls target/subscription-*-exec.jar 2>/dev/null | head -1 || true)
+NATIVE=target/subscription
+
+if [[ -z "$JAR" ]]; then
+    echo "Jar não encontrado: rode ./mvnw -Pfast-startup package -DskipTests" >&2
+    exit 1
+fi
+if ! unzip -Z1 "$JAR" | grep "__ApplicationContextInitializer" > /dev/null; then
+    echo "$JAR foi gerado sem o processamento AOT: rode ./mvnw -Pfast-startup package -DskipTests" >&2
+    exit 1
+fi
+
+# Layout extraído (o CDS só aceita classes vindas de jars comuns no classpath) e um arquivo CDS por modo, gerado
+# numa subida de treino que termina logo após o refresh do contexto
+prepare() {
+    rm -rf "$WORK"
+    mkdir -p "$WORK"
+    "$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$WORK/app" > /dev/null
+    APP="$WORK/app/$(basename "$JAR")"
+    "$JAVA" -XX:ArchiveClassesAtExit="$WORK/jvm.jsa" -Dspring.context.exit=onRefresh -jar "$APP" \
+        --server.port=0 --api.metering.wal.directory="$WORK/wal" > "$WORK/train-jvm.log" 2>&1
+    "$JAVA" -XX:ArchiveClassesAtExit="$WORK/aot.jsa" -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+        -jar "$APP" --server.port=0 --api.metering.wal.directory="$WORK/wal" > "$WORK/train-aot.log" 2>&1
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# measure <modo> <comando...>
+measure() {
+    local mode=$1
+    shift
+    local started=() first=()
+    for run in $(seq 1 "$RUNS"); do
+        local log="$WORK/$mode-$run.log"
+        local start
+        start=$(now_ms)
+        "$@" --server.port="$PORT" --api.metering.wal.directory="$WORK/wal" > "$log" 2>&1 &
+        local pid=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$mode: o processo terminou antes de responder, ver $log" >&2
+                exit 1
+            fi
+            sleep 0.01
+        done
+        first+=($(( $(now_ms) - start )))
+        started+=($(grep -o "Started SubscriptionApplication in [0-9.]*" "$log" | awk '{ print $4 * 1000 }'))
+        kill "$pid"
+        wait "$pid" || true
+    done
+    printf "| %-9s | %13s | %20s |\n" "$mode" \
+        "$(printf "%s\n" "${started[@]}" | median)" "$(printf "%s\n" "${first[@]}" | median)"
+}
+
+prepare
+APP="$WORK/app/$(basename "$JAR")"
+
+echo "Mediana de $RUNS subidas, em ms ($("$JAVA" -version 2>&1 | head -1), $(nproc) CPUs)"
+echo
+echo "| Modo      | Started (log) | Primeira requisição |"
+echo "|-----------|---------------|---------------------|"
+measure jvm "$JAVA" -jar "$JAR"
+measure jvm-cds "$JAVA" -XX:SharedArchiveFile="$WORK/jvm.jsa" -jar "$APP"
+measure aot "$JAVA" -Dspring.aot.enabled=true -jar "$JAR"
+measure aot-cds "$JAVA" -XX:SharedArchiveFile="$WORK/aot.jsa" -Dspring.aot.enabled=true -jar "$APP"
+if [[ -x "$NATIVE" ]]; then
+    measure native "$NATIVE"
+fi